@@ -20,8 +20,10 @@
  *******************************************************************************/
 package dev.jorel.commandapi.annotations;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -39,10 +41,13 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.ExecutableType;
 import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 
 import com.google.auto.service.AutoService;
 
+import dev.jorel.commandapi.AnnotatedCommand;
 import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.CommandPermission;
 import dev.jorel.commandapi.annotations.arguments.AAdvancementArgument;
@@ -122,6 +127,10 @@ public class Annotations extends AbstractProcessor {
 		AScoreHolderArgument.Single.class, AScoreHolderArgument.Multiple.class, ASoundArgument.class, AStringArgument.class, ATeamArgument.class,
 		ATextArgument.class, ATimeArgument.class, AUUIDArgument.class, AWorldArgument.class};
 
+	// The ServiceLoader index of every $Command class, and the binary names of the ones generated by this build
+	private static final String SERVICE_INDEX = "META-INF/services/" + AnnotatedCommand.class.getCanonicalName();
+	private final SortedSet<String> generatedCommands = new TreeSet<>();
+
 	// List of stuff we can deal with
 	@Override
 	public Set<String> getSupportedAnnotationTypes() {
@@ -145,9 +154,59 @@ public class Annotations extends AbstractProcessor {
 				e.printStackTrace();
 			}
 		}
+
+		// Every class has been generated, so we can list them all
+		if (roundEnv.processingOver() && !generatedCommands.isEmpty()) {
+			try {
+				emitServiceIndex();
+			} catch (IOException e) {
+				processingEnv.getMessager().printMessage(Kind.ERROR, "Could not write the annotated command index: " + e.getMessage());
+			}
+		}
 		return true;
 	}
 
+	// Lists every generated command, so CommandAPI.registerCommand can find them using a ServiceLoader
+	private void emitServiceIndex() throws IOException {
+		// Incremental builds only process the classes that have changed, so commands listed by previous builds are
+		//  kept, as long as their generated class still exists
+		SortedSet<String> indexedCommands = new TreeSet<>(generatedCommands);
+		for (String previousCommand : readServiceIndex()) {
+			if (processingEnv.getElementUtils().getTypeElement(previousCommand) != null) {
+				indexedCommands.add(previousCommand);
+			}
+		}
+
+		FileObject indexFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_INDEX);
+		try (Writer out = indexFile.openWriter()) {
+			for (String indexedCommand : indexedCommands) {
+				out.write(indexedCommand);
+				out.write("\n");
+			}
+		}
+	}
+
+	// Reads the commands listed by a previous build, in the ServiceLoader file format
+	private Set<String> readServiceIndex() {
+		Set<String> commands = new TreeSet<>();
+		try {
+			FileObject indexFile = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_INDEX);
+			try (BufferedReader reader = new BufferedReader(indexFile.openReader(true))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					int comment = line.indexOf('#');
+					line = (comment == -1 ? line : line.substring(0, comment)).trim();
+					if (!line.isEmpty()) {
+						commands.add(line);
+					}
+				}
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			// There isn't an index from a previous build
+		}
+		return commands;
+	}
+
 	// Indentation, because half of this file is actually just making stuff look nice
 	private String indent(int indent) {
 		StringBuilder builder = new StringBuilder();
@@ -167,6 +226,7 @@ public class Annotations extends AbstractProcessor {
 	private SortedSet<String> calculateImports(Element classElement) {
 		SortedSet<String> imports = new TreeSet<>();
 		
+		imports.add(AnnotatedCommand.class.getCanonicalName());
 		imports.add(CommandAPICommand.class.getCanonicalName());
 		if(classElement.getAnnotation(NeedsOp.class) != null) {
 			imports.add(CommandPermission.class.getCanonicalName());
@@ -323,6 +383,11 @@ public class Annotations extends AbstractProcessor {
 
 		out.println("((sender, args) -> {");
 		indent++;
+
+		// Arguments are read by their position, which is known when generating the executor
+		if (!argumentMapping.isEmpty()) {
+			out.println(indent(indent) + "Object[] arguments = args.args();");
+		}
 		out.print(indent(indent));
 
 		// Return int or void?
@@ -347,9 +412,9 @@ public class Annotations extends AbstractProcessor {
 			} else {
 				out.print(simpleFromQualified(fromArgumentMap));
 			}
-			out.print(") args.get(");
+			out.print(") arguments[");
 			out.print(i);
-			out.print(")");
+			out.print("]");
 		}
 		//populate stuff here
 		
@@ -364,7 +429,7 @@ public class Annotations extends AbstractProcessor {
 		out.println("// This class was automatically generated by the CommandAPI");
 		out.print("public class ");
 		out.print(commandClass.getSimpleName() + "$Command");
-		out.println(" {");
+		out.println(" implements AnnotatedCommand {");
 		out.println();
 		indent++;
 		return indent;
@@ -467,8 +532,27 @@ public class Annotations extends AbstractProcessor {
 			out.println(indent(indent) + "}"); // register()
 			indent--;
 			out.println();
+
+			emitAnnotatedCommandMethods(out, commandClass, indent);
 			out.println("}"); // $Command class
 		}
+
+		generatedCommands.add(processingEnv.getElementUtils().getBinaryName(commandClass) + "$Command");
+	}
+
+	// Implements AnnotatedCommand, which is used when the command is registered using CommandAPI.registerCommand
+	private void emitAnnotatedCommandMethods(PrintWriter out, TypeElement commandClass, int indent) {
+		indent++;
+		out.println(indent(indent) + "@Override");
+		out.println(indent(indent) + "public Class<?> getCommandClass() {");
+		out.println(indent(indent + 1) + "return " + commandClass.getSimpleName() + ".class;");
+		out.println(indent(indent) + "}");
+		out.println();
+		out.println(indent(indent) + "@Override");
+		out.println(indent(indent) + "public void registerCommand() {");
+		out.println(indent(indent + 1) + "register();");
+		out.println(indent(indent) + "}");
+		out.println();
 	}
 
 	private <T extends Annotation> void emitArgument(PrintWriter out, T argumentAnnotation, VariableElement parameter, int indent) {
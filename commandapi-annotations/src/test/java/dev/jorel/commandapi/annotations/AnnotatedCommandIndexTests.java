@@ -0,0 +1,101 @@
+package dev.jorel.commandapi.annotations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.jorel.commandapi.AnnotatedCommand;
+
+/**
+ * Tests for the ServiceLoader index of generated commands
+ */
+class AnnotatedCommandIndexTests {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@TempDir
+	Path tempDir;
+
+	private static final String INDEX = "META-INF/services/" + AnnotatedCommand.class.getCanonicalName();
+
+	// Compiles a class with a @Command annotation into the shared output directory, like an incremental build
+	private void compileCommand(String className, String commandName) throws IOException {
+		Path source = tempDir.resolve("src").resolve(className + ".java");
+		Files.createDirectories(source.getParent());
+		Files.writeString(source, """
+			import org.bukkit.command.CommandSender;
+
+			import dev.jorel.commandapi.annotations.Command;
+			import dev.jorel.commandapi.annotations.Default;
+
+			@Command("%s")
+			public class %s {
+				@Default
+				public static void run(CommandSender sender) {
+				}
+			}
+			""".formatted(commandName, className));
+
+		Path output = tempDir.resolve("classes");
+		Files.createDirectories(output);
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		int result = compiler.run(null, null, null,
+			"-classpath", System.getProperty("java.class.path") + File.pathSeparator + output,
+			"-processor", Annotations.class.getName(),
+			"-d", output.toString(),
+			source.toString());
+		assertEquals(0, result, "Failed to compile " + className);
+	}
+
+	private List<String> readIndex() throws IOException {
+		return Files.readAllLines(tempDir.resolve("classes").resolve(INDEX));
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testIndexListsGeneratedCommands() throws IOException {
+		compileCommand("FirstCommand", "first");
+
+		assertEquals(List.of("FirstCommand$Command"), readIndex());
+	}
+
+	@Test
+	void testIncrementalBuildKeepsPreviousCommands() throws IOException {
+		compileCommand("FirstCommand", "first");
+		// Only the second class is compiled, so the processor doesn't see the first one
+		compileCommand("SecondCommand", "second");
+
+		assertEquals(List.of("FirstCommand$Command", "SecondCommand$Command"), readIndex());
+	}
+
+	@Test
+	void testIncrementalBuildDropsMissingCommands() throws IOException {
+		compileCommand("FirstCommand", "first");
+
+		// A command whose generated class no longer exists, for example because its source was deleted
+		Path index = tempDir.resolve("classes").resolve(INDEX);
+		Files.writeString(index, "# Comments are ignored\nDeletedCommand$Command\nFirstCommand$Command\n");
+		compileCommand("SecondCommand", "second");
+
+		List<String> indexedCommands = readIndex();
+		assertEquals(List.of("FirstCommand$Command", "SecondCommand$Command"), indexedCommands);
+		assertTrue(Files.exists(tempDir.resolve("classes").resolve("FirstCommand$Command.class")));
+	}
+
+}
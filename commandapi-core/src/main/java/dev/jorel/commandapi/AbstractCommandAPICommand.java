@@ -211,6 +211,19 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		return instance();
 	}
 
+	/**
+	 * Sets the plugin that registered this command. By default, this is the plugin
+	 * that provides the command's executor, which isn't the case for converted
+	 * commands. This should not be used outside of the CommandAPI's internal API
+	 *
+	 * @param pluginName the name of the plugin that registered this command
+	 * @return this command builder
+	 */
+	Impl setOwningPlugin(String pluginName) {
+		this.meta.owningPlugin = pluginName;
+		return instance();
+	}
+
 	// Expands subcommands into arguments. This method should be static (it
 	// shouldn't be accessing/depending on any of the contents of the current class instance)
 	@SuppressWarnings({ "unchecked", "rawtypes" })
@@ -292,10 +305,11 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 			@SuppressWarnings("unchecked")
 			CommandAPIHandler<Argument, CommandSender, ?> handler = (CommandAPIHandler<Argument, CommandSender, ?>) CommandAPIHandler.getInstance();
 			
-			// Create a List<Argument[]> that is used to register optional arguments
-			for (Argument[] args : getArgumentsToRegister(argumentsArray)) {
-				handler.register(meta, args, executor, isConverted);
-			}
+			// Optional arguments are registered as one chain of arguments, where the command can be run from each
+			//  argument before an optional argument
+			List<Integer> optionalArgumentIndices = new ArrayList<>();
+			Argument[] args = getArgumentsToRegister(argumentsArray, optionalArgumentIndices);
+			handler.register(meta, args, optionalArgumentIndices, executor, isConverted);
 		}
 
 		// Convert subcommands into multiliteral arguments
@@ -328,36 +342,34 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 
 	protected abstract Impl newConcreteCommandAPICommand(CommandMetaData<CommandSender> metaData);
 
-	private List<Argument[]> getArgumentsToRegister(Argument[] argumentsArray) {
-		List<Argument[]> argumentsToRegister = new ArrayList<>();
-		List<Argument> currentCommand = new ArrayList<>();
+	// Unpacks combined arguments, and finds the index where each optional argument (and the arguments combined with it) starts
+	private Argument[] getArgumentsToRegister(Argument[] argumentsArray, List<Integer> optionalArgumentIndices) {
+		List<Argument> argumentsToRegister = new ArrayList<>();
 
 		Iterator<Argument> argumentIterator = List.of(argumentsArray).iterator();
 
-		// Collect all required arguments, adding them as a command once finding the first optional
+		// Collect all required arguments, until finding the first optional
 		while(argumentIterator.hasNext()) {
 			Argument next = argumentIterator.next();
 			if(next.isOptional()) {
-				argumentsToRegister.add((Argument[]) currentCommand.toArray(new AbstractArgument[0]));
-				currentCommand.addAll(unpackCombinedArguments(next));
+				optionalArgumentIndices.add(argumentsToRegister.size());
+				argumentsToRegister.addAll(unpackCombinedArguments(next));
 				break;
 			}
-			currentCommand.addAll(unpackCombinedArguments(next));
+			argumentsToRegister.addAll(unpackCombinedArguments(next));
 		}
 
-		// Collect the optional arguments, adding each one as a valid command
+		// Collect the optional arguments, the command can be run without any of them
 		while (argumentIterator.hasNext()) {
 			Argument next = argumentIterator.next();
 			if(!next.isOptional()) {
 				throw new OptionalArgumentException(meta.commandName); // non-optional argument after optional
 			}
-			argumentsToRegister.add((Argument[]) currentCommand.toArray(new AbstractArgument[0]));
-			currentCommand.addAll(unpackCombinedArguments(next));
+			optionalArgumentIndices.add(argumentsToRegister.size());
+			argumentsToRegister.addAll(unpackCombinedArguments(next));
 		}
 
-		// All the arguments expanded, also handles when there are no optional arguments
-		argumentsToRegister.add((Argument[]) currentCommand.toArray(new AbstractArgument[0]));
-		return argumentsToRegister;
+		return (Argument[]) argumentsToRegister.toArray(new AbstractArgument[0]);
 	}
 
 	private List<Argument> unpackCombinedArguments(Argument argument) {
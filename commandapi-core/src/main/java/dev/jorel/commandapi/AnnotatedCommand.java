@@ -0,0 +1,23 @@
+package dev.jorel.commandapi;
+
+/**
+ * A command generated by the CommandAPI's annotation processor from a class
+ * with a {@code @Command} annotation. The annotation processor lists every
+ * generated command in {@code META-INF/services/dev.jorel.commandapi.AnnotatedCommand},
+ * so that {@link CommandAPI#registerCommand(Class)} can find them using a
+ * {@link java.util.ServiceLoader} instead of looking them up reflectively.
+ */
+public interface AnnotatedCommand {
+
+	/**
+	 * @return the class with the {@code @Command} annotation that this command was
+	 * generated from
+	 */
+	Class<?> getCommandClass();
+
+	/**
+	 * Registers this command
+	 */
+	void registerCommand();
+
+}
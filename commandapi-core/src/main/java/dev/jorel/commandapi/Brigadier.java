@@ -123,7 +123,7 @@ public final class Brigadier {
 	Command fromCommand(AbstractCommandAPICommand<?, Argument, CommandSender> command) {
 		// Need to cast base handler to make it realize we're using the same CommandSender class
 		CommandAPIHandler<Argument, CommandSender, ?> handler = (CommandAPIHandler<Argument, CommandSender, ?>) CommandAPIHandler.getInstance();
-		return handler.generateCommand((Argument[]) command.getArguments().toArray(AbstractArgument[]::new), command.getExecutor(), command.isConverted());
+		return handler.generateCommand(command.getName(), (Argument[]) command.getArguments().toArray(AbstractArgument[]::new), command.getExecutor(), command.isConverted());
 	}
 
 	/**
@@ -7,8 +7,16 @@ import dev.jorel.commandapi.commandsenders.AbstractPlayer;
 import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class to register commands with the 1.13 command UI
@@ -19,6 +27,10 @@ public class CommandAPI {
 	private CommandAPI() {
 	}
 
+	// The commands listed in each class loader's annotated command index, by the name of their generated class. This
+	//  is declared before the static initializer below, since onDisable clears it
+	private static final Map<ClassLoader, Map<String, AnnotatedCommand>> annotatedCommands = new ConcurrentHashMap<>();
+
 	static {
 		onDisable();
 	}
@@ -143,6 +155,7 @@ public class CommandAPI {
 		CommandAPI.config = null;
 		CommandAPI.logger = null;
 		CommandAPI.loaded = false;
+		CommandAPI.annotatedCommands.clear();
 
 		// This method is called automatically when the class loads to set up variables, in which case
 		// CommandAPIHandler will not have been initialized
@@ -218,11 +231,30 @@ public class CommandAPI {
 	 * @param player the player whose requirements should be updated
 	 */
 	public static <CommandSender, Player extends CommandSender> void updateRequirements(Player player) {
+		// The player's permissions may have changed
+		CommandAPIHandler.getInstance().permissionCache.invalidate(player);
+
 		@SuppressWarnings("unchecked")
 		CommandAPIPlatform<?, CommandSender, ?> platform = (CommandAPIPlatform<?, CommandSender, ?>) CommandAPIHandler.getInstance().getPlatform();
 		platform.updateRequirements((AbstractPlayer<?>) platform.wrapCommandSender(player));
 	}
 
+	/**
+	 * Runs a task on the thread that commands run by the given command sender are
+	 * executed on. On most servers, this is the main thread, but on Folia this is
+	 * the thread of the region that owns the command sender. This should be used
+	 * by asynchronous command executors to modify the world.
+	 *
+	 * @param sender the command sender that the task is being run for
+	 * @param task   the task to run
+	 * @return a future which completes once the task has been run
+	 */
+	public static <CommandSender> CompletableFuture<Void> runSync(CommandSender sender, Runnable task) {
+		@SuppressWarnings("unchecked")
+		CommandAPIPlatform<?, CommandSender, ?> platform = (CommandAPIPlatform<?, CommandSender, ?>) CommandAPIHandler.getInstance().getPlatform();
+		return platform.runSync(sender, task);
+	}
+
 	// Produce WrapperCommandSyntaxException
 
 	/**
@@ -271,19 +303,73 @@ public class CommandAPI {
 		CommandAPIHandler.getInstance().getPlatform().unregister(command, unregisterNamespaces);
 	}
 
+	/**
+	 * Unregisters multiple commands. This is faster than unregistering each command
+	 * separately, since players are only sent the updated commands once.
+	 *
+	 * @param commands the names of the commands to unregister
+	 */
+	public static void unregisterAll(Collection<String> commands) {
+		CommandAPIHandler.getInstance().getPlatform().unregister(commands, false);
+	}
+
+	/**
+	 * Unregisters multiple commands. This is faster than unregistering each command
+	 * separately, since players are only sent the updated commands once.
+	 *
+	 * @param commands the names of the commands to unregister
+	 * @param unregisterNamespaces whether the unregistration system should attempt to remove versions of the
+	 *                                commands that start with a namespace. E.g. `minecraft:command`, `bukkit:command`,
+	 *                                or `plugin:command`. If true, these namespaced versions of the commands are also
+	 *                                unregistered.
+	 */
+	public static void unregisterAll(Collection<String> commands, boolean unregisterNamespaces) {
+		CommandAPIHandler.getInstance().getPlatform().unregister(commands, unregisterNamespaces);
+	}
+
 	/**
 	 * Registers a command. Used with the CommandAPI's Annotation API.
 	 *
 	 * @param commandClass the class to register
 	 */
 	public static void registerCommand(Class<?> commandClass) {
+		// The annotation processor lists the commands it generates, so they can be registered without reflection
+		final String generatedClassName = commandClass.getName() + "$Command";
+		AnnotatedCommand generatedCommand = annotatedCommands
+			.computeIfAbsent(commandClass.getClassLoader(), CommandAPI::loadAnnotatedCommands)
+			.get(generatedClassName);
+		if (generatedCommand != null) {
+			generatedCommand.registerCommand();
+			return;
+		}
+
+		// Classes generated by older versions of the annotation processor aren't listed
 		try {
-			Class.forName(commandClass.getName() + "$Command").getDeclaredMethod("register").invoke(null);
+			Class.forName(generatedClassName).getDeclaredMethod("register").invoke(null);
 		} catch (ReflectiveOperationException e) {
 			e.printStackTrace();
 		}
 	}
 
+	// Reads a class loader's annotated command index once, so registering each command doesn't read it again
+	private static Map<String, AnnotatedCommand> loadAnnotatedCommands(ClassLoader classLoader) {
+		Map<String, AnnotatedCommand> commands = new HashMap<>();
+		Iterator<AnnotatedCommand> iterator = ServiceLoader.load(AnnotatedCommand.class, classLoader).iterator();
+		while (true) {
+			try {
+				if (!iterator.hasNext()) {
+					break;
+				}
+				AnnotatedCommand command = iterator.next();
+				commands.put(command.getClass().getName(), command);
+			} catch (ServiceConfigurationError e) {
+				// A listed class couldn't be loaded, but the ServiceLoader carries on with the rest of the index
+				logWarning("Could not read the list of annotated commands: " + e.getMessage());
+			}
+		}
+		return commands;
+	}
+
 	/**
 	 * @return A list of all {@link RegisteredCommand}{@code s} that have been
 	 * registered by the CommandAPI so far. The returned list is immutable.
@@ -291,4 +377,50 @@ public class CommandAPI {
 	public static List<RegisteredCommand> getRegisteredCommands() {
 		return Collections.unmodifiableList(CommandAPIHandler.getInstance().registeredCommands);
 	}
+
+	/**
+	 * @return A map from the name of each command registered by the CommandAPI to
+	 * the number of argument suggestion providers and requirements that were
+	 * created when registering it. Suggestion providers and requirements that are
+	 * shared with a previously registered command are not counted again. The
+	 * returned map is immutable.
+	 */
+	public static Map<String, Integer> getRetainedClosures() {
+		return Collections.unmodifiableMap(CommandAPIHandler.getInstance().retainedClosures);
+	}
+
+	/**
+	 * @return A {@link StartupReport} containing the time spent (and memory
+	 * allocated) in each phase of registering commands, and for each command
+	 * registered by the CommandAPI so far. This is empty unless it was enabled
+	 * using {@link CommandAPIConfig#startupReport(boolean)}
+	 */
+	public static StartupReport getStartupReport() {
+		return CommandAPIHandler.getInstance().startupReport;
+	}
+
+	/**
+	 * @return The {@link PermissionCache} used to cache players' permission
+	 * checks, which can be used to discard cached permissions or to see how
+	 * effective the cache is
+	 */
+	public static PermissionCache getPermissionCache() {
+		return CommandAPIHandler.getInstance().permissionCache;
+	}
+
+	/**
+	 * @return The {@link CommandMetrics} recording how often each command is
+	 * run, how often it fails and how long it takes
+	 */
+	public static CommandMetrics getCommandMetrics() {
+		return CommandAPIHandler.getInstance().commandMetrics;
+	}
+
+	/**
+	 * @return The {@link SuggestionMetrics} recording how long each argument's
+	 * suggestions take and how many suggestions they produce
+	 */
+	public static SuggestionMetrics getSuggestionMetrics() {
+		return CommandAPIHandler.getInstance().suggestionMetrics;
+	}
 }
@@ -23,6 +23,7 @@ package dev.jorel.commandapi;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
@@ -42,6 +43,13 @@ extends CommandAPIConfig<Impl>
 	String missingExecutorImplementationMessage = "This command has no implementations for %s";
 
 	File dispatcherFile = null;
+	boolean startupReport = false;
+	File startupReportFile = null;
+	boolean commandMetrics = false;
+	int suggestionMetricsSampleRate = 0;
+	long slowSuggestionThreshold = 0;
+	long permissionCacheTimeout = 0;
+	Executor asyncExecutor = null;
 
 	List<String> skipSenderProxy = new ArrayList<>();
 
@@ -119,6 +127,113 @@ extends CommandAPIConfig<Impl>
 		return instance();
 	}
 
+	/**
+	 * Specifies the location for the CommandAPI to store a JSON representation of
+	 * its {@link StartupReport} once the server has finished loading.
+	 *
+	 * @param file a file pointing to where to store the startup report, for
+	 *             example {@code new File(getDataFolder(), "startup_report.json")}.
+	 *             If this argument is {@code null}, this file will not be created.
+	 * @return this CommandAPIConfig
+	 */
+	public Impl startupReportFile(File file) {
+		this.startupReportFile = file;
+		return instance();
+	}
+
+	/**
+	 * Records how long each phase of command registration takes in a
+	 * {@link StartupReport}, which can be read using
+	 * {@link CommandAPI#getStartupReport()}. This is enabled automatically if a
+	 * file has been set using {@link #startupReportFile(File)}.
+	 *
+	 * @param value whether a startup report should be recorded. This must be set
+	 *              before any commands are registered.
+	 * @return this CommandAPIConfig
+	 */
+	public Impl startupReport(boolean value) {
+		this.startupReport = value;
+		return instance();
+	}
+
+	/**
+	 * Records how often each command is run, how often it fails and how long it
+	 * takes. See {@link CommandMetrics} for what is recorded. These metrics can be
+	 * read using {@link CommandAPI#getCommandMetrics()}.
+	 *
+	 * @param value whether command metrics should be recorded. This must be set
+	 *              before any commands are registered.
+	 * @return this CommandAPIConfig
+	 */
+	public Impl commandMetrics(boolean value) {
+		this.commandMetrics = value;
+		return instance();
+	}
+
+	/**
+	 * Records how long the CommandAPI's suggestions take for one in every
+	 * {@code sampleRate} requests for suggestions. See {@link SuggestionMetrics}
+	 * for what is recorded. These metrics can be read using
+	 * {@link CommandAPI#getSuggestionMetrics()}.
+	 *
+	 * @param sampleRate how many requests for suggestions there are for each one
+	 *                   that is measured, for example 1 to measure every request
+	 *                   or 100 to measure 1% of them. If this is 0 or less,
+	 *                   suggestions are not measured. This must be set before any
+	 *                   commands are registered.
+	 * @return this CommandAPIConfig
+	 */
+	public Impl suggestionMetricsSampleRate(int sampleRate) {
+		this.suggestionMetricsSampleRate = sampleRate;
+		return instance();
+	}
+
+	/**
+	 * Logs a warning when a measured request for suggestions takes at least the
+	 * given number of milliseconds, naming the command and the plugin that
+	 * registered it. Only requests sampled according to
+	 * {@link #suggestionMetricsSampleRate(int)} are measured.
+	 *
+	 * @param milliseconds how long suggestions can take before they are logged. If
+	 *                     this is 0 or less, slow suggestions are not logged.
+	 * @return this CommandAPIConfig
+	 */
+	public Impl slowSuggestionThreshold(long milliseconds) {
+		this.slowSuggestionThreshold = milliseconds;
+		return instance();
+	}
+
+	/**
+	 * Caches the results of players' permission checks for the given number of
+	 * milliseconds. Permission checks are performed for every command node when
+	 * a player is sent commands, so caching them can reduce the load on
+	 * permission plugins. See {@link PermissionCache} for when cached
+	 * permissions are discarded.
+	 *
+	 * @param milliseconds how long permission checks should be cached for. If
+	 *                     this is 0 or less, permission checks are not cached.
+	 * @return this CommandAPIConfig
+	 */
+	public Impl permissionCacheTimeout(long milliseconds) {
+		this.permissionCacheTimeout = milliseconds;
+		return instance();
+	}
+
+	/**
+	 * Sets the {@link Executor} that asynchronous command executors (for example,
+	 * {@code executesAsync}) are run on. By default, asynchronous executors are
+	 * run on virtual threads if they are available (Java 21 and above), or on a
+	 * thread pool created by the CommandAPI otherwise.
+	 *
+	 * @param executor the executor to run asynchronous command executors on, or
+	 *                 {@code null} to use the default executor
+	 * @return this CommandAPIConfig
+	 */
+	public Impl asyncExecutor(Executor executor) {
+		this.asyncExecutor = executor;
+		return instance();
+	}
+
 	public Impl addSkipSenderProxy(String... names) {
 		this.skipSenderProxy.addAll(List.of(names));
 		return instance();
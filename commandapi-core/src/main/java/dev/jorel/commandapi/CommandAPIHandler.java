@@ -23,18 +23,33 @@ package dev.jorel.commandapi;
 import java.awt.Component;
 import java.io.File;
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Predicate;
 
 import com.mojang.brigadier.Command;
@@ -43,12 +58,15 @@ import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.context.ParsedArgument;
+import com.mojang.brigadier.context.ParsedCommandNode;
 import com.mojang.brigadier.context.StringRange;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
 
 import dev.jorel.commandapi.arguments.AbstractArgument;
 import dev.jorel.commandapi.arguments.ArgumentSuggestions;
@@ -58,6 +76,9 @@ import dev.jorel.commandapi.arguments.MultiLiteral;
 import dev.jorel.commandapi.arguments.PreviewInfo;
 import dev.jorel.commandapi.arguments.Previewable;
 import dev.jorel.commandapi.commandsenders.AbstractCommandSender;
+import dev.jorel.commandapi.commandsenders.AbstractPlayer;
+import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
+import dev.jorel.commandapi.executors.AsyncExecutor;
 import dev.jorel.commandapi.executors.CommandArguments;
 import dev.jorel.commandapi.executors.ExecutionInfo;
 import dev.jorel.commandapi.preprocessor.RequireField;
@@ -117,19 +138,51 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	// TODO: Need to ensure this can be safely "disposed of" when we're done (e.g. on reloads).
 	// I hiiiiiiighly doubt we're storing class caches of classes that can be unloaded at runtime,
 	// but this IS a generic class caching system and we don't want derpy memory leaks
-	private static final Map<ClassCache, Field> FIELDS = new HashMap<>();
+	private static final Map<ClassCache, Field> FIELDS = new ConcurrentHashMap<>();
+
+	// Commands can be executed, suggested and looked up on several threads at once (for example, on Velocity), while
+	//  plugins register commands. Registration and unregistration hold this lock, so only one thread modifies the
+	//  CommandAPI's state at a time, and the collections below can be safely read without it.
+	private final Object registrationLock = new Object();
+
+	// While a lazily registered command is being built, its nodes are added here instead of to the platform
+	private RootCommandNode<Source> lazyCommandNodes = null;
 
 	final CommandAPIPlatform<Argument, CommandSender, Source> platform;
-	final TreeMap<String, CommandPermission> registeredPermissions = new TreeMap<>();
+	final ConcurrentSkipListMap<String, CommandPermission> registeredPermissions = new ConcurrentSkipListMap<>();
 	final List<RegisteredCommand> registeredCommands; // Keep track of what has been registered for type checking
 	final Map<List<String>, Previewable<?, ?>> previewableArguments; // Arguments with previewable chat
 
+	// Suggestion providers and requirements for arguments are shared between every registration path (optional
+	//  argument prefixes and MultiLiteralArgument expansions) that reaches an argument through the same arguments. These
+	//  are only used while registering or unregistering commands, so they are guarded by registrationLock
+	private final Map<SuggestionProviderKey, SuggestionProvider<Source>> suggestionProviders = new HashMap<>();
+	private final Map<Argument, Predicate<Source>> argumentRequirements = new IdentityHashMap<>();
+	final Map<String, Integer> retainedClosures = new ConcurrentSkipListMap<>(); // Number of argument closures created per command
+	private final Map<String, Set<Argument>> commandArguments = new HashMap<>(); // Arguments used by each command, so their closures can be removed
+	final StartupReport startupReport; // Timings of each registration phase
+	final PermissionCache permissionCache;
+	final CommandMetrics commandMetrics;
+	private final ThreadLocal<CommandMetrics.Execution> currentExecution = new ThreadLocal<>(); // The measured executor being run
+	final SuggestionMetrics suggestionMetrics;
+	private final Executor asyncExecutor; // Runs AsyncExecutors
+	private final ExecutorService defaultAsyncExecutor; // Created by the CommandAPI if no executor was configured, so it must be shut down
+
 	private static CommandAPIHandler<?, ?, ?> instance;
 
 	protected CommandAPIHandler(CommandAPIPlatform<Argument, CommandSender, Source> platform) {
 		this.platform = platform;
-		this.registeredCommands = new ArrayList<>();
-		this.previewableArguments = new HashMap<>();
+		this.registeredCommands = new CopyOnWriteArrayList<>();
+		this.previewableArguments = new ConcurrentHashMap<>();
+		this.startupReport = new StartupReport(CommandAPI.getConfiguration().hasStartupReport());
+		this.permissionCache = new PermissionCache(CommandAPI.getConfiguration().getPermissionCacheTimeout());
+		this.commandMetrics = new CommandMetrics(CommandAPI.getConfiguration().hasCommandMetrics());
+		this.suggestionMetrics = new SuggestionMetrics(CommandAPI.getConfiguration().getSuggestionMetricsSampleRate(),
+			CommandAPI.getConfiguration().getSlowSuggestionThreshold());
+
+		Executor configuredAsyncExecutor = CommandAPI.getConfiguration().getAsyncExecutor();
+		this.defaultAsyncExecutor = configuredAsyncExecutor == null ? createDefaultAsyncExecutor() : null;
+		this.asyncExecutor = configuredAsyncExecutor == null ? defaultAsyncExecutor : configuredAsyncExecutor;
 
 		CommandAPIHandler.instance = this;
 	}
@@ -155,6 +208,10 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 
 	public void onDisable() {
 		platform.onDisable();
+		if (defaultAsyncExecutor != null) {
+			// Lets running asynchronous commands finish, but stops accepting new ones
+			defaultAsyncExecutor.shutdown();
+		}
 		CommandAPIHandler.resetInstance();
 	}
 	
@@ -177,20 +234,112 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	/**
 	 * Generates a command to be registered by the CommandAPI.
 	 * 
-	 * @param args       set of ordered argument pairs which contain the prompt text
-	 *                   and their argument types
-	 * @param executor   code to be ran when the command is executed
-	 * @param converted  True if this command is being converted from another plugin, and false otherwise
+	 * @param commandName the name of the command, used to record its {@link CommandMetrics}
+	 * @param args        set of ordered argument pairs which contain the prompt text
+	 *                    and their argument types
+	 * @param executor    code to be ran when the command is executed
+	 * @param converted   True if this command is being converted from another plugin, and false otherwise
 	 * @return a brigadier command which is registered internally
 	 * @throws CommandSyntaxException if an error occurs when the command is ran
 	 */
-	Command<Source> generateCommand(Argument[] args, CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted) {
+	Command<Source> generateCommand(String commandName, Argument[] args,
+			CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted) {
+		if (commandMetrics.isEnabled()) {
+			return generateMeasuredCommand(commandMetrics.forPath(getCommandPath(commandName, args)), args, executor, converted);
+		}
 
 		// Generate our command from executor
 		return cmdCtx -> {
 			AbstractCommandSender<? extends CommandSender> sender = platform.getSenderForCommand(cmdCtx, executor.isForceNative());
 			CommandArguments commandArguments = argsToCommandArgs(cmdCtx, args);
-			ExecutionInfo<CommandSender, AbstractCommandSender<? extends CommandSender>> executionInfo = new ExecutionInfo<>() {
+			return executeCommand(cmdCtx, args, executor, converted, sender, commandArguments);
+		};
+	}
+
+	// Same as generateCommand, but records how long each part of running the command takes and why it failed
+	private Command<Source> generateMeasuredCommand(CommandMetrics.PathMetrics metrics, Argument[] args,
+			CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted) {
+		return cmdCtx -> {
+			metrics.recordInvocation();
+			final long startNanos = System.nanoTime();
+
+			AbstractCommandSender<? extends CommandSender> sender = platform.getSenderForCommand(cmdCtx, executor.isForceNative());
+			CommandArguments commandArguments;
+			try {
+				commandArguments = argsToCommandArgs(cmdCtx, args);
+			} catch (CommandSyntaxException e) {
+				metrics.recordFailure(CommandMetrics.FailureCause.SYNTAX);
+				throw e;
+			} finally {
+				metrics.recordArguments(System.nanoTime() - startNanos);
+			}
+
+			// Asynchronous executors find this through currentExecution, so they can record it once they complete
+			final CommandMetrics.Execution execution = new CommandMetrics.Execution(metrics);
+			final CommandMetrics.Execution previousExecution = currentExecution.get();
+			currentExecution.set(execution);
+			CommandMetrics.FailureCause failure = null;
+			try {
+				return executeCommand(cmdCtx, args, executor, converted, sender, commandArguments);
+			} catch (CommandSyntaxException e) {
+				// CommandAPIExecutor unwraps WrapperCommandSyntaxExceptions thrown by executors
+				failure = CommandMetrics.FailureCause.WRAPPER_SYNTAX;
+				throw e;
+			} catch (RuntimeException | Error e) {
+				failure = CommandMetrics.FailureCause.UNHANDLED;
+				throw e;
+			} finally {
+				currentExecution.set(previousExecution);
+				execution.finishSync(failure);
+			}
+		};
+	}
+
+	// Returns the path used to record a command's metrics, such as "/give <player> <item>"
+	private String getCommandPath(String commandName, Argument[] args) {
+		return "/" + commandName + describeArguments(args);
+	}
+
+	// Describes arguments as they appear in a command path, such as " <player> <item>"
+	private String describeArguments(Argument[] args) {
+		StringBuilder path = new StringBuilder();
+		for (Argument arg : args) {
+			path.append(' ');
+			if (arg instanceof Literal<?> literal) {
+				path.append(literal.getLiteral());
+			} else {
+				path.append('<').append(arg.getNodeName()).append('>');
+			}
+		}
+		return path.toString();
+	}
+
+	private int executeCommand(CommandContext<Source> cmdCtx, Argument[] args,
+			CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted,
+			AbstractCommandSender<? extends CommandSender> sender, CommandArguments commandArguments) throws CommandSyntaxException {
+		ExecutionInfo<CommandSender, AbstractCommandSender<? extends CommandSender>> executionInfo = new ExecutionInfo<>() {
+			@Override
+			public CommandSender sender() {
+				return sender.getSource();
+			}
+
+			@Override
+			public AbstractCommandSender<? extends CommandSender> senderWrapper() {
+				return sender;
+			}
+
+			@Override
+			public CommandArguments args() {
+				return commandArguments;
+			}
+		};
+		if (converted) {
+			int resultValue = 0;
+
+			// Return a String[] of arguments for converted commands
+			String[] argsAndCmd = cmdCtx.getRange().get(cmdCtx.getInput()).split(" ");
+			String[] result = new String[argsAndCmd.length - 1];
+			ExecutionInfo<CommandSender, AbstractCommandSender<? extends CommandSender>> convertedExecutionInfo = new ExecutionInfo<>() {
 				@Override
 				public CommandSender sender() {
 					return sender.getSource();
@@ -203,61 +352,43 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 
 				@Override
 				public CommandArguments args() {
-					return commandArguments;
+					return new CommandArguments(result, new LinkedHashMap<>(), result, new LinkedHashMap<>(), "/" + cmdCtx.getInput());
 				}
 			};
-			if (converted) {
-				int resultValue = 0;
-
-				// Return a String[] of arguments for converted commands
-				String[] argsAndCmd = cmdCtx.getRange().get(cmdCtx.getInput()).split(" ");
-				String[] result = new String[argsAndCmd.length - 1];
-				ExecutionInfo<CommandSender, AbstractCommandSender<? extends CommandSender>> convertedExecutionInfo = new ExecutionInfo<>() {
-					@Override
-					public CommandSender sender() {
-						return sender.getSource();
-					}
 
-					@Override
-					public AbstractCommandSender<? extends CommandSender> senderWrapper() {
-						return sender;
-					}
-
-					@Override
-					public CommandArguments args() {
-						return new CommandArguments(result, new LinkedHashMap<>(), result, new LinkedHashMap<>(), "/" + cmdCtx.getInput());
-					}
-				};
+			System.arraycopy(argsAndCmd, 1, result, 0, argsAndCmd.length - 1);
 
-				System.arraycopy(argsAndCmd, 1, result, 0, argsAndCmd.length - 1);
+			if (args.length == 0) {
+				// There are no entity selectors to expand, so the command runs once with no arguments
+				return executor.execute(convertedExecutionInfo);
+			}
 
-				// As stupid as it sounds, it's more performant and safer to use
-				// a List<?>[] instead of a List<List<?>>, due to NPEs and AIOOBEs.
-				@SuppressWarnings("unchecked")
-				List<String>[] entityNamesForArgs = new List[args.length];
-				for (int i = 0; i < args.length; i++) {
-					entityNamesForArgs[i] = args[i].getEntityNames(commandArguments.get(i));
-				}
-				List<List<String>> product = CartesianProduct.getDescartes(Arrays.asList(entityNamesForArgs));
-
-				// These objects in obj are List<String>
-				for (List<String> strings : product) {
-					// We assume result.length == strings.size
-					if (result.length == strings.size()) {
-						for (int i = 0; i < result.length; i++) {
-							if (strings.get(i) != null) {
-								result[i] = strings.get(i);
-							}
+			// As stupid as it sounds, it's more performant and safer to use
+			// a List<?>[] instead of a List<List<?>>, due to NPEs and AIOOBEs.
+			@SuppressWarnings("unchecked")
+			List<String>[] entityNamesForArgs = new List[args.length];
+			for (int i = 0; i < args.length; i++) {
+				entityNamesForArgs[i] = args[i].getEntityNames(commandArguments.get(i));
+			}
+			List<List<String>> product = CartesianProduct.getDescartes(Arrays.asList(entityNamesForArgs));
+
+			// These objects in obj are List<String>
+			for (List<String> strings : product) {
+				// We assume result.length == strings.size
+				if (result.length == strings.size()) {
+					for (int i = 0; i < result.length; i++) {
+						if (strings.get(i) != null) {
+							result[i] = strings.get(i);
 						}
 					}
-					resultValue += executor.execute(convertedExecutionInfo);
 				}
-
-				return resultValue;
-			} else {
-				return executor.execute(executionInfo);
+				resultValue += executor.execute(convertedExecutionInfo);
 			}
-		};
+
+			return resultValue;
+		} else {
+			return executor.execute(executionInfo);
+		}
 	}
 
 	/**
@@ -319,10 +450,143 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		}
 	}
 
+	//////////////////////////////////////////////////////////////////////////////////////////////////////
+	// SECTION: Asynchronous execution //
+	//////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	// Uses virtual threads if they are available (Java 21+), or a cached thread pool otherwise
+	private static ExecutorService createDefaultAsyncExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException | UnsupportedOperationException e) {
+			return Executors.newCachedThreadPool(runnable -> {
+				Thread thread = new Thread(runnable, "CommandAPI Async Executor");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * Runs an {@link AsyncExecutor} on the CommandAPI's asynchronous executor.
+	 * The executor is given a copy of the command's arguments, so they can't be
+	 * changed while it runs. If the executor fails, the failure is sent to the
+	 * command sender on the thread returned by
+	 * {@link CommandAPIPlatform#runSync(Object, Runnable)}. If
+	 * {@link CommandMetrics} are being recorded for the command, its execution
+	 * is recorded once the future returned by the executor completes.
+	 *
+	 * @param executor the asynchronous executor to run
+	 * @param info     the ExecutionInfo for the command being executed
+	 */
+	public <Sender, WrapperType extends AbstractCommandSender<? extends Sender>> void executeAsync(
+			AsyncExecutor<Sender, WrapperType> executor, ExecutionInfo<Sender, WrapperType> info) {
+		final Sender sender = info.sender();
+		final WrapperType senderWrapper = info.senderWrapper();
+		final CommandArguments args = info.args();
+		final CommandArguments argsCopy = new CommandArguments(args.args().clone(), new LinkedHashMap<>(args.argsMap()),
+			args.rawArgs().clone(), new LinkedHashMap<>(args.rawArgsMap()), args.fullInput());
+		final ExecutionInfo<Sender, WrapperType> asyncInfo = new ExecutionInfo<>() {
+			@Override
+			public Sender sender() {
+				return sender;
+			}
+
+			@Override
+			public WrapperType senderWrapper() {
+				return senderWrapper;
+			}
+
+			@Override
+			public CommandArguments args() {
+				return argsCopy;
+			}
+		};
+
+		@SuppressWarnings("unchecked")
+		final CommandSender commandSender = (CommandSender) sender;
+		// Set if the command's metrics are being recorded. The executor may complete before supplyAsync returns
+		final CommandMetrics.Execution execution = currentExecution.get();
+		if (execution != null) {
+			execution.markAsync();
+		}
+		final CompletableFuture<CompletableFuture<?>> scheduled;
+		try {
+			scheduled = CompletableFuture.supplyAsync(() -> {
+				try {
+					return executor.runAsync(asyncInfo);
+				} catch (WrapperCommandSyntaxException e) {
+					throw new CompletionException(e);
+				}
+			}, asyncExecutor);
+		} catch (RejectedExecutionException e) {
+			// The executor has been shut down (for example, while the CommandAPI is being disabled) or is full. This
+			//  runs on the thread the command was executed on, so the failure can be sent straight away
+			CommandAPI.logWarning("Couldn't schedule '" + args.fullInput() + "' to run asynchronously: " + e.getMessage());
+			platform.sendFailureMessage(commandSender, "This command can't be run right now, please try again later");
+			if (execution != null) {
+				execution.finishAsync(null);
+			}
+			return;
+		}
+
+		scheduled
+			.thenCompose(future -> future == null ? CompletableFuture.<Void>completedFuture(null) : future.thenRun(() -> {}))
+			.whenComplete((result, exception) -> {
+				if (execution != null) {
+					execution.finishAsync(exception == null ? null : getAsyncFailureCause(exception));
+				}
+				if (exception != null) {
+					reportAsyncFailure(commandSender, args.fullInput(), exception);
+				}
+			});
+	}
+
+	// Futures wrap exceptions thrown by the stages before them in CompletionExceptions
+	private static Throwable unwrapAsyncFailure(Throwable exception) {
+		return exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception;
+	}
+
+	private static CommandMetrics.FailureCause getAsyncFailureCause(Throwable exception) {
+		Throwable cause = unwrapAsyncFailure(exception);
+		if (cause instanceof CancellationException) {
+			return null;
+		} else if (cause instanceof WrapperCommandSyntaxException || cause instanceof CommandSyntaxException) {
+			return CommandMetrics.FailureCause.WRAPPER_SYNTAX;
+		} else {
+			return CommandMetrics.FailureCause.UNHANDLED;
+		}
+	}
+
+	private void reportAsyncFailure(CommandSender sender, String input, Throwable exception) {
+		Throwable cause = unwrapAsyncFailure(exception);
+		if (cause instanceof CancellationException) {
+			// Cancelled on purpose, for example because the sender left
+			return;
+		}
+
+		final String message;
+		if (cause instanceof WrapperCommandSyntaxException wrapperException) {
+			message = wrapperException.getException().getRawMessage().getString();
+		} else if (cause instanceof CommandSyntaxException syntaxException) {
+			message = syntaxException.getRawMessage().getString();
+		} else {
+			CommandAPI.getLogger().severe("Unhandled exception executing '" + input + "'", cause);
+			// Same as Minecraft's message for unhandled exceptions
+			message = "An unexpected error occurred trying to execute that command";
+		}
+		platform.runSync(sender, () -> platform.sendFailureMessage(sender, message));
+	}
+
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
 	// SECTION: Permissions //
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
 
+	// Command names are case-insensitive, so the CommandAPI's state about each command is keyed by its lowercase name
+	static String normalizeCommandName(String commandName) {
+		return commandName.toLowerCase(Locale.ROOT);
+	}
+
 	/**
 	 * This permission generation setup ONLY works iff:
 	 * <ul>
@@ -346,16 +610,15 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	Predicate<Source> generatePermissions(String commandName, CommandPermission permission,
 			Predicate<CommandSender> requirements) {
 		// If commandName was already registered, always use the first permission used
-		if (registeredPermissions.containsKey(commandName.toLowerCase())) {
-			if (!registeredPermissions.get(commandName.toLowerCase()).equals(permission)) {
-				permission = registeredPermissions.get(commandName.toLowerCase());
-			}
-		} else {
-			registeredPermissions.put(commandName.toLowerCase(), permission);
+		CommandPermission registeredPermission = registeredPermissions.putIfAbsent(normalizeCommandName(commandName), permission);
+		if (registeredPermission != null) {
+			permission = registeredPermission;
 		}
 
 		// Register permission to the platform's registry, if both exist
-		permission.getPermission().ifPresent(platform::registerPermission);
+		if (permission.getCheck() == CommandPermission.Check.NODE) {
+			platform.registerPermission(permission.getPermissionNodeOrNull());
+		}
 
 		// Generate predicate for the permission and requirement check
 		CommandPermission finalPermission = permission;
@@ -375,20 +638,11 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		if (sender == null) {
 			satisfiesPermissions = true;
 		} else {
-			if (permission.equals(CommandPermission.NONE)) {
-				// No permission set
-				satisfiesPermissions = true;
-			} else if (permission.equals(CommandPermission.OP)) {
-				// Op permission set
-				satisfiesPermissions = sender.isOp();
-			} else {
-				final Optional<String> optionalPerm = permission.getPermission();
-				if(optionalPerm.isPresent()) {
-					satisfiesPermissions = sender.hasPermission(optionalPerm.get());
-				} else {
-					satisfiesPermissions = true;
-				}
-			}
+			satisfiesPermissions = switch (permission.getCheck()) {
+				case NONE -> true; // No permission set
+				case OP -> sender.isOp(); // Op permission set
+				case NODE -> hasPermission(sender, permission.getPermissionNodeOrNull());
+			};
 		}
 		if (permission.isNegated()) {
 			satisfiesPermissions = !satisfiesPermissions;
@@ -396,6 +650,15 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		return satisfiesPermissions && requirements.test(sender == null ? null : sender.getSource());
 	}
 
+	// Uses the PermissionCache for players if it is enabled
+	private static boolean hasPermission(AbstractCommandSender<?> sender, String permission) {
+		final CommandAPIHandler<?, ?, ?> handler = instance;
+		if (handler != null && handler.permissionCache.isEnabled() && sender instanceof AbstractPlayer<?> player) {
+			return handler.permissionCache.hasPermission(player, permission);
+		}
+		return sender.hasPermission(permission);
+	}
+
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
 	// SECTION: Registration //
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -407,7 +670,7 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 * multiliteral arguments were not present.
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private boolean expandMultiLiterals(CommandMetaData<CommandSender> meta, final Argument[] args,
+	private boolean expandMultiLiterals(CommandMetaData<CommandSender> meta, final Argument[] args, List<Integer> optionalArgumentIndices,
 			CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted) {
 
 		// "Expands" our MultiLiterals into Literals
@@ -418,21 +681,23 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 
 				String nodeName = superArg.instance().getNodeName();
 
-				// Add all of its entries
-				for (String literal: superArg.getLiterals()) {
-					// TODO: We only expect nodeName to be null here because the constructor for a MultiLiteralArgument
-					//  without a nodeName is currently deprecated but not removed. Once that constructor is removed,
-					//  this `nodeName == null` statement can probably be removed as well
-					Argument litArg = platform.newConcreteLiteralArgument(nodeName == null ? literal : nodeName, literal);
-
-					litArg.setListed(superArg.instance().isListed())
-						.withPermission(superArg.instance().getArgumentPermission())
-						.withRequirement((Predicate) superArg.instance().getRequirements());
-
-					// Reconstruct the list of arguments and place in the new literals
-					Argument[] newArgs = Arrays.copyOf(args, args.length);
-					newArgs[index] = litArg;
-					register(meta, newArgs, executor, converted);
+				try (StartupReport.Measurement measurement = startupReport.measure(StartupReport.EXPAND_MULTI_LITERALS, meta.commandName)) {
+					// Add all of its entries
+					for (String literal: superArg.getLiterals()) {
+						// TODO: We only expect nodeName to be null here because the constructor for a MultiLiteralArgument
+						//  without a nodeName is currently deprecated but not removed. Once that constructor is removed,
+						//  this `nodeName == null` statement can probably be removed as well
+						Argument litArg = platform.newConcreteLiteralArgument(nodeName == null ? literal : nodeName, literal);
+
+						litArg.setListed(superArg.instance().isListed())
+							.withPermission(superArg.instance().getArgumentPermission())
+							.withRequirement((Predicate) superArg.instance().getRequirements());
+
+						// Reconstruct the list of arguments and place in the new literals
+						Argument[] newArgs = Arrays.copyOf(args, args.length);
+						newArgs[index] = litArg;
+						register(meta, newArgs, optionalArgumentIndices, executor, converted);
+					}
 				}
 				return true;
 			}
@@ -511,8 +776,10 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		}
 	}
 
-	// Links arg1 -> arg2 -> ... argN -> innermostArgument
-	private ArgumentBuilder<Source, ?> generateOuterArguments(ArgumentBuilder<Source, ?> innermostArgument, Argument[] args) {
+	// Links arg1 -> arg2 -> ... argN -> innermostArgument. If prefixCommands[i] isn't null, the ith argument is also
+	//  linked to that executor, so the command can be run without the arguments after it
+	private ArgumentBuilder<Source, ?> generateOuterArguments(ArgumentBuilder<Source, ?> innermostArgument, Argument[] args,
+			Command<Source>[] prefixCommands) {
 		ArgumentBuilder<Source, ?> outer = innermostArgument;
 		for (int i = args.length - 2; i >= 0; i--) {
 			Argument outerArg = args[i];
@@ -536,6 +803,10 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 			else {
 				outer = getRequiredArgumentBuilderDynamic(args, outerArg).then(outer);
 			}
+
+			if (prefixCommands[i + 1] != null) {
+				outer.executes(prefixCommands[i + 1]);
+			}
 		}
 		return outer;
 	}
@@ -566,12 +837,92 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		}
 	}
 
-	// Builds a command then registers it
-	void register(CommandMetaData<CommandSender> meta, final Argument[] args,
+	private LiteralCommandNode<Source> registerCommandNode(LiteralArgumentBuilder<Source> builder) {
+		if (lazyCommandNodes == null) {
+			return platform.registerCommandNode(builder);
+		}
+		LiteralCommandNode<Source> node = builder.build();
+		lazyCommandNodes.addChild(node);
+		return node;
+	}
+
+	void runWithRegistrationLock(Runnable task) {
+		synchronized (registrationLock) {
+			task.run();
+		}
+	}
+
+	/**
+	 * Registers placeholders for a command and its aliases, so that the command's
+	 * arguments are only built when the command is first used.
+	 *
+	 * @param meta     the command's metadata
+	 * @param register registers the command normally. While the command is being
+	 *                 built, this registers into a separate tree instead of the
+	 *                 platform's dispatcher
+	 */
+	void registerLazily(CommandMetaData<CommandSender> meta, Runnable register) {
+		synchronized (registrationLock) {
+			// Brigadier merges nodes with the same name by looking at their children, which would build the command
+			//  straight away anyway, so these are registered normally
+			RootCommandNode<Source> root = platform.getBrigadierDispatcher().getRoot();
+			List<String> names = new ArrayList<>();
+			names.add(meta.commandName);
+			names.addAll(Arrays.asList(meta.aliases));
+			for (String name : names) {
+				if (root.getChild(name) != null) {
+					CommandAPI.logInfo("Command /" + name + " is already registered, so /" + meta.commandName
+						+ " is registered normally instead of lazily");
+					register.run();
+					return;
+				}
+			}
+
+			CommandAPI.logInfo("Registering lazy command /" + meta.commandName);
+			LazyLiteralCommandNode.LazyCommand<Source> lazyCommand = new LazyLiteralCommandNode.LazyCommand<>(meta.commandName, register);
+
+			List<LiteralCommandNode<Source>> nodes = new ArrayList<>();
+			nodes.add(new LazyLiteralCommandNode<>(meta.commandName, meta.commandName,
+				generatePermissions(meta.commandName, meta.permission, meta.requirements), lazyCommand));
+			for (String alias : meta.aliases) {
+				nodes.add(new LazyLiteralCommandNode<>(alias, alias, generatePermissions(alias, meta.permission, meta.requirements), lazyCommand));
+			}
+			platform.registerLazyCommandNodes(nodes);
+		}
+	}
+
+	// Builds the nodes of a lazily registered command, returning a root node with the command and its aliases as children
+	CommandNode<Source> buildLazyCommand(String commandName, Runnable register) {
+		synchronized (registrationLock) {
+			RootCommandNode<Source> previousLazyCommandNodes = lazyCommandNodes;
+			RootCommandNode<Source> root = new RootCommandNode<>();
+			lazyCommandNodes = root;
+			try {
+				register.run();
+			} finally {
+				lazyCommandNodes = previousLazyCommandNodes;
+			}
+			CommandAPI.logInfo("Built lazy command /" + commandName);
+			return root;
+		}
+	}
+
+	// Builds a command then registers it. The command can also be run with only the arguments before each index in
+	//  optionalArgumentIndices, which are the indices where each group of optional arguments starts
+	void register(CommandMetaData<CommandSender> meta, final Argument[] args, List<Integer> optionalArgumentIndices,
+			CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted) {
+		synchronized (registrationLock) {
+			try (StartupReport.Measurement measurement = startupReport.measure(StartupReport.REGISTER, meta.commandName)) {
+				registerCommand(meta, args, optionalArgumentIndices, executor, converted);
+			}
+		}
+	}
+
+	private void registerCommand(CommandMetaData<CommandSender> meta, final Argument[] args, List<Integer> optionalArgumentIndices,
 			CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted) {
 
 		// "Expands" our MultiLiterals into Literals
-		if (expandMultiLiterals(meta, args, executor, converted)) {
+		if (expandMultiLiterals(meta, args, optionalArgumentIndices, executor, converted)) {
 			return;
 		}
 
@@ -606,8 +957,16 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 			hasRegisteredCommand |= registeredCommands.get(i).commandName().equals(commandName);
 		}
 
-		if (hasRegisteredCommand && hasCommandConflict(commandName, args, humanReadableCommandArgSyntax)) {
-			return;
+		if (hasRegisteredCommand) {
+			if (hasCommandConflict(commandName, args, humanReadableCommandArgSyntax)) {
+				return;
+			}
+			// The command can also be run without its optional arguments, so those paths can't conflict either
+			for (int optionalArgumentIndex : optionalArgumentIndices) {
+				if (hasCommandConflict(commandName, Arrays.copyOf(args, optionalArgumentIndex), humanReadableCommandArgSyntax)) {
+					return;
+				}
+			}
 		}
 
 		List<String> argumentsString = new ArrayList<>();
@@ -615,18 +974,46 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 			argumentsString.add(arg.getNodeName() + ":" + arg.getClass().getSimpleName());
 		}
 		RegisteredCommand registeredCommandInformation = new RegisteredCommand(commandName, argumentsString, shortDescription,
-			fullDescription, usageDescription, aliases, permission);
+			fullDescription, usageDescription, aliases, permission, List.copyOf(optionalArgumentIndices));
 		registeredCommands.add(registeredCommandInformation);
+		commandArguments.computeIfAbsent(normalizeCommandName(commandName), name -> Collections.newSetFromMap(new IdentityHashMap<>()))
+			.addAll(Arrays.asList(args));
+
+		// Keep track of how many new suggestion providers and requirements this command needed
+		final int closuresBeforeRegistering = suggestionProviders.size() + argumentRequirements.size();
 
 		// Handle previewable arguments
 		handlePreviewableArguments(commandName, args, aliases);
+		for (int optionalArgumentIndex : optionalArgumentIndices) {
+			handlePreviewableArguments(commandName, Arrays.copyOf(args, optionalArgumentIndex), aliases);
+		}
 
-		platform.preCommandRegistration(commandName);
+		if (lazyCommandNodes == null) {
+			platform.preCommandRegistration(commandName);
+		}
 
 		CommandAPI.logInfo("Registering command /" + commandName + " " + humanReadableCommandArgSyntax);
 
+		if (suggestionMetrics.isEnabled()) {
+			// Suggestion providers are shared between commands, so slow suggestions are attributed using the
+			//  command that was typed
+			String owningPlugin = meta.owningPlugin == null ? getOwningPluginName(executor) : meta.owningPlugin;
+			suggestionMetrics.setOwningPlugin(commandName, owningPlugin);
+			for (String alias : aliases) {
+				suggestionMetrics.setOwningPlugin(alias, owningPlugin);
+			}
+		}
+
 		// Generate the actual command
-		Command<Source> command = generateCommand(args, executor, converted);
+		Command<Source> command = generateCommand(commandName, args, executor, converted);
+
+		// Generate the commands that run without the optional arguments, where prefixCommands[i] runs the command
+		//  with only the first i arguments
+		@SuppressWarnings("unchecked")
+		Command<Source>[] prefixCommands = new Command[args.length + 1];
+		for (int optionalArgumentIndex : optionalArgumentIndices) {
+			prefixCommands[optionalArgumentIndex] = generateCommand(commandName, Arrays.copyOf(args, optionalArgumentIndex), executor, converted);
+		}
 
 		/*
 		 * The innermost argument needs to be connected to the executor. Then that
@@ -638,25 +1025,30 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		List<LiteralCommandNode<Source>> aliasNodes = new ArrayList<>();
 		if (args.length == 0) {
 			// Link command name to the executor
-			resultantNode = platform.registerCommandNode(getLiteralArgumentBuilder(commandName)
+			resultantNode = registerCommandNode(getLiteralArgumentBuilder(commandName)
 					.requires(generatePermissions(commandName, permission, requirements)).executes(command));
 
 			// Register aliases
 			for (String alias : aliases) {
 				CommandAPI.logInfo("Registering alias /" + alias + " -> " + resultantNode.getName());
-				aliasNodes.add(platform.registerCommandNode(getLiteralArgumentBuilder(alias)
+				aliasNodes.add(registerCommandNode(getLiteralArgumentBuilder(alias)
 						.requires(generatePermissions(alias, permission, requirements)).executes(command)));
 			}
 		} else {
 
 			// Generate all of the arguments, following each other and finally linking to
-			// the executor
-			ArgumentBuilder<Source, ?> commandArguments = generateOuterArguments(
-					generateInnerArgument(command, args), args);
+			// the executor. These are only built once, so the command and its aliases share
+			// the same argument nodes instead of each building their own copy
+			CommandNode<Source> commandArguments = generateOuterArguments(
+					generateInnerArgument(command, args), args, prefixCommands).build();
 
 			// Link command name to first argument and register
-			resultantNode = platform.registerCommandNode(getLiteralArgumentBuilder(commandName)
-					.requires(generatePermissions(commandName, permission, requirements)).then(commandArguments));
+			LiteralArgumentBuilder<Source> commandBuilder = getLiteralArgumentBuilder(commandName)
+					.requires(generatePermissions(commandName, permission, requirements)).then(commandArguments);
+			if (prefixCommands[0] != null) {
+				commandBuilder.executes(prefixCommands[0]);
+			}
+			resultantNode = registerCommandNode(commandBuilder);
 
 			// Register aliases
 			for (String alias : aliases) {
@@ -664,8 +1056,12 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 					CommandAPI.logInfo("Registering alias /" + alias + " -> " + resultantNode.getName());
 				}
 
-				aliasNodes.add(platform.registerCommandNode(getLiteralArgumentBuilder(alias)
-						.requires(generatePermissions(alias, permission, requirements)).then(commandArguments)));
+				LiteralArgumentBuilder<Source> aliasBuilder = getLiteralArgumentBuilder(alias)
+						.requires(generatePermissions(alias, permission, requirements)).then(commandArguments);
+				if (prefixCommands[0] != null) {
+					aliasBuilder.executes(prefixCommands[0]);
+				}
+				aliasNodes.add(registerCommandNode(aliasBuilder));
 			}
 		}
 
@@ -679,12 +1075,114 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 //					// Byeeeeeeeeeeeeeeeeeeeee~
 //				}
 //			});
+		retainedClosures.merge(commandName, suggestionProviders.size() + argumentRequirements.size() - closuresBeforeRegistering, Integer::sum);
+
+		// Lazily registered commands are already in the platform's dispatcher as placeholders
+		if (lazyCommandNodes != null) {
+			platform.postLazyCommandRegistration(registeredCommandInformation);
+			return;
+		}
+
 		// We never know if this is "the last command" and we want dynamic (even if
 		// partial) command registration. Generate the dispatcher file!
 		writeDispatcherToFile();
 
 		platform.postCommandRegistration(registeredCommandInformation, resultantNode, aliasNodes);
 	}
+
+	private String getOwningPluginName(CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor) {
+		// Executors are written by the plugin that registers the command, so they belong to that plugin
+		if (!executor.getNormalExecutors().isEmpty()) {
+			return platform.getOwningPluginName(executor.getNormalExecutors().get(0).getClass());
+		} else if (!executor.getResultingExecutors().isEmpty()) {
+			return platform.getOwningPluginName(executor.getResultingExecutors().get(0).getClass());
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Removes everything the CommandAPI stored when registering the given
+	 * commands, such as their {@link RegisteredCommand}s, permissions, previewable
+	 * arguments, suggestion providers and requirements. This should be called by
+	 * the platform when commands are unregistered, so that commands which are
+	 * repeatedly registered and unregistered don't keep using more memory.
+	 *
+	 * @param commandNames the names of the commands that were unregistered
+	 */
+	void removeRegisteredCommands(Collection<String> commandNames) {
+		synchronized (registrationLock) {
+			removeRegisteredCommands0(commandNames);
+		}
+	}
+
+	private void removeRegisteredCommands0(Collection<String> commandNames) {
+		Set<String> names = new HashSet<>();
+		for (String commandName : commandNames) {
+			names.add(normalizeCommandName(commandName));
+		}
+
+		registeredCommands.removeIf(command -> names.contains(normalizeCommandName(command.commandName())));
+		registeredPermissions.keySet().removeAll(names);
+		previewableArguments.keySet().removeIf(path -> names.contains(normalizeCommandName(path.get(0))));
+		retainedClosures.keySet().removeIf(commandName -> names.contains(normalizeCommandName(commandName)));
+		startupReport.removeCommands(names);
+		commandMetrics.removeCommands(names);
+		suggestionMetrics.removeCommands(names);
+
+		// Suggestion providers and requirements are shared between commands that use the same arguments. If another
+		//  command still uses one of these arguments, it keeps its existing nodes but won't share with new commands
+		Set<Argument> arguments = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (String name : names) {
+			Set<Argument> removedArguments = commandArguments.remove(name);
+			if (removedArguments != null) {
+				arguments.addAll(removedArguments);
+			}
+		}
+		if (arguments.isEmpty()) {
+			return;
+		}
+
+		argumentRequirements.keySet().removeIf(arguments::contains);
+
+		Set<SuggestionProvider<?>> removedProviders = Collections.newSetFromMap(new IdentityHashMap<>());
+		suggestionProviders.entrySet().removeIf(entry -> {
+			SuggestionProviderKey key = entry.getKey();
+			boolean remove = arguments.contains(key.source());
+			for (int i = 0, size = key.previousArguments().size(); i < size && !remove; i++) {
+				remove = arguments.contains(key.previousArguments().get(i));
+			}
+			if (remove) {
+				removedProviders.add(entry.getValue());
+			}
+			return remove;
+		});
+		// Merged providers are keyed by the providers they merge, rather than by an argument
+		suggestionProviders.keySet().removeIf(key -> removedProviders.contains(key.source())
+			|| removedProviders.contains(key.baseProvider()));
+	}
+
+	/**
+	 * @return the number of suggestion providers shared between registration
+	 *         paths. Providers are removed when every command using them has been
+	 *         unregistered
+	 */
+	public int getSharedSuggestionProviderCount() {
+		synchronized (registrationLock) {
+			return suggestionProviders.size();
+		}
+	}
+
+	/**
+	 * @return the number of argument requirements shared between registration
+	 *         paths. Requirements are removed when every command using them has
+	 *         been unregistered
+	 */
+	public int getSharedArgumentRequirementCount() {
+		synchronized (registrationLock) {
+			return argumentRequirements.size();
+		}
+	}
 	
 	/**
 	 * Checks for duplicate argument node names and logs them as errors in the
@@ -734,7 +1232,7 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 				return;
 			}
 
-			try {
+			try (StartupReport.Measurement measurement = startupReport.measure(StartupReport.WRITE_DISPATCHER_FILE, null)) {
 				platform.createDispatcherFile(file, platform.getBrigadierDispatcher());
 			} catch (IOException e) {
 				CommandAPI.logError("Failed to write command registration info to " + file.getName() + ": " + e.getMessage());
@@ -742,6 +1240,22 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		}
 	}
 
+	/**
+	 * Writes the {@link StartupReport} to the file specified by
+	 * {@link CommandAPIConfig#startupReportFile(File)}, if it was set
+	 */
+	public void writeStartupReportToFile() {
+		File file = CommandAPI.getConfiguration().getStartupReportFile();
+		if (file != null) {
+			try {
+				file.getParentFile().mkdirs();
+				Files.writeString(file.toPath(), startupReport.toJson());
+			} catch (IOException e) {
+				CommandAPI.logError("Failed to write the startup report to " + file.getName() + ": " + e.getMessage());
+			}
+		}
+	}
+
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
 	// SECTION: Argument Builders //
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -778,7 +1292,8 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 			suggestions = toSuggestions(argument, args, true);
 		} else if (argument.getIncludedSuggestions().isPresent()) {
 			// TODO(#317): Merge the suggestions included here instead?
-			suggestions = (cmdCtx, builder) -> argument.getRawType().listSuggestions(cmdCtx, builder);
+			suggestions = suggestionProviders.computeIfAbsent(new SuggestionProviderKey(argument, List.of(), SuggestionProviderKey.Kind.RAW_TYPE, null),
+				key -> (cmdCtx, builder) -> argument.getRawType().listSuggestions(cmdCtx, builder));
 		} else {
 			suggestions = null;
 		}
@@ -794,7 +1309,7 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		if (argument.getIncludedSuggestions().isPresent() && argument.getOverriddenSuggestions().isEmpty()) {
 			SuggestionProvider<Source> addedSuggestions = toSuggestions(argument, args, false);
 
-			newSuggestionsProvider = (cmdCtx, builder) -> {
+			newSuggestionsProvider = suggestionProviders.computeIfAbsent(new SuggestionProviderKey(addedSuggestions, List.of(), SuggestionProviderKey.Kind.MERGED, provider), key -> (cmdCtx, builder) -> {
 				// Heavily inspired by CommandDispatcher#listSuggestions, with combining
 				// multiple CompletableFuture<Suggestions> into one.
 
@@ -809,14 +1324,102 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 					result.complete(Suggestions.merge(cmdCtx.getInput(), suggestions));
 				});
 				return result;
-			};
+			});
+		}
+
+		// Measure the suggestions the CommandAPI provides. Providers from the platform are left alone, since
+		//  replacing them would change how they are sent to the client
+		boolean platformProvider = argument instanceof CustomProvidedArgument && argument.getOverriddenSuggestions().isEmpty()
+			&& newSuggestionsProvider == provider;
+		if (suggestionMetrics.isEnabled() && newSuggestionsProvider != null && !platformProvider) {
+			newSuggestionsProvider = measureSuggestions(argument, args, newSuggestionsProvider);
 		}
 
 		RequiredArgumentBuilder<Source, ?> requiredArgumentBuilder = RequiredArgumentBuilder
 				.argument(argument.getNodeName(), argument.getRawType());
 
-		return requiredArgumentBuilder.requires(css -> permissionCheck(platform.getCommandSenderFromCommandSource(css),
-				argument.getArgumentPermission(), argument.getRequirements())).suggests(newSuggestionsProvider);
+		return requiredArgumentBuilder.requires(getArgumentRequirement(argument)).suggests(newSuggestionsProvider);
+	}
+
+	// Wraps a suggestion provider so that sampled requests are recorded in the SuggestionMetrics
+	private SuggestionProvider<Source> measureSuggestions(Argument argument, Argument[] args, SuggestionProvider<Source> provider) {
+		final Argument[] previousArgs = getArgumentPath(argument, args);
+		return suggestionProviders.computeIfAbsent(new SuggestionProviderKey(argument, keyArguments(previousArgs),
+			SuggestionProviderKey.Kind.MEASURED, provider), key -> (context, builder) -> {
+			if (!suggestionMetrics.shouldSample()) {
+				return provider.getSuggestions(context, builder);
+			}
+
+			final String commandName = getTypedCommandName(context);
+			final String path = getSuggestionPath(context, previousArgs);
+			final SuggestionMetrics.ArgumentMetrics metrics = suggestionMetrics.forArgument(path);
+			final long startNanos = System.nanoTime();
+			final CompletableFuture<Suggestions> suggestions;
+			try {
+				suggestions = provider.getSuggestions(context, builder);
+			} catch (CommandSyntaxException | RuntimeException e) {
+				suggestionMetrics.recordCompletion(metrics, path, commandName, builder.getInput(), null, e, System.nanoTime() - startNanos);
+				throw e;
+			}
+			suggestions.whenComplete((result, failure) -> suggestionMetrics.recordCompletion(metrics, path, commandName,
+				builder.getInput(), result, failure, System.nanoTime() - startNanos));
+			return suggestions;
+		});
+	}
+
+	// Returns the path used to record an argument's suggestion metrics, using the command name or alias and the literals that were typed
+	private String getSuggestionPath(CommandContext<Source> context, Argument[] previousArgs) {
+		String commandName = getTypedCommandName(context);
+		StringBuilder path = new StringBuilder("/").append(commandName == null ? "?" : commandName);
+		for (int i = 0; i < previousArgs.length; i++) {
+			path.append(' ');
+			if (previousArgs[i] instanceof Literal<?> literal) {
+				path.append(getTypedLiteral(context, i, literal));
+			} else {
+				path.append('<').append(previousArgs[i].getNodeName()).append('>');
+			}
+		}
+		return path.toString();
+	}
+
+	/*
+	 * Returns the literal that was typed for the argument at the given index.
+	 * Suggestion providers are shared between the literals of a MultiLiteral, so
+	 * the Literal they were created with isn't necessarily the one that was typed.
+	 * The first node of the context is the command, followed by one node for each
+	 * argument. Redirected commands don't have these nodes, so this falls back to
+	 * the Literal's own literal.
+	 */
+	private String getTypedLiteral(CommandContext<Source> context, int index, Literal<?> literal) {
+		List<ParsedCommandNode<Source>> nodes = context.getNodes();
+		if (index + 1 < nodes.size() && nodes.get(index + 1).getNode() instanceof LiteralCommandNode<Source> node) {
+			return node.getLiteral();
+		}
+		return literal.getLiteral();
+	}
+
+	/*
+	 * Returns the previous arguments part of a SuggestionProviderKey. Each literal
+	 * of a MultiLiteral is registered as its own Literal instance, so literals are
+	 * keyed by their node name to share providers between them.
+	 */
+	private List<Object> keyArguments(Argument[] previousArgs) {
+		List<Object> keyArguments = new ArrayList<>(previousArgs.length);
+		for (Argument arg : previousArgs) {
+			keyArguments.add(arg instanceof Literal ? new LiteralKey(arg.getNodeName()) : arg);
+		}
+		return keyArguments;
+	}
+
+	// Returns the command name or alias that was typed, which is the first node of the context
+	private String getTypedCommandName(CommandContext<Source> context) {
+		return context.getNodes().isEmpty() ? null : context.getNodes().get(0).getNode().getName();
+	}
+
+	// Gets the Brigadier requirement for an argument. The same predicate is used for every node of this argument
+	private Predicate<Source> getArgumentRequirement(Argument argument) {
+		return argumentRequirements.computeIfAbsent(argument, arg -> css -> permissionCheck(
+			platform.getCommandSenderFromCommandSource(css), arg.getArgumentPermission(), arg.getRequirements()));
 	}
 
 	CommandArguments generatePreviousArguments(CommandContext<Source> context, Argument[] args, String nodeName)
@@ -833,14 +1436,17 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		// LinkedHashMap for raw arguments
 		Map<String, String> rawArgumentsMap = new LinkedHashMap<>();
 
-		for (Argument arg : args) {
+		for (int i = 0; i < args.length; i++) {
+			Argument arg = args[i];
 			if (arg.getNodeName().equals(nodeName) && !(arg instanceof Literal)) {
 				break;
 			}
 
 			Object result;
 			try {
-				result = parseArgument(context, arg.getNodeName(), arg, new CommandArguments(previousArguments.toArray(), argsMap, rawArguments.toArray(new String[0]), rawArgumentsMap, "/" + context.getInput()));
+				result = arg instanceof Literal<?> literal && arg.isListed()
+					? getTypedLiteral(context, i, literal)
+					: parseArgument(context, arg.getNodeName(), arg, new CommandArguments(previousArguments.toArray(), argsMap, rawArguments.toArray(new String[0]), rawArgumentsMap, "/" + context.getInput()));
 			} catch (IllegalArgumentException e) {
 				/*
 				 * Redirected commands don't parse previous arguments properly. Simplest way to
@@ -869,17 +1475,47 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 
 	SuggestionProvider<Source> toSuggestions(Argument theArgument, Argument[] args,
 			boolean overrideSuggestions) {
-		return (CommandContext<Source> context, SuggestionsBuilder builder) -> {
+		// Only the arguments up to (and including) this argument are used to generate previous arguments, so
+		//  registration paths that share those arguments can share the same suggestion provider
+		final Argument[] previousArgs = getArgumentPath(theArgument, args);
+		final boolean measured = suggestionMetrics.isEnabled();
+		return suggestionProviders.computeIfAbsent(new SuggestionProviderKey(theArgument, keyArguments(previousArgs),
+			overrideSuggestions ? SuggestionProviderKey.Kind.OVERRIDDEN : SuggestionProviderKey.Kind.INCLUDED, null),
+			key -> (CommandContext<Source> context, SuggestionsBuilder builder) -> {
+			final CommandArguments previousArguments;
+			if (measured && suggestionMetrics.shouldSample()) {
+				final long startNanos = System.nanoTime();
+				previousArguments = generatePreviousArguments(context, previousArgs, theArgument.getNodeName());
+				suggestionMetrics.recordPreviousArguments(suggestionMetrics.forArgument(getSuggestionPath(context, previousArgs)),
+					System.nanoTime() - startNanos);
+			} else {
+				previousArguments = generatePreviousArguments(context, previousArgs, theArgument.getNodeName());
+			}
+
 			// Construct the suggestion info
 			SuggestionInfo<CommandSender> suggestionInfo = new SuggestionInfo<>(platform.getCommandSenderFromCommandSource(context.getSource()).getSource(),
-					generatePreviousArguments(context, args, theArgument.getNodeName()), builder.getInput(), builder.getRemaining());
+					previousArguments, builder.getInput(), builder.getRemaining());
 
 			// Get the suggestions
 			Optional<ArgumentSuggestions<CommandSender>> suggestionsToAddOrOverride = overrideSuggestions
 					? theArgument.getOverriddenSuggestions()
 					: theArgument.getIncludedSuggestions();
 			return suggestionsToAddOrOverride.orElse(ArgumentSuggestions.empty()).suggest(suggestionInfo, builder);
-		};
+		});
+	}
+
+	/*
+	 * Returns the arguments that generatePreviousArguments looks at when generating
+	 * the previous arguments for the given argument, which is every argument up to
+	 * and including the given argument.
+	 */
+	private Argument[] getArgumentPath(Argument theArgument, Argument[] args) {
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].getNodeName().equals(theArgument.getNodeName()) && !(args[i] instanceof Literal)) {
+				return i == args.length - 1 ? args : Arrays.copyOf(args, i + 1);
+			}
+		}
+		return args;
 	}
 
 	/**
@@ -945,10 +1581,8 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 * @return a Field reference
 	 */
 	public static Field getField(Class<?> clazz, String name, String mojangMappedName) {
-		ClassCache key = new ClassCache(clazz, name, mojangMappedName);
-		if (FIELDS.containsKey(key)) {
-			return FIELDS.get(key);
-		} else {
+		// Fields that can't be found aren't cached, since computeIfAbsent doesn't store null
+		return FIELDS.computeIfAbsent(new ClassCache(clazz, name, mojangMappedName), key -> {
 			Field result;
 			try {
 				result = clazz.getDeclaredField(SafeVarHandle.USING_MOJANG_MAPPINGS ? mojangMappedName : name);
@@ -957,8 +1591,32 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 				return null;
 			}
 			result.setAccessible(true);
-			FIELDS.put(key, result);
 			return result;
+		});
+	}
+
+	/**
+	 * Caches a field using reflection if it is not already cached, then returns a
+	 * MethodHandle that sets the value of the field. Unlike a {@link SafeVarHandle},
+	 * the returned MethodHandle can set the value of final instance fields.
+	 * 
+	 * @param clazz the class where the field is declared
+	 * @param name  the name of the field
+	 * @param mojangMappedName the name of a field under Mojang mappings
+	 * @return a MethodHandle of type {@code (clazz, fieldType)void} which sets the
+	 *         value of the field, or null if the field could not be found
+	 */
+	public static MethodHandle getFieldSetter(Class<?> clazz, String name, String mojangMappedName) {
+		Field field = getField(clazz, name, mojangMappedName);
+		if (field == null) {
+			return null;
+		}
+		try {
+			// getField has already made the field accessible
+			return MethodHandles.lookup().unreflectSetter(field);
+		} catch (IllegalAccessException e) {
+			e.printStackTrace();
+			return null;
 		}
 	}
 
@@ -975,6 +1633,23 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	private record ClassCache(Class<?> clazz, String name, String mojangMappedName) {
 	}
 
+	/**
+	 * Key for a shared suggestion provider, made up of the argument (or suggestion
+	 * provider) it is generated from, the arguments used to generate previous
+	 * arguments and the provider it is combined with. Arguments and suggestion
+	 * providers don't override equals, so these are compared by identity, except
+	 * for literals in the previous arguments, which are compared by node name.
+	 */
+	private record SuggestionProviderKey(Object source, List<?> previousArguments, Kind kind, SuggestionProvider<?> baseProvider) {
+		private enum Kind {
+			OVERRIDDEN, INCLUDED, RAW_TYPE, MERGED, MEASURED
+		}
+	}
+
+	// Stands in for a Literal in the previous arguments of a SuggestionProviderKey
+	private record LiteralKey(String nodeName) {
+	}
+
 	/**
 	 * A class to compute the Cartesian product of a number of lists. Source:
 	 * https://www.programmersought.com/article/86195393650/
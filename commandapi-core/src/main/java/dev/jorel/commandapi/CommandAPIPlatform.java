@@ -12,7 +12,9 @@ import dev.jorel.commandapi.commandsenders.AbstractPlayer;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @param <Argument> The implementation of AbstractArgument used for the platform
@@ -109,6 +111,28 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 */
 	public abstract LiteralCommandNode<Source> registerCommandNode(LiteralArgumentBuilder<Source> node);
 
+	/**
+	 * Registers the placeholder nodes of a command registered with
+	 * {@link ExecutableCommand#registerLazily()}. The placeholders build the
+	 * command's real nodes the first time their children or executor are used, so
+	 * platforms should avoid looking at those until the command is actually used.
+	 *
+	 * @param nodes the placeholder nodes for the command and its aliases
+	 */
+	public abstract void registerLazyCommandNodes(List<LiteralCommandNode<Source>> nodes);
+
+	/**
+	 * Stuff to run after the real nodes of a command registered with
+	 * {@link ExecutableCommand#registerLazily()} have been built. The command's
+	 * placeholders are already registered, so this only needs to catch up on
+	 * what {@link #postCommandRegistration(RegisteredCommand, LiteralCommandNode, List)}
+	 * does for the command's information, such as its help topic.
+	 *
+	 * @param registeredCommand A {@link RegisteredCommand} instance that holds the CommandAPI information for the command
+	 */
+	public default void postLazyCommandRegistration(RegisteredCommand registeredCommand) {
+	}
+
 
 	/**
 	 * Unregisters a command from the CommandGraph so it can't be run anymore.
@@ -120,6 +144,22 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 */
 	public abstract void unregister(String commandName, boolean unregisterNamespaces);
 
+	/**
+	 * Unregisters multiple commands from the CommandGraph so they can't be run
+	 * anymore. Platforms should override this if they can avoid repeating work
+	 * (such as resending commands to players) for each command.
+	 *
+	 * @param commandNames the names of the commands to unregister
+	 * @param unregisterNamespaces whether the unregistration system should attempt to remove versions of the
+	 *                                commands that start with a namespace. Eg. `minecraft:command`, `bukkit:command`,
+	 *                                or `plugin:command`
+	 */
+	public default void unregister(Collection<String> commandNames, boolean unregisterNamespaces) {
+		for (String commandName : commandNames) {
+			unregister(commandName, unregisterNamespaces);
+		}
+	}
+
 	/**
 	 * @return The Brigadier CommandDispatcher tree being used by the platform's server
 	 */
@@ -168,6 +208,18 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		};
 	}
 
+	/**
+	 * Finds the plugin that provides a class, for example to name the plugin that
+	 * registered a command when logging about it.
+	 *
+	 * @param clazz the class to look up, such as the class of a command's executor
+	 * @return the name of the plugin that provides the class, or null if it isn't
+	 *         known
+	 */
+	public default String getOwningPluginName(Class<?> clazz) {
+		return null;
+	}
+
 	/**
 	 * Reloads the server's data packs to include CommandAPI commands
 	 */
@@ -180,6 +232,27 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 */
 	public abstract void updateRequirements(AbstractPlayer<?> player);
 
+	/**
+	 * Runs a task on the thread that commands run by the given command sender are
+	 * executed on, for example the server's main thread. This is used to hand work
+	 * from asynchronous command executors back to the server.
+	 *
+	 * @param sender the command sender that the task is being run for
+	 * @param task   the task to run
+	 * @return a future which completes once the task has been run
+	 */
+	public default CompletableFuture<Void> runSync(CommandSender sender, Runnable task) {
+		return CompletableFuture.runAsync(task, Runnable::run);
+	}
+
+	/**
+	 * Sends a message to a command sender in the same way as a command failure
+	 *
+	 * @param sender  the command sender to send the message to
+	 * @param message the failure message to send
+	 */
+	public abstract void sendFailureMessage(CommandSender sender, String message);
+
 	// Create the concrete instances of objects implemented by the platform
 	public abstract AbstractCommandAPICommand<?, Argument, CommandSender> newConcreteCommandAPICommand(CommandMetaData<CommandSender> meta);
 
@@ -47,6 +47,11 @@ final class CommandMetaData<CommandSender> {
 	 */
 	Optional<String[]> usageDescription = Optional.empty();
 
+	/**
+	 * The plugin that registered the command, or null to find it from the command's executor
+	 */
+	String owningPlugin = null;
+
 	/**
 	 * Create command metadata
 	 * @param commandName The command's name
@@ -69,6 +74,7 @@ final class CommandMetaData<CommandSender> {
 		this.shortDescription = original.shortDescription.isPresent() ? Optional.of(original.shortDescription.get()) : Optional.empty();
 		this.fullDescription = original.fullDescription.isPresent() ? Optional.of(original.fullDescription.get()) : Optional.empty();
 		this.usageDescription = original.usageDescription.isPresent() ? Optional.of(original.usageDescription.get()) : Optional.empty();
+		this.owningPlugin = original.owningPlugin;
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,256 @@
+package dev.jorel.commandapi;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how often each command registered by the CommandAPI is run, how
+ * often it fails, and how long it takes. Metrics are recorded separately for
+ * every path through a command, such as {@code /give <player> <item>}, including
+ * each path that skips optional arguments.
+ * <p>
+ * The time spent running a command is split into the time spent converting
+ * its arguments and the time spent in the command's executor. Converting the
+ * arguments turns the arguments Brigadier has already parsed into the objects
+ * passed to the executor, which includes resolving things like entity
+ * selectors. Brigadier's own parsing happens before the command is run, so it
+ * isn't included. Asynchronous executors are timed until the future they
+ * return completes, so their time includes any time spent waiting to run.
+ * <p>
+ * Metrics are disabled unless they have been enabled using
+ * {@link CommandAPIConfig#commandMetrics(boolean)}. While they are disabled,
+ * commands are registered exactly as they would be without them, so they have
+ * no cost.
+ */
+public class CommandMetrics {
+
+	/**
+	 * Why running a command failed
+	 */
+	public enum FailureCause {
+		/**
+		 * An argument couldn't be parsed into the object passed to the executor
+		 */
+		SYNTAX,
+
+		/**
+		 * The executor threw a {@link dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException},
+		 * for example using {@link CommandAPI#failWithString(String)}, or the
+		 * command has no executor for the type of sender that ran it
+		 */
+		WRAPPER_SYNTAX,
+
+		/**
+		 * The executor threw any other exception
+		 */
+		UNHANDLED
+	}
+
+	/**
+	 * Receives the metrics of every command path, for example to send them to a
+	 * monitoring system
+	 */
+	@FunctionalInterface
+	public interface Exporter {
+		/**
+		 * @param metrics an unmodifiable map from each command path, such as
+		 *                {@code /give <player> <item>}, to its metrics, sorted by
+		 *                command path
+		 */
+		void export(Map<String, PathMetrics> metrics);
+	}
+
+	/**
+	 * The metrics of a single path through a command
+	 */
+	public static final class PathMetrics {
+		private final LongAdder invocations = new LongAdder();
+		private final LongAdder[] failures = new LongAdder[FailureCause.values().length];
+		private final LatencyHistogram argumentsNanos = new LatencyHistogram();
+		private final LatencyHistogram executeNanos = new LatencyHistogram();
+
+		private PathMetrics() {
+			for (int i = 0; i < failures.length; i++) {
+				failures[i] = new LongAdder();
+			}
+		}
+
+		void recordInvocation() {
+			invocations.increment();
+		}
+
+		void recordArguments(long nanos) {
+			argumentsNanos.record(nanos);
+		}
+
+		void recordExecute(long nanos) {
+			executeNanos.record(nanos);
+		}
+
+		void recordFailure(FailureCause cause) {
+			failures[cause.ordinal()].increment();
+		}
+
+		/**
+		 * @return the number of times this path was run
+		 */
+		public long getInvocations() {
+			return invocations.sum();
+		}
+
+		/**
+		 * @param cause why running this path failed
+		 * @return the number of times running this path failed for the given reason
+		 */
+		public long getFailures(FailureCause cause) {
+			return failures[cause.ordinal()].sum();
+		}
+
+		/**
+		 * @return the number of times running this path failed for any reason
+		 */
+		public long getFailures() {
+			long total = 0;
+			for (LongAdder failure : failures) {
+				total += failure.sum();
+			}
+			return total;
+		}
+
+		/**
+		 * @return the time spent converting this path's arguments into the objects
+		 *         passed to its executor each time it was run. This doesn't include
+		 *         the time Brigadier spent parsing the command
+		 */
+		public LatencyHistogram getArgumentsNanos() {
+			return argumentsNanos;
+		}
+
+		/**
+		 * @return the time spent in this path's executor each time its arguments were
+		 *         converted successfully. For asynchronous executors, this is the
+		 *         time until the future they returned completed
+		 */
+		public LatencyHistogram getExecuteNanos() {
+			return executeNanos;
+		}
+	}
+
+	/**
+	 * One run of a command path's executor. Synchronous executors are recorded
+	 * when they return, and asynchronous executors are recorded once the future
+	 * they returned completes.
+	 */
+	static final class Execution {
+		private final PathMetrics metrics;
+		private final long startNanos = System.nanoTime();
+		private boolean async = false;
+
+		Execution(PathMetrics metrics) {
+			this.metrics = metrics;
+		}
+
+		// Called when the executor has been submitted to run asynchronously, so it isn't recorded when it returns
+		void markAsync() {
+			async = true;
+		}
+
+		void finishSync(FailureCause failure) {
+			if (!async) {
+				finish(failure);
+			}
+		}
+
+		void finishAsync(FailureCause failure) {
+			finish(failure);
+		}
+
+		private void finish(FailureCause failure) {
+			metrics.recordExecute(System.nanoTime() - startNanos);
+			if (failure != null) {
+				metrics.recordFailure(failure);
+			}
+		}
+	}
+
+	private final boolean enabled;
+	private final Map<String, PathMetrics> paths = new ConcurrentHashMap<>();
+
+	CommandMetrics(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @return true if metrics are recorded for commands, false otherwise
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	// Returns the metrics of a command path, creating them if needed
+	PathMetrics forPath(String commandPath) {
+		return paths.computeIfAbsent(commandPath, path -> new PathMetrics());
+	}
+
+	/**
+	 * Forgets the metrics of commands that have been unregistered
+	 *
+	 * @param commandNames the lowercase names of the commands to remove
+	 */
+	void removeCommands(Set<String> commandNames) {
+		paths.keySet().removeIf(path -> {
+			int end = path.indexOf(' ');
+			return commandNames.contains((end == -1 ? path.substring(1) : path.substring(1, end)).toLowerCase());
+		});
+	}
+
+	/**
+	 * Gives the metrics of every command path to an exporter
+	 *
+	 * @param exporter the exporter to give the metrics to
+	 */
+	public void export(Exporter exporter) {
+		exporter.export(Collections.unmodifiableMap(new TreeMap<>(paths)));
+	}
+
+	/**
+	 * @return a human-readable summary of the metrics of every command path that
+	 *         has been run, with one line for each path
+	 */
+	public String toText() {
+		StringBuilder text = new StringBuilder();
+		export(metrics -> {
+			for (Map.Entry<String, PathMetrics> entry : metrics.entrySet()) {
+				PathMetrics path = entry.getValue();
+				if (path.getInvocations() == 0) {
+					continue;
+				}
+				text.append(entry.getKey())
+					.append(": ").append(path.getInvocations()).append(" runs, ")
+					.append(path.getFailures(FailureCause.SYNTAX)).append(" syntax / ")
+					.append(path.getFailures(FailureCause.WRAPPER_SYNTAX)).append(" command / ")
+					.append(path.getFailures(FailureCause.UNHANDLED)).append(" unhandled failures, arguments ");
+				appendLatencies(text, path.getArgumentsNanos());
+				text.append(", execute ");
+				appendLatencies(text, path.getExecuteNanos());
+				text.append('\n');
+			}
+		});
+		return text.isEmpty() ? "No commands have been run\n" : text.toString();
+	}
+
+	private static void appendLatencies(StringBuilder text, LatencyHistogram histogram) {
+		text.append("p50 ").append(formatNanos(histogram.getValueAtPercentile(50)))
+			.append(" p99 ").append(formatNanos(histogram.getValueAtPercentile(99)))
+			.append(" max ").append(formatNanos(histogram.getMaxNanos()));
+	}
+
+	private static String formatNanos(long nanos) {
+		return String.format("%.3fms", nanos / 1_000_000.0);
+	}
+
+}
@@ -41,6 +41,28 @@ public class CommandPermission {
 		OP;
 	}
 
+	/**
+	 * How a CommandPermission is checked. This is worked out when the
+	 * CommandPermission is created, so that checking a permission doesn't need to
+	 * compare CommandPermissions
+	 */
+	enum Check {
+		/**
+		 * Every command sender has this permission
+		 */
+		NONE,
+
+		/**
+		 * The command sender must be an operator
+		 */
+		OP,
+
+		/**
+		 * The command sender must have the permission node
+		 */
+		NODE;
+	}
+
 	/**
 	 * Command can be run with no permissions
 	 */
@@ -61,11 +83,14 @@ public class CommandPermission {
 		return new CommandPermission(permission);
 	}
 
-	private boolean negated = false;
+	private final boolean negated;
+
+	// Permission nodes are interned, since the same node is often used by several commands and arguments
+	private final String permission;
 
-	private String permission;
+	private final PermissionNode permissionNode;
 
-	private PermissionNode permissionNode;
+	private final Check check;
 
 	/**
 	 * Represents either no permission or OP status in order to run a command
@@ -74,8 +99,10 @@ public class CommandPermission {
 	 *                       run this command
 	 */
 	private CommandPermission(PermissionNode permissionNode) {
+		this.negated = false;
 		this.permission = null;
 		this.permissionNode = permissionNode;
+		this.check = permissionNode == PermissionNode.OP ? Check.OP : Check.NONE;
 	}
 
 	/**
@@ -84,8 +111,18 @@ public class CommandPermission {
 	 * @param permission The permission node the sender requires to run this command
 	 */
 	private CommandPermission(String permission) {
-		this.permission = permission;
+		this.negated = false;
+		this.permission = permission == null ? null : permission.intern();
 		this.permissionNode = null;
+		this.check = permission == null ? Check.NONE : Check.NODE;
+	}
+
+	// Creates the negated version of a CommandPermission
+	private CommandPermission(CommandPermission permission, boolean negated) {
+		this.negated = negated;
+		this.permission = permission.permission;
+		this.permissionNode = permission.permissionNode;
+		this.check = permission.check;
 	}
 
 	@Override
@@ -129,17 +166,33 @@ public class CommandPermission {
 		return Optional.ofNullable(this.permission);
 	}
 
+	/**
+	 * @return the interned permission node, or null if this CommandPermission
+	 * doesn't have a permission node
+	 */
+	String getPermissionNodeOrNull() {
+		return this.permission;
+	}
+
 	PermissionNode getPermissionNode() {
 		return this.permissionNode;
 	}
 
+	Check getCheck() {
+		return this.check;
+	}
+
 	boolean isNegated() {
 		return this.negated;
 	}
 
+	/**
+	 * @return a negated copy of this CommandPermission. CommandPermissions are
+	 * immutable, so that negating {@link #NONE} or {@link #OP} doesn't affect
+	 * other commands that use them.
+	 */
 	CommandPermission negate() {
-		this.negated = true;
-		return this;
+		return new CommandPermission(this, true);
 	}
 
 }
@@ -233,4 +233,28 @@ extends ExecutableCommand<Impl, CommandSender>
 	 * Registers this command
 	 */
 	public abstract void register();
+
+	/**
+	 * Registers this command lazily. Only the command's name and aliases are
+	 * registered straight away, and its arguments, suggestions and help are
+	 * built the first time the command is parsed, suggested or sent to a player
+	 * who can use it. This makes registering many rarely used commands cheaper,
+	 * but problems with the command's arguments are only reported once it is
+	 * built, and the command doesn't have a help topic or appear in
+	 * {@link CommandAPI#getRegisteredCommands()} until then.
+	 * <p>
+	 * The command's permission and requirements are checked before it is built,
+	 * so players who can't use the command never cause it to be built.
+	 * <p>
+	 * If a command with the same name as this command or one of its aliases is
+	 * already registered, this command is registered normally instead, because
+	 * merging it into the existing command would build it anyway. On Bukkit,
+	 * lazy commands are only added once the server has loaded, so a command with
+	 * the same name that is registered after this command but before the server
+	 * has loaded is merged with it, which builds this command at that point.
+	 */
+	@SuppressWarnings("unchecked")
+	public void registerLazily() {
+		((CommandAPIHandler<?, CommandSender, ?>) CommandAPIHandler.getInstance()).registerLazily(meta, this::register);
+	}
 }
@@ -22,6 +22,7 @@ package dev.jorel.commandapi;
 
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
@@ -46,6 +47,23 @@ public class InternalConfig {
 	// Create a command_registration.json file
 	private final File dispatcherFile;
 
+	// Whether to record a startup report, and where to create a startup_report.json file
+	private final boolean startupReport;
+	private final File startupReportFile;
+
+	// Whether to record metrics for each command
+	private final boolean commandMetrics;
+
+	// How often suggestions are measured, and how long they can take before they are logged
+	private final int suggestionMetricsSampleRate;
+	private final long slowSuggestionThreshold;
+
+	// How long players' permission checks are cached for
+	private final long permissionCacheTimeout;
+
+	// The executor to run asynchronous command executors on
+	private final Executor asyncExecutor;
+
 	// List of plugins which should ignore proxied senders
 	private final List<String> skipSenderProxy;
 
@@ -64,6 +82,13 @@ public class InternalConfig {
 		this.useLatestNMSVersion = config.useLatestNMSVersion;
 		this.message_missingExecutorImplementation = config.missingExecutorImplementationMessage;
 		this.dispatcherFile = config.dispatcherFile;
+		this.startupReport = config.startupReport || config.startupReportFile != null;
+		this.startupReportFile = config.startupReportFile;
+		this.commandMetrics = config.commandMetrics;
+		this.suggestionMetricsSampleRate = config.suggestionMetricsSampleRate;
+		this.slowSuggestionThreshold = config.slowSuggestionThreshold;
+		this.permissionCacheTimeout = config.permissionCacheTimeout;
+		this.asyncExecutor = config.asyncExecutor;
 		this.skipSenderProxy = config.skipSenderProxy;
 		this.nbtContainerClass = config.nbtContainerClass;
 		this.nbtContainerConstructor = config.nbtContainerConstructor;
@@ -106,6 +131,63 @@ public class InternalConfig {
 		return this.dispatcherFile;
 	}
 
+	/**
+	 * @return The {@link File} which should be used to create a JSON representation
+	 *         of the CommandAPI's {@link StartupReport}
+	 */
+	public File getStartupReportFile() {
+		return this.startupReportFile;
+	}
+
+	/**
+	 * @return Whether the CommandAPI should record a {@link StartupReport}
+	 */
+	public boolean hasStartupReport() {
+		return this.startupReport;
+	}
+
+	/**
+	 * @return Whether the CommandAPI should record {@link CommandMetrics} for
+	 *         each command
+	 */
+	public boolean hasCommandMetrics() {
+		return this.commandMetrics;
+	}
+
+	/**
+	 * @return How many requests for suggestions there are for each one recorded
+	 *         in the {@link SuggestionMetrics}, or 0 or less if suggestions
+	 *         shouldn't be measured
+	 */
+	public int getSuggestionMetricsSampleRate() {
+		return this.suggestionMetricsSampleRate;
+	}
+
+	/**
+	 * @return The number of milliseconds a measured request for suggestions can
+	 *         take before it is logged, or 0 or less if slow suggestions shouldn't
+	 *         be logged
+	 */
+	public long getSlowSuggestionThreshold() {
+		return this.slowSuggestionThreshold;
+	}
+
+	/**
+	 * @return The number of milliseconds players' permission checks should be
+	 *         cached for, or 0 or less if they shouldn't be cached
+	 */
+	public long getPermissionCacheTimeout() {
+		return this.permissionCacheTimeout;
+	}
+
+	/**
+	 * @return The {@link Executor} to run asynchronous command executors on, or
+	 *         null if the default executor should be used
+	 */
+	public Executor getAsyncExecutor() {
+		return this.asyncExecutor;
+	}
+
 	/**
 	 * @param commandName A command where sender proxying should be skipped
 	 * @return Whether sender proxying should be skipped for a given command
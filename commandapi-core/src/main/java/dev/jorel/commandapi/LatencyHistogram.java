@@ -0,0 +1,113 @@
+package dev.jorel.commandapi;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations in nanoseconds. Like an HdrHistogram,
+ * durations are counted in buckets whose width grows with the size of the
+ * duration: every power of two is split into 4 buckets, so any recorded duration
+ * can be read back to within 25% of its true value, for any duration up to
+ * {@link Long#MAX_VALUE} nanoseconds, using a fixed 2KB of memory.
+ */
+public final class LatencyHistogram {
+
+	// Every power of two is split into 2^SUB_BUCKET_BITS buckets
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	LatencyHistogram() {
+	}
+
+	void record(long nanos) {
+		if (nanos < 0) {
+			// System.nanoTime() isn't guaranteed to be monotonic on every platform
+			nanos = 0;
+		}
+		counts.incrementAndGet(bucketOf(nanos));
+		count.increment();
+		totalNanos.add(nanos);
+		maxNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	private static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return ((highestBit - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+	}
+
+	// Returns the largest value that is counted in the given bucket
+	private static long highestValueIn(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+		long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+		return lowest + ((1L << shift) - 1);
+	}
+
+	/**
+	 * @return the number of durations recorded
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return the sum of every duration recorded, in nanoseconds
+	 */
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	/**
+	 * @return the longest duration recorded, in nanoseconds
+	 */
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * Finds the duration that the given percentage of recorded durations are
+	 * shorter than or equal to. The result is rounded up to the end of the bucket
+	 * it was counted in, so it may be up to 25% larger than the true duration.
+	 *
+	 * @param percentile a percentage between 0 and 100, for example {@code 99} for
+	 *                   the 99th percentile
+	 * @return the duration at the given percentile in nanoseconds, or 0 if no
+	 *         durations have been recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		// Counts are read one at a time while others may be recording, so use the counts that are read to find the total
+		long[] snapshot = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+
+		long target = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= target) {
+				return Math.min(highestValueIn(i), getMaxNanos());
+			}
+		}
+		return getMaxNanos();
+	}
+
+}
@@ -0,0 +1,132 @@
+package dev.jorel.commandapi;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+
+/**
+ * A placeholder for the literal node of a command registered with
+ * {@link ExecutableCommand#registerLazily()}. The node starts without any
+ * children or executor, and the command's real nodes are only built the first
+ * time Brigadier looks at this node's children or executor, for example when
+ * the command is parsed, suggested or sent to a player that can use it.
+ *
+ * @param <Source> the command source type
+ */
+class LazyLiteralCommandNode<Source> extends LiteralCommandNode<Source> {
+
+	/**
+	 * Builds the real nodes of a lazily registered command. This is shared by the
+	 * placeholders for the command's name, its aliases and their namespaced
+	 * versions, so the command is only built once.
+	 *
+	 * @param <Source> the command source type
+	 */
+	static class LazyCommand<Source> {
+		private final String commandName;
+		private final Runnable register;
+		private CommandNode<Source> nodes;
+
+		LazyCommand(String commandName, Runnable register) {
+			this.commandName = commandName;
+			this.register = register;
+		}
+
+		// Must be called while holding the CommandAPIHandler's registration lock
+		CommandNode<Source> getNodes(CommandAPIHandler<?, ?, Source> handler) {
+			if (nodes == null) {
+				nodes = handler.buildLazyCommand(commandName, register);
+			}
+			return nodes;
+		}
+	}
+
+	private final LazyCommand<Source> lazyCommand;
+	private final String realName;
+	private volatile boolean materialized = false;
+	private Command<Source> realCommand;
+
+	/**
+	 * @param literal     the literal of this node
+	 * @param realName    the name of the command or alias this node stands in
+	 *                    for. This is different to the literal for namespaced
+	 *                    versions of the command
+	 * @param requirement the requirement of the command's literal node
+	 * @param lazyCommand builds the command's real nodes
+	 */
+	LazyLiteralCommandNode(String literal, String realName, Predicate<Source> requirement, LazyCommand<Source> lazyCommand) {
+		super(literal, null, requirement, null, null, false);
+		this.realName = realName;
+		this.lazyCommand = lazyCommand;
+	}
+
+	/**
+	 * Creates a placeholder that materializes into the same command as this one,
+	 * but with a different literal
+	 *
+	 * @param literal the literal of the new node, such as
+	 *                {@code minecraft:command}
+	 * @return a copy of this placeholder with the given literal
+	 */
+	LazyLiteralCommandNode<Source> withLiteral(String literal) {
+		return new LazyLiteralCommandNode<>(literal, realName, getRequirement(), lazyCommand);
+	}
+
+	/**
+	 * @return true if the real nodes of this command have been built
+	 */
+	boolean isMaterialized() {
+		return materialized;
+	}
+
+	private void materialize() {
+		if (materialized) {
+			return;
+		}
+
+		@SuppressWarnings("unchecked")
+		CommandAPIHandler<?, ?, Source> handler = (CommandAPIHandler<?, ?, Source>) CommandAPIHandler.getInstance();
+		handler.runWithRegistrationLock(() -> {
+			if (materialized) {
+				return;
+			}
+			CommandNode<Source> realNode = lazyCommand.getNodes(handler).getChild(realName);
+			if (realNode != null) {
+				for (CommandNode<Source> child : realNode.getChildren()) {
+					addChild(child);
+				}
+				realCommand = realNode.getCommand();
+			}
+			materialized = true;
+		});
+	}
+
+	@Override
+	public Command<Source> getCommand() {
+		materialize();
+		return realCommand == null ? super.getCommand() : realCommand;
+	}
+
+	@Override
+	public Collection<CommandNode<Source>> getChildren() {
+		materialize();
+		return super.getChildren();
+	}
+
+	@Override
+	public CommandNode<Source> getChild(String name) {
+		materialize();
+		return super.getChild(name);
+	}
+
+	@Override
+	public Collection<? extends CommandNode<Source>> getRelevantNodes(StringReader input) {
+		materialize();
+		return super.getRelevantNodes(input);
+	}
+
+}
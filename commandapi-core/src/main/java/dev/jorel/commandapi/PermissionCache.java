@@ -0,0 +1,110 @@
+package dev.jorel.commandapi;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import dev.jorel.commandapi.commandsenders.AbstractPlayer;
+
+/**
+ * Caches the results of permission checks made by the CommandAPI for players.
+ * Permission checks are performed for every command node each time a player is
+ * sent the list of commands, parses a command or requests suggestions, so this
+ * avoids repeatedly asking the server (or a permissions plugin) for the same
+ * permission.
+ * <p>
+ * This cache is disabled unless a timeout has been set using
+ * {@link CommandAPIConfig#permissionCacheTimeout(long)}. A player's cached
+ * permissions are discarded once the timeout expires, when
+ * {@link CommandAPI#updateRequirements(Object)} is called for that player, or
+ * when {@link #invalidate(Object)} is called. Platforms may also discard
+ * cached permissions when they know a player's permissions could have changed,
+ * for example when a player leaves the server.
+ */
+public class PermissionCache {
+
+	// The permissions of a single player
+	private record PlayerPermissions(long createdNanos, Map<String, Boolean> decisions) {
+	}
+
+	private final long timeoutNanos;
+	private final Map<Object, PlayerPermissions> players = new WeakHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	PermissionCache(long timeoutMillis) {
+		this.timeoutNanos = timeoutMillis * 1_000_000L;
+	}
+
+	/**
+	 * @return true if permission checks are cached, false otherwise
+	 */
+	public boolean isEnabled() {
+		return timeoutNanos > 0;
+	}
+
+	boolean hasPermission(AbstractPlayer<?> player, String permission) {
+		final Object source = player.getSource();
+		final long now = System.nanoTime();
+
+		final PlayerPermissions permissions;
+		synchronized (players) {
+			PlayerPermissions cached = players.get(source);
+			if (cached == null || now - cached.createdNanos() > timeoutNanos) {
+				cached = new PlayerPermissions(now, new ConcurrentHashMap<>());
+				players.put(source, cached);
+			}
+			permissions = cached;
+		}
+
+		Boolean decision = permissions.decisions().get(permission);
+		if (decision != null) {
+			hits.increment();
+			return decision;
+		}
+
+		misses.increment();
+		boolean result = player.hasPermission(permission);
+		permissions.decisions().put(permission, result);
+		return result;
+	}
+
+	/**
+	 * Discards the cached permissions of a player, so that their permissions are
+	 * checked again the next time they are needed. This should be called if a
+	 * player's permissions change.
+	 *
+	 * @param player the player whose cached permissions should be discarded
+	 */
+	public void invalidate(Object player) {
+		synchronized (players) {
+			players.remove(player);
+		}
+	}
+
+	/**
+	 * Discards the cached permissions of every player
+	 */
+	public void invalidateAll() {
+		synchronized (players) {
+			players.clear();
+		}
+	}
+
+	/**
+	 * @return the number of permission checks that were answered by this cache
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of permission checks that were not cached, and had to
+	 *         be checked with the player
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+}
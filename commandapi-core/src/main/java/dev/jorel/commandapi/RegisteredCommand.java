@@ -52,7 +52,24 @@ public record RegisteredCommand(
 	/**
 	 * @return The {@link CommandPermission} required to run this command
 	 */
-	CommandPermission permission) {
+	CommandPermission permission,
+
+	/**
+	 * @return The indices in {@link #argsAsStr()} where each group of optional
+	 *         arguments starts. As well as with all of its arguments, this command
+	 *         can be run with only the arguments before any of these indices
+	 */
+	List<Integer> optionalArgumentIndices) {
+
+	/**
+	 * Creates a {@link RegisteredCommand} for a command without any optional
+	 * arguments
+	 */
+	public RegisteredCommand(String commandName, List<String> argsAsStr, Optional<String> shortDescription,
+		Optional<String> fullDescription, Optional<String[]> usageDescription, String[] aliases, CommandPermission permission) {
+		this(commandName, argsAsStr, shortDescription, fullDescription, usageDescription, aliases, permission, List.of());
+	}
+
 	// As https://stackoverflow.com/a/32083420 mentions, Optional's hashCode, equals, and toString method don't work if the
 	//  Optional wraps an array, like `Optional<String[]> usageDescription`, so we have to use the Arrays methods ourselves
 
@@ -62,7 +79,7 @@ public record RegisteredCommand(
 		int result = 1;
 		result = prime * result + Arrays.hashCode(aliases);
 		result = prime * result + Arrays.hashCode(usageDescription.orElse(null));
-		result = prime * result + Objects.hash(argsAsStr, commandName, fullDescription, permission, shortDescription);
+		result = prime * result + Objects.hash(argsAsStr, commandName, fullDescription, permission, shortDescription, optionalArgumentIndices);
 		return result;
 	}
 
@@ -77,14 +94,15 @@ public record RegisteredCommand(
 		RegisteredCommand other = (RegisteredCommand) obj;
 		return Arrays.equals(aliases, other.aliases) && Objects.equals(argsAsStr, other.argsAsStr) && Objects.equals(commandName, other.commandName)
 			&& Arrays.equals(usageDescription.orElse(null), other.usageDescription.orElse(null))
-			&& Objects.equals(fullDescription, other.fullDescription) && Objects.equals(permission, other.permission) && Objects.equals(shortDescription, other.shortDescription);
+			&& Objects.equals(fullDescription, other.fullDescription) && Objects.equals(permission, other.permission) && Objects.equals(shortDescription, other.shortDescription)
+			&& Objects.equals(optionalArgumentIndices, other.optionalArgumentIndices);
 	}
 
 	@Override
 	public String toString() {
 		return "RegisteredCommand [commandName=" + commandName + ", argsAsStr=" + argsAsStr + ", shortDescription=" + shortDescription + ", fullDescription=" + fullDescription
 			+ ", usageDescription=" + (usageDescription.isPresent() ? "Optional[" + Arrays.toString(usageDescription.get()) + "]" : "Optional.empty")
-			+ ", aliases=" + Arrays.toString(aliases) + ", permission=" + permission + "]";
+			+ ", aliases=" + Arrays.toString(aliases) + ", permission=" + permission + ", optionalArgumentIndices=" + optionalArgumentIndices + "]";
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,283 @@
+package dev.jorel.commandapi;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records how long the CommandAPI spends in each phase of command registration
+ * (for example, registering commands, writing the dispatcher file or reloading
+ * datapacks) and for each command. Where supported by the JVM, the number of
+ * bytes allocated by the registering thread is also recorded.
+ * <p>
+ * Phases can be nested inside each other. For example, the time spent in the
+ * {@link #WRITE_DISPATCHER_FILE} phase is also included in the
+ * {@link #REGISTER} phase of the command that caused it.
+ * <p>
+ * The report is disabled unless it has been enabled using
+ * {@link CommandAPIConfig#startupReport(boolean)} or
+ * {@link CommandAPIConfig#startupReportFile(java.io.File)}. While it is
+ * disabled, nothing is measured.
+ */
+public class StartupReport {
+
+	/**
+	 * Registering a command, including expanding multi literals and writing the
+	 * dispatcher file
+	 */
+	public static final String REGISTER = "register";
+
+	/**
+	 * Expanding MultiLiteralArguments into separate commands, including
+	 * registering them
+	 */
+	public static final String EXPAND_MULTI_LITERALS = "expandMultiLiterals";
+
+	/**
+	 * Writing the dispatcher file, if enabled
+	 */
+	public static final String WRITE_DISPATCHER_FILE = "writeDispatcherFile";
+
+	/**
+	 * Generating help topics for commands
+	 */
+	public static final String UPDATE_HELP = "updateHelp";
+
+	/**
+	 * Linking permissions to commands
+	 */
+	public static final String FIX_PERMISSIONS = "fixPermissions";
+
+	/**
+	 * Reloading datapacks
+	 */
+	public static final String RELOAD_DATAPACKS = "reloadDatapacks";
+
+	/**
+	 * Converting commands using the Converter, including registering them
+	 */
+	public static final String CONVERT = "convert";
+
+	/**
+	 * The timings of a phase or command
+	 *
+	 * @param count          the number of times this phase or command was measured
+	 * @param nanos          the total time spent, in nanoseconds
+	 * @param allocatedBytes the total number of bytes allocated, or -1 if the JVM
+	 *                       doesn't support measuring allocations
+	 */
+	public record Timing(long count, long nanos, long allocatedBytes) {
+	}
+
+	private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN;
+
+	static {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (threadBean instanceof com.sun.management.ThreadMXBean allocationBean
+			&& allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+			ALLOCATION_BEAN = allocationBean;
+		} else {
+			ALLOCATION_BEAN = null;
+		}
+	}
+
+	private final boolean enabled;
+	// Commands may be registered on several threads, so every access to these maps synchronizes on them
+	private final Map<String, Timing> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+	private final Map<String, Timing> commands = Collections.synchronizedMap(new LinkedHashMap<>());
+	// Phases are only nested within a single thread, so nesting is tracked for each thread separately
+	private final ThreadLocal<Map<String, Integer>> activePhases = ThreadLocal.withInitial(HashMap::new);
+	private final ThreadLocal<int[]> activeCommandMeasurements = ThreadLocal.withInitial(() -> new int[1]);
+	private final Measurement disabledMeasurement;
+
+	StartupReport(boolean enabled) {
+		this.enabled = enabled;
+		this.disabledMeasurement = enabled ? null : new Measurement();
+	}
+
+	/**
+	 * @return true if registration is being measured, false otherwise
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * A measurement of a single phase, which is recorded when it is closed
+	 */
+	public final class Measurement implements AutoCloseable {
+		private final String phase;
+		private final String commandName;
+		private final boolean nested;
+		private final boolean countsForCommand;
+		private final long startNanos;
+		private final long startAllocatedBytes;
+
+		// A measurement which doesn't record anything, used while the report is disabled
+		private Measurement() {
+			this.phase = null;
+			this.commandName = null;
+			this.nested = true;
+			this.countsForCommand = false;
+			this.startNanos = 0;
+			this.startAllocatedBytes = 0;
+		}
+
+		private Measurement(String phase, String commandName) {
+			this.phase = phase;
+			this.commandName = commandName;
+			// A phase that is nested inside itself (e.g. registering MultiLiteralArgument
+			//  expansions) has already been counted by the outer measurement
+			this.nested = activePhases.get().merge(phase, 1, Integer::sum) > 1;
+			// Likewise, only the outermost measurement for a command (e.g. converting a
+			//  command, rather than registering it) is counted towards that command
+			this.countsForCommand = commandName != null && activeCommandMeasurements.get()[0]++ == 0;
+			this.startAllocatedBytes = getAllocatedBytes();
+			this.startNanos = System.nanoTime();
+		}
+
+		@Override
+		public void close() {
+			if (phase == null) {
+				return;
+			}
+
+			final long nanos = System.nanoTime() - startNanos;
+			final long allocatedBytes = ALLOCATION_BEAN == null ? -1 : getAllocatedBytes() - startAllocatedBytes;
+			activePhases.get().merge(phase, -1, Integer::sum);
+			if (commandName != null) {
+				activeCommandMeasurements.get()[0]--;
+			}
+
+			if (!nested) {
+				phases.merge(phase, new Timing(1, nanos, allocatedBytes), StartupReport::add);
+			}
+			if (countsForCommand) {
+				commands.merge(commandName, new Timing(1, nanos, allocatedBytes), StartupReport::add);
+			}
+		}
+	}
+
+	/**
+	 * Starts measuring a phase. This should be used in a try-with-resources
+	 * statement, so that the measurement is recorded when the phase finishes.
+	 *
+	 * @param phase       the name of the phase, for example
+	 *                    {@link StartupReport#REGISTER}
+	 * @param commandName the name of the command this phase is for, or null if it
+	 *                    isn't for a specific command
+	 * @return a {@link Measurement} which records the phase when closed, or does
+	 *         nothing if the report is disabled
+	 */
+	public Measurement measure(String phase, String commandName) {
+		return enabled ? new Measurement(phase, commandName) : disabledMeasurement;
+	}
+
+	/**
+	 * @return an unmodifiable copy of the map from the name of each phase to its
+	 *         timings, in the order each phase was first measured
+	 */
+	public Map<String, Timing> getPhases() {
+		return copyOf(phases);
+	}
+
+	/**
+	 * @return an unmodifiable copy of the map from the name of each command to the
+	 *         total time spent registering (or converting) that command, in the
+	 *         order each command was first measured
+	 */
+	public Map<String, Timing> getCommands() {
+		return copyOf(commands);
+	}
+
+	private static Map<String, Timing> copyOf(Map<String, Timing> timings) {
+		synchronized (timings) {
+			return Collections.unmodifiableMap(new LinkedHashMap<>(timings));
+		}
+	}
+
+	/**
+	 * Removes the timings of commands that have been unregistered
+	 *
+	 * @param commandNames the lowercase names of the commands to remove
+	 */
+	void removeCommands(Set<String> commandNames) {
+		synchronized (commands) {
+			commands.keySet().removeIf(commandName -> commandNames.contains(commandName.toLowerCase()));
+		}
+	}
+
+	/**
+	 * @return a JSON representation of this report
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder();
+		json.append("{\n");
+		json.append("  \"phases\": ");
+		appendTimings(json, getPhases());
+		json.append(",\n");
+		json.append("  \"commands\": ");
+		appendTimings(json, getCommands());
+		json.append("\n}\n");
+		return json.toString();
+	}
+
+	private static void appendTimings(StringBuilder json, Map<String, Timing> timings) {
+		if (timings.isEmpty()) {
+			json.append("{}");
+			return;
+		}
+
+		json.append("{");
+		boolean first = true;
+		for (Map.Entry<String, Timing> entry : timings.entrySet()) {
+			json.append(first ? "\n" : ",\n");
+			first = false;
+
+			Timing timing = entry.getValue();
+			json.append("    ");
+			appendString(json, entry.getKey());
+			json.append(": { \"count\": ").append(timing.count())
+				.append(", \"nanos\": ").append(timing.nanos())
+				.append(", \"allocatedBytes\": ").append(timing.allocatedBytes())
+				.append(" }");
+		}
+		json.append("\n  }");
+	}
+
+	private static void appendString(StringBuilder json, String string) {
+		json.append('"');
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			switch (c) {
+				case '"' -> json.append("\\\"");
+				case '\\' -> json.append("\\\\");
+				case '\n' -> json.append("\\n");
+				case '\r' -> json.append("\\r");
+				case '\t' -> json.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						json.append(String.format("\\u%04x", (int) c));
+					} else {
+						json.append(c);
+					}
+				}
+			}
+		}
+		json.append('"');
+	}
+
+	private static Timing add(Timing a, Timing b) {
+		long allocatedBytes = a.allocatedBytes() < 0 || b.allocatedBytes() < 0 ? -1 : a.allocatedBytes() + b.allocatedBytes();
+		return new Timing(a.count() + b.count(), a.nanos() + b.nanos(), allocatedBytes);
+	}
+
+	private static long getAllocatedBytes() {
+		return ALLOCATION_BEAN == null ? -1 : ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+}
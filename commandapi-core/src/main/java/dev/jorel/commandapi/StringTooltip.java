@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
@@ -37,7 +38,9 @@ import com.mojang.brigadier.Message;
 public class StringTooltip implements IStringTooltip {
 
 	private final String suggestion;
-	private final Message tooltip;
+	private Message tooltip;
+	// Creates the tooltip the first time it is needed, and is cleared afterwards
+	private volatile Supplier<Message> tooltipSupplier;
 
 	/**
 	 * Constructs a StringTooltip with a suggestion and a string tooltip
@@ -63,6 +66,20 @@ public class StringTooltip implements IStringTooltip {
 		return tooltip == null ? none(suggestion) : new StringTooltip(suggestion, tooltip);
 	}
 
+	/**
+	 * Constructs a StringTooltip with a suggestion and a formatted tooltip which is only created if the suggestion is
+	 * shown to the user. The tooltip is created the first time it is needed, but may be created more than once if it
+	 * is requested from several threads at the same time.
+	 *
+	 * @param suggestion the suggestion to provide to the user
+	 * @param tooltip    a function which creates the formatted tooltip to show to the user when they hover over the
+	 *                   suggestion
+	 * @return a StringTooltip representing this suggestion and tooltip
+	 */
+	public static StringTooltip ofLazyMessage(String suggestion, Supplier<Message> tooltip) {
+		return tooltip == null ? none(suggestion) : new StringTooltip(suggestion, tooltip);
+	}
+
 	/**
 	 * Constructs a StringTooltip with a suggestion and no tooltip
 	 * 
@@ -70,7 +87,7 @@ public class StringTooltip implements IStringTooltip {
 	 * @return a StringTooltip representing this suggestion
 	 */
 	public static StringTooltip none(String suggestion) {
-		return new StringTooltip(suggestion, null);
+		return new StringTooltip(suggestion, (Message) null);
 	}
 	
 	/**
@@ -195,6 +212,11 @@ public class StringTooltip implements IStringTooltip {
 		this.suggestion = suggestion;
 		this.tooltip = tooltip;
 	}
+
+	protected StringTooltip(String suggestion, Supplier<Message> tooltip) {
+		this.suggestion = suggestion;
+		this.tooltipSupplier = tooltip;
+	}
 	
 	/**
 	 * Returns the current suggestion that this class holds
@@ -209,6 +231,13 @@ public class StringTooltip implements IStringTooltip {
 	 * @return the current tooltip text that this class holds
 	 */
 	public Message getTooltip() {
+		Supplier<Message> supplier = this.tooltipSupplier;
+		if (supplier != null) {
+			// The tooltip is written before the supplier is cleared, so other threads that see a
+			// cleared supplier also see the tooltip
+			this.tooltip = supplier.get();
+			this.tooltipSupplier = null;
+		}
 		return this.tooltip;
 	}
 	
@@ -0,0 +1,258 @@
+package dev.jorel.commandapi;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.mojang.brigadier.context.StringRange;
+import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.suggestion.Suggestions;
+
+/**
+ * Records how long the CommandAPI's suggestion providers take, and how many
+ * suggestions they produce, for every argument of every command path. For
+ * example, metrics for the {@code <item>} argument of {@code /give <player> <item>}
+ * are recorded under {@code /give <player> <item>}. Aliases are recorded
+ * separately, as they are typed.
+ * <p>
+ * Suggestions are requested every time a player types part of a command, so
+ * only one in every {@link CommandAPIConfig#suggestionMetricsSampleRate(int)}
+ * requests is measured. Sampled requests that take longer than
+ * {@link CommandAPIConfig#slowSuggestionThreshold(long)} are logged with the
+ * command path and the plugin that registered the command.
+ * <p>
+ * Only suggestions provided by the CommandAPI (for example, using
+ * {@code replaceSuggestions} or {@code includeSuggestions}) are measured.
+ * Suggestions provided by Minecraft are left untouched, since some of them
+ * are handled by the client rather than the server.
+ */
+public class SuggestionMetrics {
+
+	/**
+	 * Receives the metrics of every argument, for example to send them to a
+	 * monitoring system
+	 */
+	@FunctionalInterface
+	public interface Exporter {
+		/**
+		 * @param metrics an unmodifiable map from the path to each argument, such as
+		 *                {@code /give <player> <item>}, to its metrics, sorted by
+		 *                path
+		 */
+		void export(Map<String, ArgumentMetrics> metrics);
+	}
+
+	/**
+	 * The suggestion metrics of a single argument
+	 */
+	public static final class ArgumentMetrics {
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder suggestionsProduced = new LongAdder();
+		private final LongAdder suggestionsMatching = new LongAdder();
+		private final LatencyHistogram completionNanos = new LatencyHistogram();
+		private final LatencyHistogram previousArgumentsNanos = new LatencyHistogram();
+
+		private ArgumentMetrics() {
+		}
+
+		/**
+		 * @return the number of sampled requests for suggestions for this argument
+		 */
+		public long getCalls() {
+			return completionNanos.getCount();
+		}
+
+		/**
+		 * @return the number of sampled requests that failed with an exception
+		 */
+		public long getFailures() {
+			return failures.sum();
+		}
+
+		/**
+		 * @return the total number of suggestions produced by the sampled requests
+		 */
+		public long getSuggestionsProduced() {
+			return suggestionsProduced.sum();
+		}
+
+		/**
+		 * @return the total number of suggestions produced by the sampled requests
+		 *         that start with what the player had typed. Suggestions that don't
+		 *         match are still sent to the player, but are unlikely to be used
+		 */
+		public long getSuggestionsMatching() {
+			return suggestionsMatching.sum();
+		}
+
+		/**
+		 * @return the time from requesting suggestions to the suggestions being
+		 *         completed, for each sampled request. This includes the time spent
+		 *         waiting for asynchronous suggestions
+		 */
+		public LatencyHistogram getCompletionNanos() {
+			return completionNanos;
+		}
+
+		/**
+		 * @return the time spent parsing the arguments before this argument, which
+		 *         are passed to its suggestions as
+		 *         {@link SuggestionInfo#previousArgs()}, for each sampled request
+		 */
+		public LatencyHistogram getPreviousArgumentsNanos() {
+			return previousArgumentsNanos;
+		}
+	}
+
+	private final int sampleRate;
+	private final long slowThresholdNanos;
+	private final Map<String, ArgumentMetrics> arguments = new ConcurrentHashMap<>();
+	private final Map<String, String> owningPlugins = new ConcurrentHashMap<>(); // The plugin that registered each command and alias
+
+	SuggestionMetrics(int sampleRate, long slowThresholdMillis) {
+		this.sampleRate = sampleRate;
+		this.slowThresholdNanos = slowThresholdMillis * 1_000_000L;
+	}
+
+	/**
+	 * @return true if suggestion metrics are recorded, false otherwise
+	 */
+	public boolean isEnabled() {
+		return sampleRate > 0;
+	}
+
+	// Decides whether a request for suggestions should be measured
+	boolean shouldSample() {
+		return sampleRate == 1 || (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) == 0);
+	}
+
+	// Returns the metrics of an argument, creating them if needed
+	ArgumentMetrics forArgument(String argumentPath) {
+		return arguments.computeIfAbsent(argumentPath, path -> new ArgumentMetrics());
+	}
+
+	void recordPreviousArguments(ArgumentMetrics metrics, long nanos) {
+		metrics.previousArgumentsNanos.record(nanos);
+	}
+
+	/**
+	 * Remembers the plugin that registered a command or alias, so it can be named
+	 * when the command's suggestions are slow
+	 *
+	 * @param commandName the name or alias of the command
+	 * @param pluginName  the name of the plugin that registered it, or null if it
+	 *                    isn't known
+	 */
+	void setOwningPlugin(String commandName, String pluginName) {
+		if (pluginName != null) {
+			owningPlugins.put(commandName.toLowerCase(Locale.ROOT), pluginName);
+		}
+	}
+
+	/**
+	 * @param commandName the name or alias of a command, as it was typed. This may
+	 *                    include a namespace, such as {@code myplugin:mycommand}
+	 * @return the name of the plugin that registered the command, or null if it
+	 *         isn't known
+	 */
+	public String getOwningPlugin(String commandName) {
+		if (commandName == null) {
+			return null;
+		}
+		int namespaceEnd = commandName.indexOf(':');
+		return owningPlugins.get((namespaceEnd == -1 ? commandName : commandName.substring(namespaceEnd + 1)).toLowerCase(Locale.ROOT));
+	}
+
+	void recordCompletion(ArgumentMetrics metrics, String argumentPath, String commandName, String input,
+			Suggestions suggestions, Throwable failure, long nanos) {
+		metrics.completionNanos.record(nanos);
+		if (failure != null) {
+			metrics.failures.increment();
+		} else if (suggestions != null) {
+			metrics.suggestionsProduced.add(suggestions.getList().size());
+			metrics.suggestionsMatching.add(countMatching(input, suggestions));
+		}
+
+		if (slowThresholdNanos > 0 && nanos >= slowThresholdNanos) {
+			String owningPlugin = getOwningPlugin(commandName);
+			CommandAPI.logWarning("Suggestions for " + argumentPath + " (registered by "
+				+ (owningPlugin == null ? "an unknown plugin" : owningPlugin) + ") took "
+				+ formatNanos(nanos) + " to complete");
+		}
+	}
+
+	// Counts the suggestions that start with what was typed in the range they replace
+	private static int countMatching(String input, Suggestions suggestions) {
+		int matching = 0;
+		for (Suggestion suggestion : suggestions.getList()) {
+			StringRange range = suggestion.getRange();
+			int start = Math.min(range.getStart(), input.length());
+			int end = Math.min(range.getEnd(), input.length());
+			if (suggestion.getText().toLowerCase(Locale.ROOT).startsWith(input.substring(start, end).toLowerCase(Locale.ROOT))) {
+				matching++;
+			}
+		}
+		return matching;
+	}
+
+	/**
+	 * Forgets the metrics of commands that have been unregistered
+	 *
+	 * @param commandNames the lowercase names of the commands to remove
+	 */
+	void removeCommands(Set<String> commandNames) {
+		arguments.keySet().removeIf(path -> {
+			int end = path.indexOf(' ');
+			return commandNames.contains((end == -1 ? path.substring(1) : path.substring(1, end)).toLowerCase());
+		});
+		owningPlugins.keySet().removeAll(commandNames);
+	}
+
+	/**
+	 * Gives the metrics of every argument to an exporter
+	 *
+	 * @param exporter the exporter to give the metrics to
+	 */
+	public void export(Exporter exporter) {
+		exporter.export(Collections.unmodifiableMap(new TreeMap<>(arguments)));
+	}
+
+	/**
+	 * @return a human-readable summary of the metrics of every argument that has
+	 *         been sampled, with one line for each argument
+	 */
+	public String toText() {
+		StringBuilder text = new StringBuilder();
+		export(metrics -> {
+			for (Map.Entry<String, ArgumentMetrics> entry : metrics.entrySet()) {
+				ArgumentMetrics argument = entry.getValue();
+				if (argument.getCalls() == 0) {
+					continue;
+				}
+				LatencyHistogram completion = argument.getCompletionNanos();
+				text.append(entry.getKey())
+					.append(": ").append(argument.getCalls()).append(" sampled, ")
+					.append(argument.getFailures()).append(" failed, ")
+					.append(argument.getSuggestionsProduced()).append(" suggested / ")
+					.append(argument.getSuggestionsMatching()).append(" matching, completion p50 ")
+					.append(formatNanos(completion.getValueAtPercentile(50)))
+					.append(" p99 ").append(formatNanos(completion.getValueAtPercentile(99)))
+					.append(" max ").append(formatNanos(completion.getMaxNanos()))
+					.append(", previous arguments p99 ")
+					.append(formatNanos(argument.getPreviousArgumentsNanos().getValueAtPercentile(99)))
+					.append('\n');
+			}
+		});
+		return text.isEmpty() ? "No suggestions have been sampled\n" : text.toString();
+	}
+
+	private static String formatNanos(long nanos) {
+		return String.format("%.3fms", nanos / 1_000_000.0);
+	}
+
+}
@@ -27,6 +27,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -41,13 +42,20 @@ import java.util.stream.Stream;
 public class Tooltip<S> {
 
 	private final S object;
-	private final Message tooltipMessage;
+	private Message tooltipMessage;
+	// Creates the tooltip the first time it is needed, and is cleared afterwards
+	private volatile Supplier<Message> tooltipSupplier;
 
 	protected Tooltip(S object, Message tooltip) {
 		this.object = object;
 		this.tooltipMessage = tooltip;
 	}
 
+	protected Tooltip(S object, Supplier<Message> tooltip) {
+		this.object = object;
+		this.tooltipSupplier = tooltip;
+	}
+
 	/**
 	 * Gets the suggestion for this object
 	 * @return the suggestion for this object
@@ -61,6 +69,13 @@ public class Tooltip<S> {
 	 * @return the formatted tooltip for this object
 	 */
 	public Message getTooltip() {
+		Supplier<Message> supplier = tooltipSupplier;
+		if (supplier != null) {
+			// The tooltip is written before the supplier is cleared, so other threads that see a
+			// cleared supplier also see the tooltip
+			tooltipMessage = supplier.get();
+			tooltipSupplier = null;
+		}
 		return tooltipMessage;
 	}
 
@@ -90,6 +105,21 @@ public class Tooltip<S> {
 		return new Tooltip<>(object, tooltip);
 	}
 
+	/**
+	 * Constructs a <code>Tooltip&lt;S&gt;</code> with a suggestion and a tooltip which is only created if the
+	 * suggestion is shown to the user. The tooltip is created the first time it is needed, but may be created
+	 * more than once if it is requested from several threads at the same time.
+	 *
+	 * @param <S> the object that the argument suggestions use
+	 * @param object the suggestion to provide to the user
+	 * @param tooltip    a function which creates the tooltip to show to the user when they hover over the
+	 *                   suggestion
+	 * @return a <code>Tooltip&lt;S&gt;</code> representing this suggestion and tooltip
+	 */
+	public static <S> Tooltip<S> ofLazyMessage(S object, Supplier<Message> tooltip) {
+		return tooltip == null ? none(object) : new Tooltip<>(object, tooltip);
+	}
+
 	/**
 	 * Constructs a <code>Tooltip&lt;S&gt;</code> with a suggestion and no tooltip
 	 * 
@@ -98,7 +128,7 @@ public class Tooltip<S> {
 	 * @return a <code>Tooltip&lt;S&gt;</code> representing this suggestion
 	 */
 	public static <S> Tooltip<S> none(S object) {
-		return new Tooltip<>(object, null);
+		return new Tooltip<>(object, (Message) null);
 	}
 
 	/**
@@ -259,7 +289,10 @@ public class Tooltip<S> {
 	 * @return the mapping function from this tooltip into a StringTooltip
 	 */
 	public static <S> Function<Tooltip<S>, StringTooltip> build(Function<S, String> mapper) {
-		return t -> StringTooltip.ofMessage(mapper.apply(t.object), t.tooltipMessage);
+		// Lazy tooltips stay lazy, so they're only created for suggestions that are shown to the user
+		return t -> t.tooltipSupplier == null
+			? StringTooltip.ofMessage(mapper.apply(t.object), t.tooltipMessage)
+			: StringTooltip.ofLazyMessage(mapper.apply(t.object), t::getTooltip);
 	}
 
 	/**
@@ -0,0 +1,53 @@
+package dev.jorel.commandapi.executors;
+
+import java.util.concurrent.CompletableFuture;
+
+import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.commandsenders.AbstractCommandSender;
+import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
+
+/**
+ * The interface for asynchronous command executors. These executors are run
+ * on the CommandAPI's asynchronous executor (see
+ * {@link dev.jorel.commandapi.CommandAPIConfig#asyncExecutor(java.util.concurrent.Executor)})
+ * instead of the thread the command was executed on, so they can perform slow
+ * work (such as database queries or HTTP requests) without blocking the
+ * server. The command is treated as successful as soon as it has been
+ * scheduled.
+ * <p>
+ * The {@link ExecutionInfo} given to an asynchronous executor contains a copy
+ * of the command's arguments. Work that must be done on the server's thread
+ * (for example, modifying the world) should be scheduled using
+ * {@link dev.jorel.commandapi.CommandAPI#runSync(Object, Runnable)}. If this
+ * executor throws a {@link WrapperCommandSyntaxException}, or the returned
+ * future completes with one, its message is sent to the command sender as a
+ * command failure.
+ *
+ * @param <CommandSender> The CommandSender for this executor
+ * @param <WrapperType> The AbstractCommandSender that wraps the CommandSender
+ */
+public interface AsyncExecutor<CommandSender, WrapperType
+/// @cond DOX
+extends AbstractCommandSender<? extends CommandSender>
+/// @endcond
+> extends NormalExecutor<CommandSender, WrapperType> {
+
+	/**
+	 * Schedules this executor to run asynchronously.
+	 * @param info The ExecutionInfo for this command
+	 */
+	@Override
+	default void run(ExecutionInfo<CommandSender, WrapperType> info) {
+		CommandAPIHandler.getInstance().executeAsync(this, info);
+	}
+
+	/**
+	 * Executes the command asynchronously.
+	 * @param info The ExecutionInfo for this command
+	 * @return a future which completes when this command has finished, or null if
+	 * this command finished when this method returned
+	 * @throws WrapperCommandSyntaxException if an error occurs during the execution of this command
+	 */
+	CompletableFuture<?> runAsync(ExecutionInfo<CommandSender, WrapperType> info) throws WrapperCommandSyntaxException;
+
+}
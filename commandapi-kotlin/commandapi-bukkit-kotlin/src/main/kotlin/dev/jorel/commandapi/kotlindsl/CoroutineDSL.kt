@@ -0,0 +1,167 @@
+package dev.jorel.commandapi.kotlindsl
+
+import dev.jorel.commandapi.BukkitExecutable
+import dev.jorel.commandapi.CommandAPI
+import dev.jorel.commandapi.CommandAPIBukkit
+import dev.jorel.commandapi.IStringTooltip
+import dev.jorel.commandapi.SuggestionInfo
+import dev.jorel.commandapi.arguments.ArgumentSuggestions
+import dev.jorel.commandapi.executors.AsyncCommandExecutor
+import dev.jorel.commandapi.executors.AsyncPlayerCommandExecutor
+import dev.jorel.commandapi.executors.CommandArguments
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineName
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.cancelChildren
+import kotlinx.coroutines.future.asCompletableFuture
+import kotlinx.coroutines.future.future
+import org.bukkit.Bukkit
+import org.bukkit.command.CommandSender
+import org.bukkit.entity.Player
+import org.bukkit.event.EventHandler
+import org.bukkit.event.EventPriority
+import org.bukkit.event.HandlerList
+import org.bukkit.event.Listener
+import org.bukkit.event.player.PlayerQuitEvent
+import org.bukkit.event.server.PluginDisableEvent
+import org.bukkit.plugin.Plugin
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.coroutines.CoroutineContext
+
+/**
+ * The [CoroutineScope] that suspending executors and suggestions are run in.
+ *
+ * Suspending executors and suggestions start on [io], a bounded dispatcher for blocking work. Code which uses the
+ * Bukkit API can switch to the thread that owns a command sender (the main thread, or the sender's region on Folia)
+ * using `withContext(CommandAPICoroutines.sync(sender))`.
+ *
+ * A player's coroutines are cancelled when they leave the server, and a player's suggestions are cancelled when they
+ * request newer suggestions. Every coroutine is cancelled when the plugin that loaded the CommandAPI is disabled.
+ */
+object CommandAPICoroutines {
+
+	private val rootJob = SupervisorJob()
+
+	/**
+	 * The scope that every suspending executor and suggestion is a child of
+	 */
+	val scope: CoroutineScope = CoroutineScope(rootJob + CoroutineName("CommandAPI"))
+
+	/**
+	 * A dispatcher for blocking work, which shares threads with [Dispatchers.IO] but uses at most 32 of them at once
+	 */
+	@OptIn(ExperimentalCoroutinesApi::class)
+	val io: CoroutineDispatcher = Dispatchers.IO.limitedParallelism(32)
+
+	private val playerJobs = ConcurrentHashMap<Player, Job>()
+	private val suggestionJobs = ConcurrentHashMap<CommandSender, Job>()
+
+	// The plugin that the PlayerQuitEvent listener is registered for
+	@Volatile
+	private var listenerPlugin: Plugin? = null
+
+	/**
+	 * Returns a dispatcher that runs coroutines on the thread that owns [sender]. See [CommandAPI.runSync].
+	 */
+	fun sync(sender: CommandSender): CoroutineDispatcher = SyncDispatcher(sender)
+
+	private class SyncDispatcher(private val sender: CommandSender) : CoroutineDispatcher() {
+		override fun dispatch(context: CoroutineContext, block: Runnable) {
+			CommandAPI.runSync(sender, block).whenComplete { _, exception ->
+				// The task couldn't be scheduled, so the coroutine can never continue
+				if (exception != null) context.cancel(CancellationException("Could not schedule task", exception))
+			}
+		}
+	}
+
+	/**
+	 * Cancels every running coroutine started for [player]
+	 */
+	fun cancel(player: Player) {
+		playerJobs.remove(player)?.cancel()
+		suggestionJobs.remove(player)?.cancel()
+	}
+
+	/**
+	 * Cancels every running coroutine. New coroutines can still be started afterwards.
+	 */
+	fun cancelAll() {
+		playerJobs.clear()
+		suggestionJobs.clear()
+		rootJob.cancelChildren()
+	}
+
+	// Players get their own job, so their coroutines can be cancelled when they leave
+	private fun parentJob(sender: CommandSender): Job = when (sender) {
+		is Player -> playerJobs.computeIfAbsent(sender) { SupervisorJob(rootJob) }
+		else -> rootJob
+	}
+
+	internal fun execute(sender: CommandSender, block: suspend CoroutineScope.() -> Unit): CompletableFuture<Unit> {
+		registerListener(sender)
+		// We're already running asynchronously, so there's no need to dispatch to another thread straight away
+		return scope.future(parentJob(sender) + io, CoroutineStart.UNDISPATCHED, block)
+	}
+
+	internal fun <T> suggest(sender: CommandSender, block: suspend CoroutineScope.() -> T): CompletableFuture<T> {
+		registerListener(sender)
+		val deferred = scope.async(parentJob(sender) + io, block = block)
+
+		// Newer suggestions replace older ones, so the older ones don't need to finish
+		suggestionJobs.put(sender, deferred)?.cancel()
+		deferred.invokeOnCompletion { suggestionJobs.remove(sender, deferred) }
+		return deferred.asCompletableFuture()
+	}
+
+	private fun registerListener(sender: CommandSender) {
+		val plugin = CommandAPIBukkit.getConfiguration().plugin
+		if (listenerPlugin !== plugin) {
+			// Plugins can't register listeners while they're loading, so this is done the first time it's needed
+			CommandAPI.runSync(sender) {
+				if (listenerPlugin !== plugin) {
+					Bukkit.getPluginManager().registerEvents(object : Listener {
+						@EventHandler(priority = EventPriority.MONITOR)
+						fun onPlayerQuit(event: PlayerQuitEvent) = cancel(event.player)
+
+						@EventHandler(priority = EventPriority.MONITOR)
+						fun onPluginDisable(event: PluginDisableEvent) {
+							if (event.plugin == plugin) {
+								HandlerList.unregisterAll(this)
+								listenerPlugin = null
+								cancelAll()
+							}
+						}
+					}, plugin)
+					listenerPlugin = plugin
+				}
+			}
+		}
+	}
+}
+
+// Suspending executors for CommandAPICommand, CommandTree and ArgumentTree. These are run asynchronously, see AsyncExecutor
+
+fun BukkitExecutable<*>.anyExecutorSuspend(executor: suspend CoroutineScope.(CommandSender, CommandArguments) -> Unit): BukkitExecutable<*> = executesAsync(AsyncCommandExecutor { sender, args ->
+	CommandAPICoroutines.execute(sender) { executor(sender, args) }
+})
+fun BukkitExecutable<*>.playerExecutorSuspend(executor: suspend CoroutineScope.(Player, CommandArguments) -> Unit): BukkitExecutable<*> = executesPlayerAsync(AsyncPlayerCommandExecutor { sender, args ->
+	CommandAPICoroutines.execute(sender) { executor(sender, args) }
+})
+
+// Suspending suggestions
+
+fun suggestionsSuspend(suggestions: suspend CoroutineScope.(SuggestionInfo<CommandSender>) -> Array<String>): ArgumentSuggestions<CommandSender> = ArgumentSuggestions.stringsAsync { info ->
+	CommandAPICoroutines.suggest(info.sender()) { suggestions(info) }
+}
+fun suggestionsWithTooltipsSuspend(suggestions: suspend CoroutineScope.(SuggestionInfo<CommandSender>) -> Array<IStringTooltip>): ArgumentSuggestions<CommandSender> = ArgumentSuggestions.stringsWithTooltipsAsync { info ->
+	CommandAPICoroutines.suggest(info.sender()) { suggestions(info) }
+}
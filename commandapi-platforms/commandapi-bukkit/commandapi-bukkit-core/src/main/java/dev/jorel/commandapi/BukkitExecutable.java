@@ -5,6 +5,8 @@ import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 import dev.jorel.commandapi.executors.*;
 import org.bukkit.command.CommandSender;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface BukkitExecutable<Impl
 /// @cond DOX
 extends BukkitExecutable<Impl>
@@ -130,6 +132,37 @@ extends BukkitExecutable<Impl>
 		return instance();
 	}
 
+	/**
+	 * Adds an asynchronous executor to the current command builder. The executor
+	 * is run on the CommandAPI's asynchronous executor, so it must not modify the
+	 * world directly. Use {@link CommandAPI#runSync(Object, Runnable)} to run code
+	 * on the server's thread instead.
+	 *
+	 * @param executor A lambda of type <code>(CommandSender, CommandArguments) -&gt; CompletableFuture</code> that will be executed asynchronously when the command is run
+	 * @param types    A list of executor types to use this executes method for.
+	 * @return this command builder
+	 */
+	default Impl executesAsync(AsyncCommandExecutor executor, ExecutorType... types) {
+		if (types == null || types.length == 0) {
+			getExecutor().addNormalExecutor(executor);
+		} else {
+			for (ExecutorType type : types) {
+				getExecutor().addNormalExecutor(new AsyncCommandExecutor() {
+
+					@Override
+					public CompletableFuture<?> run(CommandSender sender, CommandArguments args) throws WrapperCommandSyntaxException {
+						return executor.run(sender, args);
+					}
+
+					@Override
+					public ExecutorType getType() {
+						return type;
+					}
+				});
+			}
+		}
+		return instance();
+	}
 
 	// Player command executor
 
@@ -177,6 +210,20 @@ extends BukkitExecutable<Impl>
 		return instance();
 	}
 
+	/**
+	 * Adds an asynchronous executor to the current command builder. The executor
+	 * is run on the CommandAPI's asynchronous executor, so it must not modify the
+	 * world directly. Use {@link CommandAPI#runSync(Object, Runnable)} to run code
+	 * on the server's thread instead.
+	 *
+	 * @param executor A lambda of type <code>(Player, CommandArguments) -&gt; CompletableFuture</code> that will be executed asynchronously when the command is run
+	 * @return this command builder
+	 */
+	default Impl executesPlayerAsync(AsyncPlayerCommandExecutor executor) {
+		getExecutor().addNormalExecutor(executor);
+		return instance();
+	}
+
 	// Entity command executor
 
 	/**
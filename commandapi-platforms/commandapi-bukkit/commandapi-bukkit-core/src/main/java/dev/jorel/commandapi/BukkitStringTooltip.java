@@ -21,7 +21,8 @@ public class BukkitStringTooltip extends StringTooltip {
 	 * @return a StringTooltip representing this suggestion and tooltip
 	 */
 	public static StringTooltip ofBaseComponents(String suggestion, BaseComponent... tooltip) {
-		return ofMessage(suggestion, BukkitTooltip.messageFromBaseComponents(tooltip));
+		// Converting the tooltip is expensive, so it's only done if the suggestion is shown to the user
+		return tooltip == null ? none(suggestion) : ofLazyMessage(suggestion, () -> BukkitTooltip.cachedMessageFromBaseComponents(tooltip));
 	}
 
 	/**
@@ -34,7 +35,8 @@ public class BukkitStringTooltip extends StringTooltip {
 	 */
 
 	public static StringTooltip ofAdventureComponent(String suggestion, Component tooltip) {
-		return ofMessage(suggestion, BukkitTooltip.messageFromAdventureComponent(tooltip));
+		// Converting the tooltip is expensive, so it's only done if the suggestion is shown to the user
+		return tooltip == null ? none(suggestion) : ofLazyMessage(suggestion, () -> BukkitTooltip.cachedMessageFromAdventureComponent(tooltip));
 	}
 	/**
 	 * Constructs a collection of {@link StringTooltip} objects from an array of suggestions, and a function which generates
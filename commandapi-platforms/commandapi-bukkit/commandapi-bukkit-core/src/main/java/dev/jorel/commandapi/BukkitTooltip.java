@@ -22,11 +22,13 @@ package dev.jorel.commandapi;
 
 import com.mojang.brigadier.Message;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.chat.ComponentSerializer;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -40,6 +42,17 @@ import java.util.function.Function;
  */
 public class BukkitTooltip<S> extends Tooltip<S> {
 
+	// The most recently converted lazy tooltips, keyed by their adventure component or JSON. Suggestions are
+	// usually requested again on every keystroke, so the same tooltips are converted over and over. Messages
+	// can be changed, so these are only handed to tooltips and never returned from the public methods
+	private static final int MESSAGE_CACHE_SIZE = 1024;
+	private static final Map<Object, Message> MESSAGE_CACHE = Collections.synchronizedMap(new LinkedHashMap<Object, Message>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Object, Message> eldest) {
+			return size() > MESSAGE_CACHE_SIZE;
+		}
+	});
+
 	protected BukkitTooltip(S object, Message tooltip) {
 		super(object, tooltip);
 	}
@@ -151,7 +164,8 @@ public class BukkitTooltip<S> extends Tooltip<S> {
 	 * @return a <code>BukkitTooltip&lt;S&gt;</code> representing this suggestion and tooltip
 	 */
 	public static <S> Tooltip<S> ofBaseComponents(S object, BaseComponent... tooltip) {
-		return ofMessage(object, messageFromBaseComponents(tooltip));
+		// Converting the tooltip is expensive, so it's only done if the suggestion is shown to the user
+		return tooltip == null ? none(object) : ofLazyMessage(object, () -> cachedMessageFromBaseComponents(tooltip));
 	}
 
 	/**
@@ -164,7 +178,8 @@ public class BukkitTooltip<S> extends Tooltip<S> {
 	 * @return a <code>BukkitTooltip&lt;S&gt;</code> representing this suggestion and tooltip
 	 */
 	public static <S> Tooltip<S> ofAdventureComponent(S object, Component tooltip) {
-		return ofMessage(object, messageFromAdventureComponent(tooltip));
+		// Converting the tooltip is expensive, so it's only done if the suggestion is shown to the user
+		return tooltip == null ? none(object) : ofLazyMessage(object, () -> cachedMessageFromAdventureComponent(tooltip));
 	}
 
 	/**
@@ -192,7 +207,30 @@ public class BukkitTooltip<S> extends Tooltip<S> {
 	 * @return native minecraft message object which can be used natively by brigadier.
 	 */
 	public static Message messageFromAdventureComponent(Component component) {
-		return CommandAPIBukkit.get().generateMessageFromJson(GsonComponentSerializer.gson().serialize(component));
+		return CommandAPIBukkit.get().getPaper().messageFromAdventureComponent(component);
+	}
+
+	// Converts the tooltip of a lazy tooltip, reusing the message if the same tooltip was converted recently
+	static Message cachedMessageFromBaseComponents(BaseComponent... components) {
+		// Bungee components can be changed after they're created, so they're cached by their JSON instead
+		return cachedMessage(ComponentSerializer.toString(components), json -> CommandAPIBukkit.get().generateMessageFromJson(json));
+	}
+
+	// Converts the tooltip of a lazy tooltip, reusing the message if the same tooltip was converted recently
+	static Message cachedMessageFromAdventureComponent(Component component) {
+		return cachedMessage(component, c -> CommandAPIBukkit.get().getPaper().messageFromAdventureComponent(c));
+	}
+
+	private static <T> Message cachedMessage(T key, Function<T, Message> converter) {
+		Message message = MESSAGE_CACHE.get(key);
+		if (message == null) {
+			// Converted outside the lock, so a slow conversion doesn't hold up other tooltips
+			message = converter.apply(key);
+			if (message != null) {
+				MESSAGE_CACHE.put(key, message);
+			}
+		}
+		return message;
 	}
 
 }
@@ -9,12 +9,18 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,6 +34,11 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
 import org.bukkit.event.server.ServerLoadEvent;
 import org.bukkit.help.HelpTopic;
 import org.bukkit.inventory.Recipe;
@@ -69,6 +80,22 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	private static InternalBukkitConfig config;
 	private PaperImplementations paper;
 
+	// Registered commands grouped by name, used to generate help topics. This is
+	//  null until it is needed, and reset whenever the registered commands change. Lazy commands can be
+	//  registered from other threads, so this may be reset at any time
+	private volatile Map<String, List<RegisteredCommand>> registeredCommandsByName = null;
+
+	// Incremented whenever commands may have been added to or removed from Bukkit's CommandMap, so that the
+	//  Bukkit commands that converted commands run can be cached until then
+	private final AtomicInteger commandMapVersion = new AtomicInteger();
+
+	private final CommandResendTracker commandResendTracker = new CommandResendTracker();
+	// The names and aliases of the commands the CommandAPI registered, which are hashed to decide whether to resend commands
+	private final Set<String> registeredCommandNames = ConcurrentHashMap.newKeySet();
+
+	// Placeholders for lazily registered commands, which are only added once the server has loaded
+	private final List<LiteralCommandNode<Source>> pendingLazyCommandNodes = new ArrayList<>();
+
 	// Static VarHandles
 	// I'd like to make the Maps here `Map<String, CommandNode<Source>>`, but these static fields cannot use the type
 	//  parameter Source. We still need to cast to that signature for map, so Map is raw.
@@ -102,6 +129,30 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 		return paper;
 	}
 
+	/**
+	 * @return a number which changes whenever commands may have been added to or
+	 * removed from Bukkit's CommandMap
+	 */
+	int getCommandMapVersion() {
+		return commandMapVersion.get();
+	}
+
+	/**
+	 * @return the {@link CommandResendTracker} that decides whether players need
+	 * to be resent the command tree
+	 */
+	public CommandResendTracker getCommandResendTracker() {
+		return commandResendTracker;
+	}
+
+	/**
+	 * Notes that commands may have been added to or removed from Bukkit's
+	 * CommandMap, so anything cached from the CommandMap should be looked up again
+	 */
+	void commandMapChanged() {
+		commandMapVersion.incrementAndGet();
+	}
+
 	public static InternalBukkitConfig getConfiguration() {
 		if(config != null) {
 			return config;
@@ -188,14 +239,23 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 		JavaPlugin plugin = config.getPlugin();
 
 		new Schedulers(paper).scheduleSyncDelayed(plugin, () -> {
+			StartupReport startupReport = CommandAPI.getStartupReport();
+
 			// Sort out permissions after the server has finished registering them all
-			fixPermissions();
+			try (StartupReport.Measurement measurement = startupReport.measure(StartupReport.FIX_PERMISSIONS, null)) {
+				fixPermissions();
+			}
 			if (paper.isFoliaPresent()) {
 				CommandAPI.logNormal("Skipping initial datapack reloading because Folia was detected");
 			} else {
-				reloadDataPacks();
+				try (StartupReport.Measurement measurement = startupReport.measure(StartupReport.RELOAD_DATAPACKS, null)) {
+					reloadDataPacks();
+				}
+			}
+			try (StartupReport.Measurement measurement = startupReport.measure(StartupReport.UPDATE_HELP, null)) {
+				updateHelpForCommands(CommandAPI.getRegisteredCommands());
 			}
-			updateHelpForCommands(CommandAPI.getRegisteredCommands());
+			CommandAPIHandler.getInstance().writeStartupReportToFile();
 		}, 0L);
 
 		// Prevent command registration after server has loaded
@@ -205,9 +265,63 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 			@EventHandler(priority = EventPriority.LOWEST)
 			public void onServerLoad(ServerLoadEvent event) {
 				CommandAPI.stopCommandRegistration();
+
+				synchronized (pendingLazyCommandNodes) {
+					addLazyCommandNodes(pendingLazyCommandNodes);
+					pendingLazyCommandNodes.clear();
+				}
 			}
 		}, getConfiguration().getPlugin());
 
+		// Plugins register their commands to the CommandMap when they are enabled, and the server moves Vanilla
+		//  commands into the CommandMap once it has loaded
+		Bukkit.getServer().getPluginManager().registerEvents(new Listener() {
+			@EventHandler(priority = EventPriority.MONITOR)
+			public void onServerLoad(ServerLoadEvent event) {
+				commandMapChanged();
+			}
+
+			@EventHandler(priority = EventPriority.MONITOR)
+			public void onPluginEnable(PluginEnableEvent event) {
+				commandMapChanged();
+			}
+
+			@EventHandler(priority = EventPriority.MONITOR)
+			public void onPluginDisable(PluginDisableEvent event) {
+				commandMapChanged();
+			}
+		}, getConfiguration().getPlugin());
+
+		// Players that rejoin, respawn, are opped, or are sent the command tree by another plugin are sent a command tree
+		//  the CommandAPI didn't hash, so we don't know what they can see anymore
+		Bukkit.getServer().getPluginManager().registerEvents(new Listener() {
+			@EventHandler(priority = EventPriority.MONITOR)
+			public void onPlayerCommandSend(PlayerCommandSendEvent event) {
+				commandResendTracker.commandsSent(event.getPlayer());
+			}
+
+			@EventHandler(priority = EventPriority.MONITOR)
+			public void onPlayerQuit(PlayerQuitEvent event) {
+				commandResendTracker.invalidate(event.getPlayer());
+			}
+		}, getConfiguration().getPlugin());
+
+		// Permissions may depend on the world a player is in, and players that leave don't need to be cached anymore
+		PermissionCache permissionCache = CommandAPI.getPermissionCache();
+		if (permissionCache.isEnabled()) {
+			Bukkit.getServer().getPluginManager().registerEvents(new Listener() {
+				@EventHandler(priority = EventPriority.LOWEST)
+				public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+					permissionCache.invalidate(event.getPlayer());
+				}
+
+				@EventHandler(priority = EventPriority.MONITOR)
+				public void onPlayerQuit(PlayerQuitEvent event) {
+					permissionCache.invalidate(event.getPlayer());
+				}
+			}, getConfiguration().getPlugin());
+		}
+
 		paper.registerReloadHandler(plugin);
 	}
 
@@ -249,15 +363,10 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	}
 	
 	private String unpackInternalPermissionNodeString(CommandPermission perm) {
-		final Optional<String> optionalPerm = perm.getPermission();
-		if (perm.isNegated() || perm.equals(CommandPermission.NONE) || perm.equals(CommandPermission.OP)) {
+		if (perm.isNegated() || perm.getCheck() != CommandPermission.Check.NODE) {
 			return "";
-		} else if (optionalPerm.isPresent()) {
-			return optionalPerm.get();
 		} else {
-			throw new IllegalStateException("Invalid permission detected: " + perm +
-				"! This should never happen - if you're seeing this message, please" +
-				"contact the developers of the CommandAPI, we'd love to know how you managed to get this error!");
+			return perm.getPermissionNodeOrNull();
 		}
 	}
 
@@ -290,37 +399,93 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	}
 
 	private String[] getUsageList(RegisteredCommand currentCommand) {
-		List<RegisteredCommand> commandsWithIdenticalNames = new ArrayList<>();
-
-		// Collect every command with the same name
-		for (RegisteredCommand registeredCommand : CommandAPIHandler.getInstance().registeredCommands) {
-			if (registeredCommand.commandName().equals(currentCommand.commandName())) {
-				commandsWithIdenticalNames.add(registeredCommand);
-			}
-		}
-
 		// Generate command usage or fill it with a user provided one
-		final String[] usages;
 		final Optional<String[]> usageDescription = currentCommand.usageDescription();
 		if (usageDescription.isPresent()) {
-			usages = usageDescription.get();
-		} else {
-			// TODO: Figure out if default usage generation should be updated
-			final int numCommandsWithIdenticalNames = commandsWithIdenticalNames.size();
-			usages = new String[numCommandsWithIdenticalNames];
-			for (int i = 0; i < numCommandsWithIdenticalNames; i++) {
-				final RegisteredCommand command = commandsWithIdenticalNames.get(i);
-				StringBuilder usageString = new StringBuilder();
-				usageString.append("/").append(command.commandName()).append(" ");
-				for (String arg : command.argsAsStr()) {
-					usageString.append("<").append(arg.split(":")[0]).append("> ");
+			return usageDescription.get();
+		}
+
+		// TODO: Figure out if default usage generation should be updated
+		final List<RegisteredCommand> commandsWithIdenticalNames = getRegisteredCommandsByName()
+			.getOrDefault(currentCommand.commandName(), List.of());
+		final int numCommandsWithIdenticalNames = commandsWithIdenticalNames.size();
+		final String[] usages = new String[numCommandsWithIdenticalNames];
+		for (int i = 0; i < numCommandsWithIdenticalNames; i++) {
+			final RegisteredCommand command = commandsWithIdenticalNames.get(i);
+			StringBuilder usageString = new StringBuilder();
+			usageString.append("/").append(command.commandName());
+			final List<String> args = command.argsAsStr();
+			boolean inOptionalArguments = false;
+			for (int argIndex = 0; argIndex < args.size(); argIndex++) {
+				// Each group of optional arguments is surrounded by [ and ]
+				if (command.optionalArgumentIndices().contains(argIndex)) {
+					usageString.append(inOptionalArguments ? "] [" : " [");
+					inOptionalArguments = true;
+				} else {
+					usageString.append(" ");
 				}
-				usages[i] = usageString.toString().trim();
+
+				// Arguments are stored as node_name:class_name, we only want the node name
+				final String arg = args.get(argIndex);
+				final int separator = arg.indexOf(':');
+				usageString.append("<").append(arg, 0, separator == -1 ? arg.length() : separator).append(">");
+			}
+			if (inOptionalArguments) {
+				usageString.append("]");
 			}
+			usages[i] = usageString.toString();
 		}
 		return usages;
 	}
 
+	/*
+	 * Groups every registered command by its name. This index is built when help
+	 * topics are first generated and kept until the registered commands change.
+	 */
+	private Map<String, List<RegisteredCommand>> getRegisteredCommandsByName() {
+		// Read once, since the index may be reset between checking it and returning it
+		Map<String, List<RegisteredCommand>> index = registeredCommandsByName;
+		if (index == null) {
+			index = new HashMap<>();
+			for (RegisteredCommand registeredCommand : CommandAPIHandler.getInstance().registeredCommands) {
+				index.computeIfAbsent(registeredCommand.commandName(), name -> new ArrayList<>()).add(registeredCommand);
+			}
+			registeredCommandsByName = index;
+		}
+		return index;
+	}
+
+	private String generateHelpFullText(RegisteredCommand command, String helpTopicCommandName) {
+		StringBuilder sb = new StringBuilder();
+
+		// Generate full description
+		final Optional<String> fullDescriptionOptional = command.fullDescription();
+		if (fullDescriptionOptional.isPresent()) {
+			sb.append(ChatColor.GOLD).append("Description: ").append(ChatColor.WHITE).append(fullDescriptionOptional.get()).append("\n");
+		}
+
+		generateHelpUsage(sb, command);
+		sb.append("\n");
+
+		// Generate aliases. We want to get all aliases (including the original command
+		// name), except for the name of this help topic
+		final String[] aliases = command.aliases();
+		if (aliases.length > 0) {
+			List<String> otherNames = new ArrayList<>(aliases.length);
+			for (String alias : aliases) {
+				if (!alias.equals(helpTopicCommandName)) {
+					otherNames.add(alias);
+				}
+			}
+			if (!command.commandName().equals(helpTopicCommandName)) {
+				otherNames.add(command.commandName());
+			}
+			sb.append(ChatColor.GOLD).append("Aliases: ").append(ChatColor.WHITE).append(String.join(", ", otherNames));
+		}
+
+		return sb.toString().trim();
+	}
+
 	void updateHelpForCommands(List<RegisteredCommand> commands) {
 		Map<String, HelpTopic> helpTopicsToAdd = new HashMap<>();
 
@@ -337,44 +502,20 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 				shortDescription = "A command by the " + config.getPlugin().getName() + " plugin.";
 			}
 
-			// Generate full description
-			StringBuilder sb = new StringBuilder();
-			if (fullDescriptionOptional.isPresent()) {
-				sb.append(ChatColor.GOLD).append("Description: ").append(ChatColor.WHITE).append(fullDescriptionOptional.get()).append("\n");
-			}
-
-			generateHelpUsage(sb, command);
-			sb.append("\n");
-
-			// Generate aliases. We make a copy of the StringBuilder because we
-			// want to change the output when we register aliases
-			StringBuilder aliasSb = new StringBuilder(sb.toString());
-			if (command.aliases().length > 0) {
-				sb.append(ChatColor.GOLD).append("Aliases: ").append(ChatColor.WHITE).append(String.join(", ", command.aliases()));
-			}
-
 			// Must be empty string, not null as defined by OBC::CustomHelpTopic
 			String permission = command.permission().getPermission().orElse("");
 
+			// The full description is only generated when the help topic is first viewed
 			// Don't override the plugin help topic
 			String commandPrefix = generateCommandHelpPrefix(command.commandName());
-			helpTopicsToAdd.put(commandPrefix, generateHelpTopic(commandPrefix, shortDescription, sb.toString().trim(), permission));
+			helpTopicsToAdd.put(commandPrefix, new CommandAPIHelpTopic(commandPrefix, shortDescription,
+				() -> generateHelpFullText(command, command.commandName()), permission));
 
 			for (String alias : command.aliases()) {
-				StringBuilder currentAliasSb = new StringBuilder(aliasSb.toString());
-				currentAliasSb.append(ChatColor.GOLD).append("Aliases: ").append(ChatColor.WHITE);
-
-				// We want to get all aliases (including the original command name),
-				// except for the current alias
-				List<String> aliases = new ArrayList<>(Arrays.asList(command.aliases()));
-				aliases.add(command.commandName());
-				aliases.remove(alias);
-
-				currentAliasSb.append(ChatColor.WHITE).append(String.join(", ", aliases));
-
 				// Don't override the plugin help topic
 				commandPrefix = generateCommandHelpPrefix(alias);
-				helpTopicsToAdd.put(commandPrefix, generateHelpTopic(commandPrefix, shortDescription, currentAliasSb.toString().trim(), permission));
+				helpTopicsToAdd.put(commandPrefix, new CommandAPIHelpTopic(commandPrefix, shortDescription,
+					() -> generateHelpFullText(command, alias), permission));
 			}
 		}
 
@@ -466,6 +607,11 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 
 	@Override
 	public void postCommandRegistration(RegisteredCommand registeredCommand, LiteralCommandNode<Source> resultantNode, List<LiteralCommandNode<Source>> aliasNodes) {
+		// A new command was registered, so usages in help topics need to be regenerated
+		registeredCommandsByName = null;
+		registeredCommandNames.add(registeredCommand.commandName());
+		registeredCommandNames.addAll(Arrays.asList(registeredCommand.aliases()));
+
 		if(!CommandAPI.canRegister()) {
 			// Usually, when registering commands during server startup, we can just put our commands into the
 			// `net.minecraft.server.MinecraftServer#vanillaCommandDispatcher` and leave it. As the server finishes setup,
@@ -476,6 +622,7 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 			// and avoiding doing things twice for existing commands, this is a distilled version of those methods.
 
 			CommandMap map = paper.getCommandMap();
+			commandMapChanged();
 			String permNode = unpackInternalPermissionNodeString(registeredCommand.permission());
 			RootCommandNode<Source> root = getResourcesDispatcher().getRoot();
 
@@ -506,8 +653,23 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 			updateHelpForCommands(List.of(registeredCommand));
 
 			// Sending command dispatcher packets usually happens when Players join the server
-			for(Player p: Bukkit.getOnlinePlayers()) {
-				p.updateCommands();
+			resendCommands(Bukkit.getOnlinePlayers());
+		}
+	}
+
+	@Override
+	public void postLazyCommandRegistration(RegisteredCommand registeredCommand) {
+		// A new command was registered, so usages in help topics need to be regenerated
+		registeredCommandsByName = null;
+
+		// Help topics are generated for every registered command once the server has loaded, so commands built before
+		//  then are already handled
+		if (!CommandAPI.canRegister()) {
+			// Lazy commands can be built while suggesting, which may happen off the main thread
+			if (Bukkit.isPrimaryThread()) {
+				updateHelpForCommands(List.of(registeredCommand));
+			} else {
+				new Schedulers(paper).scheduleSync(config.getPlugin(), () -> updateHelpForCommands(List.of(registeredCommand)));
 			}
 		}
 	}
@@ -534,9 +696,68 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 		return getBrigadierDispatcher().register(node);
 	}
 
+	@Override
+	public void registerLazyCommandNodes(List<LiteralCommandNode<Source>> nodes) {
+		for (LiteralCommandNode<Source> node : nodes) {
+			registeredCommandNames.add(node.getLiteral());
+		}
+		if (CommandAPI.canRegister()) {
+			// While the server loads, it creates a namespaced copy of every command in the Vanilla dispatcher by copying
+			//  the command's children, which would build every lazy command. Instead, we wait until the server has
+			//  loaded, then add the placeholders with our own lazy namespaced copies.
+			synchronized (pendingLazyCommandNodes) {
+				pendingLazyCommandNodes.addAll(nodes);
+			}
+		} else {
+			addLazyCommandNodes(nodes);
+			resendCommands(Bukkit.getOnlinePlayers());
+		}
+	}
+
+	// Adapted from postCommandRegistration, using lazy namespaced nodes instead of namespaceNode
+	private void addLazyCommandNodes(List<LiteralCommandNode<Source>> nodes) {
+		if (nodes.isEmpty()) {
+			return;
+		}
+
+		CommandMap map = paper.getCommandMap();
+		Map<String, Command> knownCommands = commandMapKnownCommands.get((SimpleCommandMap) map);
+		commandMapChanged();
+		RootCommandNode<Source> brigadierRoot = getBrigadierDispatcher().getRoot();
+		RootCommandNode<Source> resourcesRoot = getResourcesDispatcher().getRoot();
+
+		for (LiteralCommandNode<Source> node : nodes) {
+			LiteralCommandNode<Source> namespacedNode = ((LazyLiteralCommandNode<Source>) node).withLiteral("minecraft:" + node.getLiteral());
+			String permNode = unpackInternalPermissionNodeString(CommandAPIHandler.getInstance().registeredPermissions
+				.getOrDefault(CommandAPIHandler.normalizeCommandName(node.getLiteral()), CommandPermission.NONE));
+
+			// `CraftServer#syncCommands` copies the children of commands whose label doesn't match their literal, so
+			//  the namespaced label gets its own wrapper around the namespaced node
+			Command command = wrapToVanillaCommandWrapper(node);
+			map.register("minecraft", command);
+			command.setPermission(permNode);
+
+			Command namespacedCommand = wrapToVanillaCommandWrapper(namespacedNode);
+			knownCommands.put(namespacedNode.getLiteral(), namespacedCommand);
+			namespacedCommand.setPermission(permNode);
+
+			brigadierRoot.addChild(node);
+			brigadierRoot.addChild(namespacedNode);
+			if (resourcesRoot != brigadierRoot) {
+				resourcesRoot.addChild(node);
+				resourcesRoot.addChild(namespacedNode);
+			}
+		}
+	}
+
 	@Override
 	public void unregister(String commandName, boolean unregisterNamespaces) {
-		unregisterInternal(commandName, unregisterNamespaces, false);
+		unregisterInternal(List.of(commandName), unregisterNamespaces, false);
+	}
+
+	@Override
+	public void unregister(Collection<String> commandNames, boolean unregisterNamespaces) {
+		unregisterInternal(commandNames, unregisterNamespaces, false);
 	}
 
 	/**
@@ -554,17 +775,47 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	 *                             commands, and commands registered by other plugin using Bukkit API are Bukkit commands.
 	 */
 	public static void unregister(String commandName, boolean unregisterNamespaces, boolean unregisterBukkit) {
-		CommandAPIBukkit.get().unregisterInternal(commandName, unregisterNamespaces, unregisterBukkit);
+		CommandAPIBukkit.get().unregisterInternal(List.of(commandName), unregisterNamespaces, unregisterBukkit);
 	}
 
-	private void unregisterInternal(String commandName, boolean unregisterNamespaces, boolean unregisterBukkit) {
-		CommandAPI.logInfo("Unregistering command /" + commandName);
+	/**
+	 * Unregisters multiple commands from the CommandGraph, so they can't be run anymore. This is the same as
+	 * {@link #unregister(String, boolean, boolean)}, except the dispatcher file is only written once and players are
+	 * only sent the updated commands once.
+	 *
+	 * @param commandNames         the names of the commands to unregister
+	 * @param unregisterNamespaces whether the unregistration system should attempt to remove versions of the
+	 *                                commands that start with a namespace. E.g. `minecraft:command`, `bukkit:command`,
+	 *                                or `plugin:command`. If true, these namespaced versions of the commands are also
+	 *                                unregistered.
+	 * @param unregisterBukkit     whether the unregistration system should unregister Vanilla or Bukkit commands. See
+	 *                             {@link #unregister(String, boolean, boolean)}.
+	 */
+	public static void unregisterAll(Collection<String> commandNames, boolean unregisterNamespaces, boolean unregisterBukkit) {
+		CommandAPIBukkit.get().unregisterInternal(commandNames, unregisterNamespaces, unregisterBukkit);
+	}
+
+	private void unregisterInternal(Collection<String> commandNames, boolean unregisterNamespaces, boolean unregisterBukkit) {
+		for (String commandName : commandNames) {
+			CommandAPI.logInfo("Unregistering command /" + commandName);
+		}
+		registeredCommandsByName = null;
+
+		synchronized (pendingLazyCommandNodes) {
+			pendingLazyCommandNodes.removeIf(node -> commandNames.contains(node.getLiteral()));
+		}
 
 		if(!unregisterBukkit) {
 			// Remove nodes from the Vanilla dispatcher
 			// This dispatcher doesn't usually have namespaced version of commands (those are created when commands
 			//  are transferred to Bukkit's CommandMap), but if they ask, we'll do it
-			removeBrigadierCommands(getBrigadierDispatcher(), commandName, unregisterNamespaces, c -> true);
+			for (String commandName : commandNames) {
+				removeBrigadierCommands(getBrigadierDispatcher(), commandName, unregisterNamespaces, c -> true);
+			}
+
+			// Forget everything the CommandAPI stored about these commands
+			CommandAPIHandler.getInstance().removeRegisteredCommands(commandNames);
+			registeredCommandNames.removeAll(commandNames);
 
 			// Update the dispatcher file
 			CommandAPIHandler.getInstance().writeDispatcherToFile();
@@ -575,34 +826,36 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 			//  if we're unregistering after the server is enabled, because `CraftServer#setVanillaCommands` will have
 			//  moved the Vanilla command into the CommandMap
 			Map<String, Command> knownCommands = commandMapKnownCommands.get((SimpleCommandMap) paper.getCommandMap());
+			commandMapChanged();
 
-			// If we are unregistering a Bukkit command, DO NOT unregister VanillaCommandWrappers
-			// If we are unregistering a Vanilla command, ONLY unregister VanillaCommandWrappers
-			boolean isMainVanilla = isVanillaCommandWrapper(knownCommands.get(commandName));
-			if(unregisterBukkit ^ isMainVanilla) knownCommands.remove(commandName);
+			for (String commandName : commandNames) {
+				// If we are unregistering a Bukkit command, DO NOT unregister VanillaCommandWrappers
+				// If we are unregistering a Vanilla command, ONLY unregister VanillaCommandWrappers
+				boolean isMainVanilla = isVanillaCommandWrapper(knownCommands.get(commandName));
+				if(unregisterBukkit ^ isMainVanilla) knownCommands.remove(commandName);
 
-			if(unregisterNamespaces) {
-				removeCommandNamespace(knownCommands, commandName, c -> unregisterBukkit ^ isVanillaCommandWrapper(c));
+				if(unregisterNamespaces) {
+					removeCommandNamespace(knownCommands, commandName, c -> unregisterBukkit ^ isVanillaCommandWrapper(c));
+				}
 			}
 		}
 
 		if(!CommandAPI.canRegister()) {
 			// If the server is enabled, we have extra cleanup to do
-
-			// Remove commands from the resources dispatcher
-			// If we are unregistering a Bukkit command, ONLY unregister BukkitCommandWrappers
-			// If we are unregistering a Vanilla command, DO NOT unregister BukkitCommandWrappers
-			removeBrigadierCommands(getResourcesDispatcher(), commandName, unregisterNamespaces,
-				c -> !unregisterBukkit ^ isBukkitCommandWrapper(c));
-
-			// Help topics (from Bukkit and CommandAPI) are only setup after plugins enable, so we only need to worry
-			//  about removing them once the server is loaded.
-			getHelpMap().remove("/" + commandName);
+			for (String commandName : commandNames) {
+				// Remove commands from the resources dispatcher
+				// If we are unregistering a Bukkit command, ONLY unregister BukkitCommandWrappers
+				// If we are unregistering a Vanilla command, DO NOT unregister BukkitCommandWrappers
+				removeBrigadierCommands(getResourcesDispatcher(), commandName, unregisterNamespaces,
+					c -> !unregisterBukkit ^ isBukkitCommandWrapper(c));
+
+				// Help topics (from Bukkit and CommandAPI) are only setup after plugins enable, so we only need to worry
+				//  about removing them once the server is loaded.
+				getHelpMap().remove("/" + commandName);
+			}
 
 			// Notify players
-			for (Player p : Bukkit.getOnlinePlayers()) {
-				p.updateCommands();
-			}
+			resendCommands(Bukkit.getOnlinePlayers());
 		}
 	}
 
@@ -676,13 +929,105 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 		}
 	}
 
+	@Override
+	public String getOwningPluginName(Class<?> clazz) {
+		try {
+			return JavaPlugin.getProvidingPlugin(clazz).getName();
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			// The class wasn't loaded by a plugin
+			return null;
+		}
+	}
+
 	@Override
 	@Unimplemented(because = VERSION_SPECIFIC_IMPLEMENTATION)
 	public abstract void reloadDataPacks();
 
 	@Override
 	public void updateRequirements(AbstractPlayer<?> player) {
-		((Player) player.getSource()).updateCommands();
+		resendCommands(List.of((Player) player.getSource()));
+	}
+
+	/**
+	 * Resends the command tree to several players, for example after commands are
+	 * registered or unregistered. Players are skipped if the CommandAPI commands
+	 * they can see haven't changed since the CommandAPI last sent them the command
+	 * tree, as tracked by {@link #getCommandResendTracker()}.
+	 *
+	 * @param players the players to resend the command tree to
+	 */
+	public void resendCommands(Collection<? extends Player> players) {
+		RootCommandNode<Source> root = getResourcesDispatcher().getRoot();
+		Set<String> commandNames = Set.copyOf(registeredCommandNames);
+		// When command trees are shared, each player's profile is needed anyway, so it's found in the same walk
+		boolean shareCommandTrees = config.shouldShareCommandTrees();
+		Map<Player, BitSet> profiles = new HashMap<>();
+		List<Player> changedPlayers = new ArrayList<>();
+		for (Player player : players) {
+			Source source = getBrigadierSourceFromCommandSender(new BukkitPlayer(player));
+			long hash;
+			if (shareCommandTrees) {
+				CommandTreeProfile.ProfileAndHash profileAndHash = CommandTreeProfile.profileAndHash(root, commandNames, source);
+				profiles.put(player, profileAndHash.nodes());
+				hash = profileAndHash.hash();
+			} else {
+				hash = CommandTreeProfile.hash(root, commandNames, source);
+			}
+			if (commandResendTracker.shouldResend(player, hash)) {
+				changedPlayers.add(player);
+			}
+		}
+
+		if (!changedPlayers.isEmpty()) {
+			commandResendTracker.startSending(changedPlayers);
+			try {
+				sendCommands(changedPlayers, profiles);
+			} finally {
+				commandResendTracker.finishSending(changedPlayers);
+			}
+		}
+	}
+
+	/**
+	 * Sends the command tree to several players. Versions which can build the tree
+	 * themselves override this to build it once for each {@link CommandTreeProfile}
+	 * when {@link InternalBukkitConfig#shouldShareCommandTrees()} is enabled.
+	 *
+	 * @param players  the players to send the command tree to
+	 * @param profiles the {@link CommandTreeProfile} of the resources dispatcher's
+	 *                 tree for each player, if it was already found. Players
+	 *                 without a profile have theirs found when it's needed
+	 */
+	protected void sendCommands(Collection<? extends Player> players, Map<Player, BitSet> profiles) {
+		for (Player player : players) {
+			player.updateCommands();
+		}
+	}
+
+	@Override
+	public CompletableFuture<Void> runSync(CommandSender sender, Runnable task) {
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		Runnable completingTask = () -> {
+			try {
+				task.run();
+				future.complete(null);
+			} catch (Throwable throwable) {
+				future.completeExceptionally(throwable);
+			}
+		};
+
+		try {
+			new Schedulers(paper).scheduleSync(config.getPlugin(), sender, completingTask);
+		} catch (RuntimeException e) {
+			// The plugin may have been disabled while an asynchronous command was running
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	@Override
+	public void sendFailureMessage(CommandSender sender, String message) {
+		sender.sendMessage(ChatColor.RED + message);
 	}
 
 	@Override
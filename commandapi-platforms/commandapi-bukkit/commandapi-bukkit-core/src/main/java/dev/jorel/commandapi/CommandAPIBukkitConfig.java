@@ -10,6 +10,7 @@ public class CommandAPIBukkitConfig extends CommandAPIConfig<CommandAPIBukkitCon
 	JavaPlugin plugin;
 	// Default configuration
 	boolean shouldHookPaperReload = true;
+	boolean shouldShareCommandTrees = false;
 
 	/**
 	 * Creates a new CommandAPIBukkitConfig object. Variables in this
@@ -35,6 +36,22 @@ public class CommandAPIBukkitConfig extends CommandAPIConfig<CommandAPIBukkitCon
 		return this;
 	}
 
+	/**
+	 * Sets the CommandAPI to build the command tree that is sent to players once for every group of
+	 * players who can use the same commands, instead of once for every player, when commands are
+	 * registered or unregistered. This is only supported on the latest Minecraft version, and the
+	 * command tree is sent as it would be on Spigot, so Paper's {@code AsyncPlayerSendCommandsEvent}
+	 * is not called. Plugins which hide commands using Bukkit's {@code PlayerCommandSendEvent} are
+	 * still supported.
+	 *
+	 * @param shared whether players with the same permissions and requirements should share a command tree
+	 * @return this CommandAPIBukkitConfig
+	 */
+	public CommandAPIBukkitConfig shouldShareCommandTrees(boolean shared) {
+		this.shouldShareCommandTrees = shared;
+		return this;
+	}
+
 	@Override
 	public CommandAPIBukkitConfig instance() {
 		return this;
@@ -0,0 +1,71 @@
+package dev.jorel.commandapi;
+
+import java.util.function.Supplier;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.help.HelpTopic;
+
+/**
+ * A {@link HelpTopic} for commands registered by the CommandAPI. This behaves
+ * the same as CraftBukkit's {@code CustomHelpTopic}, except that the full text
+ * is only generated the first time it is needed (e.g. when a player views the
+ * topic using {@code /help}) and is then reused.
+ */
+class CommandAPIHelpTopic extends HelpTopic {
+
+	private final String permissionNode;
+	private Supplier<String> fullTextSupplier;
+
+	/**
+	 * Creates a new help topic
+	 *
+	 * @param name             the name of this help topic, e.g. {@code /command}
+	 * @param shortText        the short description of this help topic
+	 * @param fullTextSupplier a supplier that generates the full description of
+	 *                         this help topic, excluding the short description
+	 * @param permissionNode   the permission required to see this help topic, or
+	 *                         an empty string if no permission is required
+	 */
+	CommandAPIHelpTopic(String name, String shortText, Supplier<String> fullTextSupplier, String permissionNode) {
+		this.name = name;
+		this.shortText = shortText;
+		this.fullTextSupplier = fullTextSupplier;
+		this.permissionNode = permissionNode;
+	}
+
+	@Override
+	public boolean canSee(CommandSender sender) {
+		if (sender instanceof ConsoleCommandSender) {
+			return true;
+		}
+
+		if (!permissionNode.isEmpty()) {
+			return sender.hasPermission(permissionNode);
+		} else {
+			return true;
+		}
+	}
+
+	@Override
+	public String getFullText(CommandSender forWho) {
+		generateFullText();
+		return super.getFullText(forWho);
+	}
+
+	@Override
+	public void amendTopic(String amendedShortText, String amendedFullText) {
+		// Amendments are applied to the full text, so it has to exist first
+		generateFullText();
+		super.amendTopic(amendedShortText, amendedFullText);
+	}
+
+	private void generateFullText() {
+		if (fullTextSupplier != null) {
+			// Same format as OBC::CustomHelpTopic
+			this.fullText = shortText + "\n" + fullTextSupplier.get();
+			this.fullTextSupplier = null;
+		}
+	}
+
+}
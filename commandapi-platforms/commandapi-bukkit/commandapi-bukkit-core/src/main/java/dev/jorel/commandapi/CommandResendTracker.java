@@ -0,0 +1,108 @@
+package dev.jorel.commandapi;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Remembers which commands each player could see the last time the CommandAPI
+ * sent them the command tree. Sending the command tree is expensive for both
+ * the server and the client, so the CommandAPI only resends it to a player if
+ * the {@link CommandTreeProfile#hash(com.mojang.brigadier.tree.CommandNode, Set, Object)
+ * hash} of the CommandAPI commands they can see has changed since then. This applies to
+ * {@link CommandAPI#updateRequirements(Object)} and to the resends that happen
+ * when commands are registered or unregistered while the server is running.
+ * <p>
+ * The first time the CommandAPI resends commands to a player, they are always
+ * sent the command tree. The server also sends players the command tree, for
+ * example when they respawn or are opped, and so can other plugins by calling
+ * {@link Player#updateCommands()}. Every time a player is sent the command tree
+ * by something other than the CommandAPI, as seen by a
+ * {@link org.bukkit.event.player.PlayerCommandSendEvent}, the player is
+ * forgotten, so the next resend isn't skipped. Servers that send the command
+ * tree asynchronously may also make the CommandAPI forget players it sent the
+ * command tree to itself, which only means their next resend isn't skipped.
+ */
+public class CommandResendTracker {
+
+	private final Map<Player, Long> sentHashes = new WeakHashMap<>();
+	// The players that the CommandAPI is currently sending the command tree to
+	private final Set<Player> sending = Collections.newSetFromMap(new WeakHashMap<>());
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+
+	CommandResendTracker() {
+	}
+
+	// Records the hash of the commands a player can see, and returns true if it is different to the last one recorded
+	boolean shouldResend(Player player, long hash) {
+		Long previous;
+		synchronized (sentHashes) {
+			previous = sentHashes.put(player, hash);
+		}
+
+		if (previous != null && previous == hash) {
+			skipped.increment();
+			return false;
+		}
+
+		sent.increment();
+		return true;
+	}
+
+	// Marks players as being sent the command tree by the CommandAPI, so their PlayerCommandSendEvents don't forget them
+	void startSending(Collection<? extends Player> players) {
+		synchronized (sentHashes) {
+			sending.addAll(players);
+		}
+	}
+
+	void finishSending(Collection<? extends Player> players) {
+		synchronized (sentHashes) {
+			sending.removeAll(players);
+		}
+	}
+
+	// Called for every PlayerCommandSendEvent. If something else sent the command tree, we don't know what the player can see
+	void commandsSent(Player player) {
+		synchronized (sentHashes) {
+			if (!sending.contains(player)) {
+				sentHashes.remove(player);
+			}
+		}
+	}
+
+	/**
+	 * Forgets which commands a player was last sent, so that the next time the
+	 * CommandAPI resends commands to them they are always sent the command tree.
+	 *
+	 * @param player the player to forget
+	 */
+	public void invalidate(Player player) {
+		synchronized (sentHashes) {
+			sentHashes.remove(player);
+		}
+	}
+
+	/**
+	 * @return the number of times a player was resent the command tree because
+	 *         the commands they could see had changed
+	 */
+	public long getSent() {
+		return sent.sum();
+	}
+
+	/**
+	 * @return the number of times resending the command tree to a player was
+	 *         skipped because the commands they could see had not changed
+	 */
+	public long getSkipped() {
+		return skipped.sum();
+	}
+
+}
@@ -0,0 +1,151 @@
+package dev.jorel.commandapi;
+
+import java.util.BitSet;
+import java.util.Set;
+
+import com.mojang.brigadier.tree.CommandNode;
+
+/**
+ * Fingerprints which commands a command source can use. The command tree that
+ * Minecraft sends to a player only contains the nodes that the player can use,
+ * so players with the same profile for the same command tree are sent exactly
+ * the same tree. When {@link InternalBukkitConfig#shouldShareCommandTrees()} is
+ * enabled, this is used to build that tree once for every group of players with
+ * the same permissions and requirements, instead of once for every player.
+ * Hashes of the CommandAPI's commands that a player can see are also used by
+ * {@link CommandResendTracker} to avoid resending a player the same tree.
+ */
+public final class CommandTreeProfile {
+
+	private CommandTreeProfile() {
+	}
+
+	/**
+	 * Checks every node of a command tree that the given source could be sent, in
+	 * the same order as Minecraft does. Children of a node are only checked if the
+	 * source can use that node.
+	 * <p>
+	 * The order that nodes are checked in only depends on the results of earlier
+	 * checks, so two sources have the same profile for a command tree if and only
+	 * if they can use exactly the same nodes. Profiles of different command trees
+	 * (for example, before and after a command is registered) can't be compared.
+	 *
+	 * @param <Source> the command source type
+	 * @param root     the root of the command tree
+	 * @param source   the command source to check
+	 * @return a {@link BitSet} where bit {@code n} is set if the source can use the
+	 *         {@code n}th node that was checked
+	 */
+	public static <Source> BitSet of(CommandNode<Source> root, Source source) {
+		Walk<Source> walk = new Walk<>(source, Set.of(), new BitSet());
+		walk.visitRoot(root);
+		return walk.profile;
+	}
+
+	/**
+	 * Hashes the nodes of the given commands that the given source can use.
+	 * Unlike {@link #of(CommandNode, Object)}, hashes can be compared between
+	 * different versions of a command tree, because they depend on which node
+	 * objects are visible rather than on the order nodes are checked in. Nodes
+	 * that were not changed keep their identity when other commands are
+	 * registered or unregistered, so a source's hash only changes if the commands
+	 * it can see have changed. Only the given commands are checked, so the
+	 * requirements of other commands aren't run.
+	 *
+	 * @param <Source>     the command source type
+	 * @param root         the root of the command tree
+	 * @param commandNames the names of the children of the root to hash, such as
+	 *                     the commands and aliases registered by the CommandAPI
+	 * @param source       the command source to check
+	 * @return a hash of the nodes of the given commands that the source can use
+	 */
+	public static <Source> long hash(CommandNode<Source> root, Set<String> commandNames, Source source) {
+		Walk<Source> walk = new Walk<>(source, commandNames, null);
+		walk.visitRoot(root);
+		return walk.hash;
+	}
+
+	/**
+	 * The {@link CommandTreeProfile#of(CommandNode, Object) profile} and
+	 * {@link CommandTreeProfile#hash(CommandNode, Set, Object) hash} of a command
+	 * tree for a command source
+	 *
+	 * @param nodes the profile of the command tree
+	 * @param hash  the hash of the nodes of the hashed commands
+	 */
+	public record ProfileAndHash(BitSet nodes, long hash) {
+	}
+
+	/**
+	 * Finds both the {@link #of(CommandNode, Object) profile} and the
+	 * {@link #hash(CommandNode, Set, Object) hash} of a command tree for a source,
+	 * checking each node only once
+	 *
+	 * @param <Source>     the command source type
+	 * @param root         the root of the command tree
+	 * @param commandNames the names of the children of the root to hash
+	 * @param source       the command source to check
+	 * @return the profile and hash of the command tree
+	 */
+	public static <Source> ProfileAndHash profileAndHash(CommandNode<Source> root, Set<String> commandNames, Source source) {
+		Walk<Source> walk = new Walk<>(source, commandNames, new BitSet());
+		walk.visitRoot(root);
+		return new ProfileAndHash(walk.profile, walk.hash);
+	}
+
+	// Visits the nodes of a command tree that a source can use, filling in a profile (if there is one) and hashing the
+	//  nodes of the hashed commands
+	private static final class Walk<Source> {
+		private final Source source;
+		private final Set<String> hashedCommands;
+		private final BitSet profile;
+		private int index = 0;
+		private long hash = 1;
+
+		private Walk(Source source, Set<String> hashedCommands, BitSet profile) {
+			this.source = source;
+			this.hashedCommands = hashedCommands;
+			this.profile = profile;
+		}
+
+		private void visitRoot(CommandNode<Source> root) {
+			for (CommandNode<Source> child : root.getChildren()) {
+				boolean hashed = hashedCommands.contains(child.getName());
+				// Without a profile, only the hashed commands need to be checked
+				if (hashed || profile != null) {
+					visit(child, hashed);
+				}
+			}
+		}
+
+		private void visit(CommandNode<Source> node, boolean hashed) {
+			if (!node.canUse(source)) {
+				index++;
+				return;
+			}
+			if (profile != null) {
+				profile.set(index);
+			}
+			index++;
+			if (hashed) {
+				hash = mix(hash, System.identityHashCode(node));
+			}
+			for (CommandNode<Source> child : node.getChildren()) {
+				visit(child, hashed);
+			}
+			if (hashed) {
+				// Marks the end of this node's children, so the same nodes in a different shape hash differently
+				hash = mix(hash, -1);
+			}
+		}
+	}
+
+	// Combines a value into a hash, using the finalizer from SplitMix64
+	private static long mix(long hash, long value) {
+		long z = hash * 0x9E3779B97F4A7C15L + value;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
@@ -28,15 +28,18 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginIdentifiableCommand;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import dev.jorel.commandapi.arguments.Argument;
 import dev.jorel.commandapi.arguments.GreedyStringArgument;
+import dev.jorel.commandapi.executors.CommandArguments;
 import dev.jorel.commandapi.executors.NativeCommandExecutor;
 import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
 
@@ -49,7 +52,6 @@ public final class Converter {
 	private Converter() {
 	}
 
-	private static final List<Argument<?>> PLAIN_ARGUMENTS = List.of(new GreedyStringArgument("args"));
 	private static final Set<String> CALLER_METHODS = Set.of("isPermissionSet", "hasPermission",
 			"addAttachment", "removeAttachment", "recalculatePermissions", "getEffectivePermissions", "isOp", "setOp");
 
@@ -62,7 +64,7 @@ public final class Converter {
 	public static void convert(JavaPlugin plugin) {
 		CommandAPI.logInfo("Converting commands for " + plugin.getName() + ":");
 		for (String commandName : plugin.getDescription().getCommands().keySet()) {
-			convertPluginCommand(plugin, commandName, PLAIN_ARGUMENTS);
+			convertPluginCommand(plugin, commandName, null);
 		}
 	}
 
@@ -74,7 +76,7 @@ public final class Converter {
 	 * @param cmdName The command to convert
 	 */
 	public static void convert(JavaPlugin plugin, String cmdName) {
-		convertPluginCommand(plugin, cmdName, PLAIN_ARGUMENTS);
+		convertPluginCommand(plugin, cmdName, null);
 	}
 
 	/**
@@ -108,7 +110,7 @@ public final class Converter {
 	 *                such as //set in WorldEdit, this parameter should be "/set"
 	 */
 	public static void convert(String cmdName) {
-		convertCommand(cmdName, PLAIN_ARGUMENTS);
+		convertCommand(cmdName, null);
 	}
 
 	/**
@@ -124,26 +126,103 @@ public final class Converter {
 		convertCommand(cmdName, arguments);
 	}
 
+	/**
+	 * Resolves the Bukkit command that a converted command runs. The command is
+	 * cached until commands are added to or removed from Bukkit's CommandMap, or
+	 * the CommandMap's entry for the command's name is replaced, so executing a
+	 * converted command doesn't need to resolve it again.
+	 */
+	private static final class ConvertedCommandTarget {
+		private final String commandName;
+		private final Supplier<org.bukkit.command.Command> resolver;
+		private volatile Resolved resolved = null;
+
+		// The resolved command, and the CommandMap's entry for the command's name when it was resolved
+		private record Resolved(org.bukkit.command.Command command, org.bukkit.command.Command knownCommand, int commandMapVersion) {
+		}
+
+		private ConvertedCommandTarget(String commandName, Supplier<org.bukkit.command.Command> resolver) {
+			this.commandName = commandName;
+			this.resolver = resolver;
+		}
+
+		private org.bukkit.command.Command get() {
+			int currentVersion = CommandAPIBukkit.get().getCommandMapVersion();
+			// Plugins can register or replace commands in the CommandMap at any time, which doesn't change its version
+			org.bukkit.command.Command knownCommand = CommandAPIBukkit.get().getPaper().getCommandMap().getCommand(commandName);
+			Resolved current = resolved;
+			if (current == null || current.command() == null || current.commandMapVersion() != currentVersion
+					|| current.knownCommand() != knownCommand) {
+				current = new Resolved(resolver.get(), knownCommand, currentVersion);
+				resolved = current;
+			}
+			return current.command();
+		}
+	}
+
+	// Converted commands are executed with String[] arguments (see CommandAPIHandler#generateCommand). When no
+	//  arguments were given, this is an empty array.
+	private static String[] stringArguments(CommandArguments args) {
+		return args.args() instanceof String[] argsArr ? argsArr : new String[0];
+	}
+
+	/**
+	 * Registers a converted command. By default, converted commands take a single
+	 * optional greedy string, so they're registered as one command node that is
+	 * executable with or without arguments. If specific arguments are given, the
+	 * command can be run with no arguments or with all of them.
+	 */
+	private static void registerConverted(Supplier<CommandAPICommand> newCommand, List<Argument<?>> arguments, NativeCommandExecutor executor) {
+		if (arguments == null) {
+			// A new argument is used for every command, since registering a command modifies its arguments
+			newCommand.get()
+				.withOptionalArguments(new GreedyStringArgument("args"))
+				.executesNative(executor)
+				.setConverted(true)
+				.register();
+		} else {
+			// No arguments
+			newCommand.get()
+				.executesNative(executor)
+				.setConverted(true)
+				.register();
+
+			// Multiple arguments
+			newCommand.get()
+				.withArguments(arguments)
+				.executesNative(executor)
+				.setConverted(true)
+				.register();
+		}
+	}
+
 	private static void convertCommand(String commandName, List<Argument<?>> arguments) {
 		CommandAPI.logInfo("Converting command /" + commandName);
 
-		// No arguments
-		new CommandAPICommand(commandName).withPermission(CommandPermission.NONE).executesNative((sender, args) -> {
-			Bukkit.dispatchCommand(mergeProxySender(sender), commandName);
-			return;
-		}).register();
-
-		// Multiple arguments
-		CommandAPICommand multiArgs = new CommandAPICommand(commandName).withPermission(CommandPermission.NONE)
-				.withArguments(arguments).executesNative((sender, args) -> {
-					// We know the args are a String[] because that's how converted things are
-					// handled in generateCommand()
-					CommandSender proxiedSender = mergeProxySender(sender);
-					Bukkit.dispatchCommand(proxiedSender, commandName + " " + String.join(" ", (String[]) args.args()));
-				});
-
-		multiArgs.setConverted(true);
-		multiArgs.register();
+		ConvertedCommandTarget target = new ConvertedCommandTarget(commandName, () -> CommandAPIBukkit.get().getPaper().getCommandMap().getCommand(commandName));
+
+		NativeCommandExecutor executor = (sender, args) -> {
+			CommandSender proxiedSender = mergeProxySender(sender);
+			String[] argsArr = stringArguments(args);
+
+			org.bukkit.command.Command command = target.get();
+			if (command == null) {
+				// The command doesn't exist (yet), so let Bukkit handle it
+				Bukkit.dispatchCommand(proxiedSender, argsArr.length == 0 ? commandName : commandName + " " + String.join(" ", argsArr));
+			} else {
+				command.execute(proxiedSender, commandName, argsArr);
+			}
+		};
+
+		// The executor belongs to the CommandAPI, so the command is attributed to the plugin that provides it (if any)
+		org.bukkit.command.Command existingCommand = CommandAPIBukkit.get().getPaper().getCommandMap().getCommand(commandName);
+		String owningPlugin = existingCommand instanceof PluginIdentifiableCommand pluginCommand ? pluginCommand.getPlugin().getName() : null;
+
+		try (StartupReport.Measurement measurement = CommandAPI.getStartupReport().measure(StartupReport.CONVERT, commandName)) {
+			registerConverted(() -> new CommandAPICommand(commandName)
+				.withPermission(CommandPermission.NONE)
+				.setOwningPlugin(owningPlugin), arguments, executor);
+		}
 	}
 	
 	private static String[] unpackAliases(Object aliasObj) {
@@ -192,42 +271,26 @@ public final class Converter {
 			permissionNode = CommandPermission.fromString(permission);
 		}
 		
-		NativeCommandExecutor executor = (sender, args) -> {
+		ConvertedCommandTarget target = new ConvertedCommandTarget(commandName, () -> {
 			org.bukkit.command.Command command = plugin.getCommand(commandName);
-			
-			if (command == null) {
-				command = CommandAPIBukkit.get().getSimpleCommandMap()
-						.getCommand(commandName);
-			}
-
-			CommandSender proxiedSender = CommandAPI.getConfiguration().shouldSkipSenderProxy(plugin.getName())
-					? sender.getCallee()
-					: mergeProxySender(sender);
+			return command == null ? CommandAPIBukkit.get().getSimpleCommandMap().getCommand(commandName) : command;
+		});
+		boolean skipSenderProxy = CommandAPI.getConfiguration().shouldSkipSenderProxy(plugin.getName());
 
-			if (args.args() instanceof String[] argsArr) {
-				command.execute(proxiedSender, commandName, argsArr);
-			} else {
-				command.execute(proxiedSender, commandName, new String[0]);
-			}
+		NativeCommandExecutor executor = (sender, args) -> {
+			CommandSender proxiedSender = skipSenderProxy ? sender.getCallee() : mergeProxySender(sender);
+			target.get().execute(proxiedSender, commandName, stringArguments(args));
 		};
 
-		// No arguments
-		new CommandAPICommand(commandName)
-			.withPermission(permissionNode)
-			.withAliases(aliases)
-			.withFullDescription(fullDescription)
-			.executesNative(executor)
-			.register();
-
-		// Multiple arguments
-		new CommandAPICommand(commandName)
-			.withPermission(permissionNode)
-			.withAliases(aliases)
-			.withArguments(arguments)
-			.withFullDescription(fullDescription)
-			.executesNative(executor)
-			.setConverted(true)
-			.register();
+		final CommandPermission finalPermissionNode = permissionNode;
+		final String finalFullDescription = fullDescription;
+		try (StartupReport.Measurement measurement = CommandAPI.getStartupReport().measure(StartupReport.CONVERT, commandName)) {
+			registerConverted(() -> new CommandAPICommand(commandName)
+				.withPermission(finalPermissionNode)
+				.withAliases(aliases)
+				.withFullDescription(finalFullDescription)
+				.setOwningPlugin(plugin.getName()), arguments, executor);
+		}
 	}
 
 	/*
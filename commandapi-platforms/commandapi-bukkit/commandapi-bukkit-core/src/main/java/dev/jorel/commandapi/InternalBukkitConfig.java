@@ -15,6 +15,9 @@ public class InternalBukkitConfig extends InternalConfig {
 	// Whether to hook into paper's reload event to reload datapacks when /minecraft:reload is run
 	private final boolean shouldHookPaperReload;
 
+	// Whether players who can use the same commands are sent a command tree that is only built once
+	private final boolean shouldShareCommandTrees;
+
 	/**
 	 * Creates an {@link InternalBukkitConfig} from a {@link CommandAPIBukkitConfig}
 	 *
@@ -24,6 +27,7 @@ public class InternalBukkitConfig extends InternalConfig {
 		super(config);
 		this.plugin = config.plugin;
 		this.shouldHookPaperReload = config.shouldHookPaperReload;
+		this.shouldShareCommandTrees = config.shouldShareCommandTrees;
 	}
 
 	/**
@@ -41,4 +45,12 @@ public class InternalBukkitConfig extends InternalConfig {
 	public boolean shouldHookPaperReload() {
 		return shouldHookPaperReload;
 	}
+
+	/**
+	 * @return Whether the command tree sent to players should be built once for every
+	 * {@link CommandTreeProfile}, instead of once for every player
+	 */
+	public boolean shouldShareCommandTrees() {
+		return shouldShareCommandTrees;
+	}
 }
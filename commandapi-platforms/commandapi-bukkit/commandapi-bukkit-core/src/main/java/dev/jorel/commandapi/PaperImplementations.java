@@ -1,10 +1,13 @@
 package dev.jorel.commandapi;
 
+import com.mojang.brigadier.Message;
 import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
 import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 import dev.jorel.commandapi.nms.NMS;
+import io.papermc.paper.brigadier.PaperBrigadier;
 import io.papermc.paper.event.server.ServerResourcesReloadedEvent;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.Bukkit;
@@ -21,6 +24,7 @@ public class PaperImplementations {
 	private final boolean isFoliaPresent;
 	private final NMS<?> nmsInstance;
 	private final Class<? extends CommandSender> feedbackForwardingCommandSender;
+	private final boolean isPaperBrigadierPresent;
 
 	/**
 	 * Constructs a PaperImplementations object
@@ -43,6 +47,16 @@ public class PaperImplementations {
 		}
 		
 		this.feedbackForwardingCommandSender = tempFeedbackForwardingCommandSender;
+
+		boolean tempPaperBrigadierPresent = false;
+		try {
+			Class.forName("io.papermc.paper.brigadier.PaperBrigadier");
+			tempPaperBrigadierPresent = true;
+		} catch (ClassNotFoundException e) {
+			// Older Paper versions can't convert components to messages directly
+		}
+
+		this.isPaperBrigadierPresent = tempPaperBrigadierPresent;
 	}
 
 	/**
@@ -101,6 +115,21 @@ public class PaperImplementations {
 		return this.feedbackForwardingCommandSender;
 	}
 
+	/**
+	 * Converts an adventure component to a brigadier {@link Message}. On Paper, the component is converted
+	 * directly, otherwise it is serialized to JSON and parsed by Minecraft.
+	 *
+	 * @param component the adventure component to convert
+	 * @return a native Minecraft message which can be used by brigadier
+	 */
+	public Message messageFromAdventureComponent(Component component) {
+		if (isPaperPresent && isPaperBrigadierPresent) {
+			return PaperBrigadier.message(component);
+		} else {
+			return nmsInstance.generateMessageFromJson(GsonComponentSerializer.gson().serialize(component));
+		}
+	}
+
 	/**
 	 * Builds a {@link WrapperCommandSyntaxException} from a message with colour codes like {@link ChatColor} or using the § symbol.
 	 *
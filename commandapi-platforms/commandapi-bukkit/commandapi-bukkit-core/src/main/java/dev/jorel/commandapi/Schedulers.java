@@ -1,5 +1,9 @@
 package dev.jorel.commandapi;
 
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ProxiedCommandSender;
+import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 
 public class Schedulers {
@@ -35,6 +39,34 @@ public class Schedulers {
 		}
 	}
 
+	/**
+	 * Runs a task on the next tick. On Folia, this runs on the thread of the
+	 * region that owns the command sender, if it is an entity or a command block.
+	 * If the entity is removed before the task is run, the task is not run.
+	 *
+	 * @param plugin   the plugin scheduling the task
+	 * @param sender   the command sender that the task is run for
+	 * @param runnable the task to run
+	 */
+	public void scheduleSync(Plugin plugin, CommandSender sender, Runnable runnable) {
+		if (paperImplementations.isFoliaPresent()) {
+			if (sender instanceof ProxiedCommandSender proxiedSender) {
+				// Commands run using /execute as <entity> affect the callee
+				sender = proxiedSender.getCallee();
+			}
+
+			if (sender instanceof Entity entity) {
+				entity.getScheduler().run(plugin, task -> runnable.run(), null);
+			} else if (sender instanceof BlockCommandSender blockSender) {
+				plugin.getServer().getRegionScheduler().execute(plugin, blockSender.getBlock().getLocation(), runnable);
+			} else {
+				plugin.getServer().getGlobalRegionScheduler().execute(plugin, runnable);
+			}
+		} else {
+			plugin.getServer().getScheduler().runTask(plugin, runnable);
+		}
+	}
+
 	public void scheduleSyncDelayed(Plugin plugin, Runnable runnable, long delay) {
 		if (paperImplementations.isFoliaPresent()) {
 			plugin.getServer().getGlobalRegionScheduler().execute(plugin, runnable);
@@ -0,0 +1,92 @@
+package dev.jorel.commandapi;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+
+/**
+ * Copies the nodes of a command tree that a command source can use, in the same
+ * way as CraftBukkit's {@code Commands#sendCommands}. This is used to build the
+ * tree sent to a group of players with the same {@link CommandTreeProfile} when
+ * {@link InternalBukkitConfig#shouldShareCommandTrees()} is enabled.
+ * <p>
+ * Like CraftBukkit, the vanilla command tree is copied before the command tree
+ * that is sent. Vanilla commands are added to the server's command tree as the
+ * same node objects, so their redirects (for example, {@code /execute run}
+ * redirects to the root of the vanilla tree) point at nodes of the vanilla tree.
+ * Copying the vanilla tree first means those redirects point at a copy, instead
+ * of being sent without a target.
+ */
+public final class UsableCommandTree {
+
+	private UsableCommandTree() {
+	}
+
+	/**
+	 * Copies the nodes of a command tree that a source can use
+	 *
+	 * @param <Source>    the command source type
+	 * @param <Target>    the command source type of the copied tree
+	 * @param vanillaRoot the root of the vanilla command tree, whose nodes may be
+	 *                    the targets of redirects in the command tree
+	 * @param root        the root of the command tree to copy
+	 * @param source      the command source the tree is copied for
+	 * @param shouldSend  checks whether a node that the source can use should be
+	 *                    copied, for example to skip namespaced commands
+	 * @param adapter     modifies the builder of each copied node, for example to
+	 *                    replace its suggestions with ones the client understands.
+	 *                    Requirements, executors and redirects have already been
+	 *                    replaced when this is called
+	 * @return the root of the copied command tree
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static <Source, Target> RootCommandNode<Target> copy(RootCommandNode<Source> vanillaRoot, RootCommandNode<Source> root,
+			Source source, Predicate<CommandNode<Source>> shouldSend, UnaryOperator<ArgumentBuilder> adapter) {
+		Map<CommandNode<Source>, CommandNode<Target>> copiedNodes = new IdentityHashMap<>();
+
+		RootCommandNode<Target> vanillaCopy = new RootCommandNode<>();
+		copiedNodes.put(vanillaRoot, vanillaCopy);
+		fill(vanillaRoot, vanillaCopy, source, shouldSend, adapter, copiedNodes);
+
+		RootCommandNode<Target> copy = new RootCommandNode<>();
+		copiedNodes.put(root, copy);
+		fill(root, copy, source, shouldSend, adapter, copiedNodes);
+		return copy;
+	}
+
+	// Copied from Commands#fillUsableCommands, which is private
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static <Source, Target> void fill(CommandNode<Source> tree, CommandNode<Target> result, Source source,
+			Predicate<CommandNode<Source>> shouldSend, UnaryOperator<ArgumentBuilder> adapter,
+			Map<CommandNode<Source>, CommandNode<Target>> copiedNodes) {
+		for (CommandNode<Source> node : tree.getChildren()) {
+			if (!shouldSend.test(node)) {
+				continue;
+			}
+			if (node.canUse(source)) {
+				ArgumentBuilder builder = node.createBuilder();
+				builder.requires(s -> true);
+				if (builder.getCommand() != null) {
+					builder.executes(ctx -> 0);
+				}
+				if (builder.getRedirect() != null) {
+					builder.redirect(copiedNodes.get(builder.getRedirect()));
+				}
+				builder = adapter.apply(builder);
+
+				CommandNode<Target> copy = builder.build();
+				copiedNodes.put(node, copy);
+				result.addChild(copy);
+				if (!node.getChildren().isEmpty()) {
+					fill(node, copy, source, shouldSend, adapter, copiedNodes);
+				}
+			}
+		}
+	}
+
+}
@@ -37,6 +37,12 @@ public enum ArgumentSubType {
 	 */
 	ENTITYSELECTOR_MANY_ENTITIES,
 
+	/**
+	 * Many entities, converted to Bukkit entities as they are accessed. Returns a
+	 * {@link Collection}{@code <}{@link Entity}{@code >}
+	 */
+	ENTITYSELECTOR_MANY_ENTITIES_LAZY,
+
 	/**
 	 * Many players. Returns a {@link Collection}{@code <}{@link Player}{@code >}
 	 */
@@ -24,6 +24,7 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import dev.jorel.commandapi.CommandAPIBukkit;
 import dev.jorel.commandapi.executors.CommandArguments;
+import dev.jorel.commandapi.wrappers.LazyEntityList;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
@@ -124,6 +125,8 @@ public class EntitySelectorArgument {
 	@SuppressWarnings("rawtypes")
 	public static class ManyEntities extends Argument<Collection> {
 
+		private boolean lazy = false;
+
 		/**
 		 * An argument that represents many entities
 		 * @param nodeName the name of the node for this argument
@@ -132,6 +135,29 @@ public class EntitySelectorArgument {
 			super(nodeName, CommandAPIBukkit.get()._ArgumentEntity(ArgumentSubType.ENTITYSELECTOR_MANY_ENTITIES));
 		}
 
+		/**
+		 * Sets whether the selected entities should be converted to Bukkit entities
+		 * lazily. If true, this argument returns an unmodifiable
+		 * {@link LazyEntityList} which only converts an entity when it is accessed,
+		 * and whose size can be retrieved without converting any entities. If false
+		 * (the default), this argument returns a modifiable list of entities.
+		 * 
+		 * @param lazy whether the selected entities should be converted lazily
+		 * @return this argument
+		 */
+		public ManyEntities lazy(boolean lazy) {
+			this.lazy = lazy;
+			return this;
+		}
+
+		/**
+		 * @return whether the selected entities are converted to Bukkit entities
+		 *         lazily
+		 */
+		public boolean isLazy() {
+			return this.lazy;
+		}
+
 		@Override
 		public Class<Collection> getPrimitiveType() {
 			return Collection.class;
@@ -145,7 +171,8 @@ public class EntitySelectorArgument {
 		@SuppressWarnings("unchecked")
 		@Override
 		public <CommandSourceStack> Collection<Entity> parseArgument(CommandContext<CommandSourceStack> cmdCtx, String key, CommandArguments previousArgs) throws CommandSyntaxException {
-			return (Collection<Entity>) CommandAPIBukkit.<CommandSourceStack>get().getEntitySelector(cmdCtx, key, ArgumentSubType.ENTITYSELECTOR_MANY_ENTITIES);
+			return (Collection<Entity>) CommandAPIBukkit.<CommandSourceStack>get().getEntitySelector(cmdCtx, key,
+				lazy ? ArgumentSubType.ENTITYSELECTOR_MANY_ENTITIES_LAZY : ArgumentSubType.ENTITYSELECTOR_MANY_ENTITIES);
 		}
 
 		@SuppressWarnings("unchecked")
@@ -24,12 +24,14 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import dev.jorel.commandapi.CommandAPIBukkit;
 import dev.jorel.commandapi.executors.CommandArguments;
-import org.bukkit.inventory.ItemStack;
+import dev.jorel.commandapi.wrappers.ItemStackPredicate;
 
 import java.util.function.Predicate;
 
 /**
- * An argument that represents a <code>Predicate&lt;ItemStack&gt;</code>
+ * An argument that represents a <code>Predicate&lt;ItemStack&gt;</code>. The
+ * parsed predicate is an {@link ItemStackPredicate}, which can also be used to
+ * test the contents of an entire inventory
  * 
  * @since 4.0
  */
@@ -55,7 +57,7 @@ public class ItemStackPredicateArgument extends Argument<Predicate> {
 	}
 	
 	@Override
-	public <CommandSourceStack> Predicate<ItemStack> parseArgument(CommandContext<CommandSourceStack> cmdCtx, String key, CommandArguments previousArgs) throws CommandSyntaxException {
+	public <CommandSourceStack> ItemStackPredicate parseArgument(CommandContext<CommandSourceStack> cmdCtx, String key, CommandArguments previousArgs) throws CommandSyntaxException {
 		return CommandAPIBukkit.<CommandSourceStack>get().getItemStackPredicate(cmdCtx, key);
 	}
 }
@@ -0,0 +1,44 @@
+package dev.jorel.commandapi.executors;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.entity.Player;
+
+import dev.jorel.commandapi.commandsenders.BukkitPlayer;
+import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
+
+/**
+ * An asynchronous command executor for a Player
+ */
+@FunctionalInterface
+public interface AsyncPlayerCommandExecutor extends AsyncExecutor<Player, BukkitPlayer> {
+
+	/**
+	 * The code to run asynchronously when this command is performed
+	 *
+	 * @param sender The sender of this command
+	 * @param args The arguments given to this command.
+	 * @return a future which completes when this command has finished, or null
+	 */
+	CompletableFuture<?> run(Player sender, CommandArguments args) throws WrapperCommandSyntaxException;
+
+	/**
+	 * The code to run asynchronously when this command is performed
+	 *
+	 * @param info The ExecutionInfo for this command
+	 * @return a future which completes when this command has finished, or null
+	 */
+	@Override
+	default CompletableFuture<?> runAsync(ExecutionInfo<Player, BukkitPlayer> info) throws WrapperCommandSyntaxException {
+		return this.run(info.sender(), info.args());
+	}
+
+	/**
+	 * Returns the type of the sender of the current executor.
+	 * @return the type of the sender of the current executor
+	 */
+	@Override
+	default ExecutorType getType() {
+		return ExecutorType.PLAYER;
+	}
+}
@@ -65,6 +65,7 @@ import dev.jorel.commandapi.arguments.SuggestionProviders;
 import dev.jorel.commandapi.wrappers.FloatRange;
 import dev.jorel.commandapi.wrappers.FunctionWrapper;
 import dev.jorel.commandapi.wrappers.IntegerRange;
+import dev.jorel.commandapi.wrappers.ItemStackPredicate;
 import dev.jorel.commandapi.wrappers.Location2D;
 import dev.jorel.commandapi.wrappers.MathOperation;
 import dev.jorel.commandapi.wrappers.ParticleData;
@@ -126,7 +127,10 @@ public interface NMS<CommandListenerWrapper> {
 	 * @param subType one of {@link ArgumentSubType#ENTITYSELECTOR_MANY_ENTITIES},
 	 *                {@link ArgumentSubType#ENTITYSELECTOR_MANY_PLAYERS},
 	 *                {@link ArgumentSubType#ENTITYSELECTOR_ONE_ENTITY} or
-	 *                {@link ArgumentSubType#ENTITYSELECTOR_ONE_PLAYER}
+	 *                {@link ArgumentSubType#ENTITYSELECTOR_ONE_PLAYER}.
+	 *                {@link ArgumentSubType#ENTITYSELECTOR_MANY_ENTITIES_LAZY}
+	 *                uses the same argument as
+	 *                {@link ArgumentSubType#ENTITYSELECTOR_MANY_ENTITIES}
 	 * @return Entity selector argument (minecraft:entity)
 	 */
 	ArgumentType<?> _ArgumentEntity(ArgumentSubType subType);
@@ -310,6 +314,17 @@ public interface NMS<CommandListenerWrapper> {
 
 	Enchantment getEnchantment(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException; // Throws exception in 1.19.3
 
+	/**
+	 * @param subType one of {@link ArgumentSubType#ENTITYSELECTOR_MANY_ENTITIES},
+	 *                {@link ArgumentSubType#ENTITYSELECTOR_MANY_ENTITIES_LAZY},
+	 *                {@link ArgumentSubType#ENTITYSELECTOR_MANY_PLAYERS},
+	 *                {@link ArgumentSubType#ENTITYSELECTOR_ONE_ENTITY} or
+	 *                {@link ArgumentSubType#ENTITYSELECTOR_ONE_PLAYER}
+	 * @return the selected entity or player, or a collection of the selected
+	 *         entities or players. For
+	 *         {@link ArgumentSubType#ENTITYSELECTOR_MANY_ENTITIES_LAZY}, this is an
+	 *         unmodifiable {@link dev.jorel.commandapi.wrappers.LazyEntityList}
+	 */
 	Object getEntitySelector(CommandContext<CommandListenerWrapper> cmdCtx, String key, ArgumentSubType subType)
 		throws CommandSyntaxException;
 
@@ -328,7 +343,7 @@ public interface NMS<CommandListenerWrapper> {
 
 	ItemStack getItemStack(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException;
 
-	Predicate<ItemStack> getItemStackPredicate(CommandContext<CommandListenerWrapper> cmdCtx, String key)
+	ItemStackPredicate getItemStackPredicate(CommandContext<CommandListenerWrapper> cmdCtx, String key)
 		throws CommandSyntaxException;
 
 	Location2D getLocation2DBlock(CommandContext<CommandListenerWrapper> cmdCtx, String key)
@@ -451,8 +466,6 @@ public interface NMS<CommandListenerWrapper> {
 	 */
 	void reloadDataPacks();
 
-	HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission);
-
 	Map<String, HelpTopic> getHelpMap();
 
 	Message generateMessageFromJson(String json);
@@ -0,0 +1,78 @@
+package dev.jorel.commandapi.wrappers;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.function.Predicate;
+
+/**
+ * A {@code Predicate<ItemStack>} produced by the
+ * {@link dev.jorel.commandapi.arguments.ItemStackPredicateArgument}. When the
+ * tested {@link ItemStack} is backed by the server (for example, items
+ * retrieved from an {@link Inventory}), the predicate is evaluated directly
+ * against the server's item without copying it.
+ * <p>
+ * In addition to testing single items, this provides methods for testing the
+ * contents of an entire {@link Inventory}:
+ * <ul>
+ * <li>{@link ItemStackPredicate#testAll(Inventory)} - counts the number of
+ * matching items in an inventory</li>
+ * <li>{@link ItemStackPredicate#testAll(Inventory, int)} - counts the number
+ * of matching items in an inventory, stopping once a limit has been
+ * reached</li>
+ * <li>{@link ItemStackPredicate#testAny(Inventory)} - checks whether an
+ * inventory contains any matching item</li>
+ * </ul>
+ */
+@FunctionalInterface
+public interface ItemStackPredicate extends Predicate<ItemStack> {
+
+	/**
+	 * Counts the number of items in an inventory that match this predicate. The
+	 * count is the sum of the amounts of every matching {@link ItemStack}, similar
+	 * to Minecraft's {@code /clear <player> <item> 0} command.
+	 *
+	 * @param inventory the inventory whose contents should be tested
+	 * @return the total number of matching items in the inventory
+	 */
+	default int testAll(Inventory inventory) {
+		return testAll(inventory, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Counts the number of items in an inventory that match this predicate,
+	 * stopping as soon as {@code limit} matching items have been found. The count
+	 * is the sum of the amounts of every matching {@link ItemStack}.
+	 *
+	 * @param inventory the inventory whose contents should be tested
+	 * @param limit     the number of matching items after which the inventory
+	 *                  should no longer be scanned
+	 * @return the number of matching items in the inventory, which is at most
+	 *         {@code limit}
+	 */
+	default int testAll(Inventory inventory, int limit) {
+		int count = 0;
+		for (ItemStack item : inventory.getContents()) {
+			if (item != null && item.getAmount() > 0 && test(item)) {
+				count += item.getAmount();
+				if (count >= limit) {
+					return limit;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Checks whether an inventory contains at least one item that matches this
+	 * predicate. The inventory is no longer scanned once a matching item has been
+	 * found.
+	 *
+	 * @param inventory the inventory whose contents should be tested
+	 * @return true if the inventory contains a matching item, false otherwise
+	 */
+	default boolean testAny(Inventory inventory) {
+		return testAll(inventory, 1) > 0;
+	}
+
+}
@@ -0,0 +1,54 @@
+package dev.jorel.commandapi.wrappers;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * An unmodifiable list of entities that converts each element from its
+ * internal server representation to a Bukkit entity when it is accessed.
+ * Retrieving the {@link LazyEntityList#size()} of this list doesn't convert any
+ * entities.
+ * <p>
+ * This is returned by a
+ * {@link dev.jorel.commandapi.arguments.EntitySelectorArgument.ManyEntities}
+ * argument when {@link dev.jorel.commandapi.arguments.EntitySelectorArgument.ManyEntities#lazy(boolean)}
+ * is enabled.
+ *
+ * @param <ServerEntity> the server's internal entity type
+ * @param <Entity>       the Bukkit entity type
+ */
+public final class LazyEntityList<ServerEntity, Entity> extends AbstractList<Entity> implements RandomAccess {
+
+	private final List<? extends ServerEntity> entities;
+	private final Function<? super ServerEntity, ? extends Entity> converter;
+
+	/**
+	 * Creates a new lazily converted list of entities
+	 *
+	 * @param entities  the list of server entities. This list is not copied
+	 * @param converter a function that converts a server entity into a Bukkit
+	 *                  entity
+	 */
+	public LazyEntityList(List<? extends ServerEntity> entities, Function<? super ServerEntity, ? extends Entity> converter) {
+		this.entities = entities;
+		this.converter = converter;
+	}
+
+	@Override
+	public Entity get(int index) {
+		return converter.apply(entities.get(index));
+	}
+
+	@Override
+	public int size() {
+		return entities.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return entities.isEmpty();
+	}
+
+}
@@ -44,21 +44,66 @@ public class NativeProxyCommandSender implements ProxiedCommandSender {
 
 	private final CommandSender caller;
 	private final CommandSender callee;
-	private final Location location;
 	private final World world;
+	private final double x;
+	private final double y;
+	private final double z;
+	private final float yaw;
+	private final float pitch;
+	// Created from the coordinates the first time it is needed, unless a Location (which may be null) was given
+	private Location location;
+	private boolean hasLocation;
 
 	/**
 	 * Constructs a NativeProxyCommandSender, which is basically Minecraft's CommandListenerWrapper
 	 * @param caller the command sender that actually sent the command
 	 * @param callee the command sender that will be executing the command
-	 * @param location the proxied location that the command will be run at 
+	 * @param location the proxied location that the command will be run at. If this is null,
+	 * {@link #getLocation()} returns null and the coordinates and rotation are 0
 	 * @param world the proxied world that the command will be run in
 	 */
 	public NativeProxyCommandSender(CommandSender caller, CommandSender callee, Location location, World world) {
 		this.caller = caller;
 		this.callee = callee == null ? caller : callee;
 		this.location = location;
+		this.hasLocation = true;
 		this.world = world;
+		if (location == null) {
+			this.x = 0;
+			this.y = 0;
+			this.z = 0;
+			this.yaw = 0;
+			this.pitch = 0;
+		} else {
+			this.x = location.getX();
+			this.y = location.getY();
+			this.z = location.getZ();
+			this.yaw = location.getYaw();
+			this.pitch = location.getPitch();
+		}
+	}
+
+	/**
+	 * Constructs a NativeProxyCommandSender, which is basically Minecraft's CommandListenerWrapper. The
+	 * {@link Location} is only created if {@link #getLocation()} is called.
+	 * @param caller the command sender that actually sent the command
+	 * @param callee the command sender that will be executing the command
+	 * @param world the proxied world that the command will be run in
+	 * @param x the x coordinate that the command will be run at
+	 * @param y the y coordinate that the command will be run at
+	 * @param z the z coordinate that the command will be run at
+	 * @param yaw the yaw rotation that the command will be run with
+	 * @param pitch the pitch rotation that the command will be run with
+	 */
+	public NativeProxyCommandSender(CommandSender caller, CommandSender callee, World world, double x, double y, double z, float yaw, float pitch) {
+		this.caller = caller;
+		this.callee = callee == null ? caller : callee;
+		this.world = world;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.yaw = yaw;
+		this.pitch = pitch;
 	}
 	
 	/**
@@ -156,9 +201,53 @@ public class NativeProxyCommandSender implements ProxiedCommandSender {
 	 * @return the location that this native command sender represents
 	 */
 	public Location getLocation() {
+		if (!this.hasLocation) {
+			this.location = new Location(this.world, this.x, this.y, this.z, this.yaw, this.pitch);
+			this.hasLocation = true;
+		}
 		return this.location;
 	}
 
+	/**
+	 * Returns the x coordinate that this native command sender represents, without creating a {@link Location}
+	 * @return the x coordinate that this native command sender represents
+	 */
+	public double getX() {
+		return this.x;
+	}
+
+	/**
+	 * Returns the y coordinate that this native command sender represents, without creating a {@link Location}
+	 * @return the y coordinate that this native command sender represents
+	 */
+	public double getY() {
+		return this.y;
+	}
+
+	/**
+	 * Returns the z coordinate that this native command sender represents, without creating a {@link Location}
+	 * @return the z coordinate that this native command sender represents
+	 */
+	public double getZ() {
+		return this.z;
+	}
+
+	/**
+	 * Returns the yaw rotation that this native command sender represents, without creating a {@link Location}
+	 * @return the yaw rotation that this native command sender represents
+	 */
+	public float getYaw() {
+		return this.yaw;
+	}
+
+	/**
+	 * Returns the pitch rotation that this native command sender represents, without creating a {@link Location}
+	 * @return the pitch rotation that this native command sender represents
+	 */
+	public float getPitch() {
+		return this.pitch;
+	}
+
 	/**
      * Gets the name of this command sender
      *
@@ -2,7 +2,7 @@ package dev.jorel.commandapi.nms;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.lang.invoke.MethodHandle;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -45,7 +45,6 @@ import org.bukkit.craftbukkit.v1_15_R1.command.BukkitCommandWrapper;
 import org.bukkit.craftbukkit.v1_15_R1.command.VanillaCommandWrapper;
 import org.bukkit.craftbukkit.v1_15_R1.enchantments.CraftEnchantment;
 import org.bukkit.craftbukkit.v1_15_R1.entity.CraftEntity;
-import org.bukkit.craftbukkit.v1_15_R1.help.CustomHelpTopic;
 import org.bukkit.craftbukkit.v1_15_R1.help.SimpleHelpMap;
 import org.bukkit.craftbukkit.v1_15_R1.inventory.CraftItemStack;
 import org.bukkit.craftbukkit.v1_15_R1.potion.CraftPotionEffectType;
@@ -85,6 +84,8 @@ import dev.jorel.commandapi.wrappers.ComplexRecipeImpl;
 import dev.jorel.commandapi.wrappers.FloatRange;
 import dev.jorel.commandapi.wrappers.FunctionWrapper;
 import dev.jorel.commandapi.wrappers.IntegerRange;
+import dev.jorel.commandapi.wrappers.ItemStackPredicate;
+import dev.jorel.commandapi.wrappers.LazyEntityList;
 import dev.jorel.commandapi.wrappers.Location2D;
 import dev.jorel.commandapi.wrappers.MathOperation;
 import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
@@ -173,29 +174,32 @@ import net.minecraft.server.v1_15_R1.Vec3D;
 @RequireField(in = ArgumentPredicateItemStack.class, name = "c", ofType = NBTTagCompound.class)
 @RequireField(in = CraftSound.class, name = "minecraftKey", ofType = String.class)
 @RequireField(in = EnumChatFormat.class, name = "D", ofType = Integer.class)
+@RequireField(in = CraftItemStack.class, name = "handle", ofType = ItemStack.class)
 public class NMS_1_15 extends NMSWrapper_1_15 {
 
 	private static final SafeVarHandle<SimpleHelpMap, Map<String, HelpTopic>> helpMapTopics;
-	private static final Field entitySelectorCheckPermissions;
+	private static final MethodHandle entitySelectorCheckPermissions;
 	private static final SafeVarHandle<ParticleParamBlock, IBlockData> particleParamBlockData;
 	private static final SafeVarHandle<ParticleParamItem, ItemStack> particleParamItemStack;
 	private static final SafeVarHandle<ParticleParamRedstone, Float> particleParamRedstoneSize;
 	private static final SafeVarHandle<ArgumentPredicateItemStack, NBTTagCompound> itemStackPredicateArgument;
 	private static final SafeVarHandle<CraftSound, String> craftSoundMinecraftKey;
 	private static final SafeVarHandle<EnumChatFormat, Integer> enumChatFormatD;
+	private static final SafeVarHandle<CraftItemStack, ItemStack> craftItemStackHandle;
 
 	// Compute all var handles all in one go so we don't do this during main server
 	// runtime
 	static {
 		helpMapTopics = SafeVarHandle.ofOrNull(SimpleHelpMap.class, "helpTopics", "helpTopics", Map.class);
-		// For some reason, MethodHandles fails for this field, but Field works okay
-		entitySelectorCheckPermissions = CommandAPIHandler.getField(EntitySelector.class, "checkPermissions", "checkPermissions");
+		// VarHandles can't set final fields, but a setter MethodHandle from a Field can
+		entitySelectorCheckPermissions = CommandAPIHandler.getFieldSetter(EntitySelector.class, "checkPermissions", "checkPermissions");
 		particleParamBlockData = SafeVarHandle.ofOrNull(ParticleParamBlock.class, "c", "c", IBlockData.class);
 		particleParamItemStack = SafeVarHandle.ofOrNull(ParticleParamItem.class, "c", "c", ItemStack.class);
 		particleParamRedstoneSize = SafeVarHandle.ofOrNull(ParticleParamRedstone.class, "f", "f", float.class);
 		itemStackPredicateArgument = SafeVarHandle.ofOrNull(ArgumentPredicateItemStack.class, "c", "c", NBTTagCompound.class);
 		craftSoundMinecraftKey = SafeVarHandle.ofOrNull(CraftSound.class, "minecraftKey", "minecraftKey", String.class);
 		enumChatFormatD = SafeVarHandle.ofOrNull(EnumChatFormat.class, "D", "D", Integer.class);
+		craftItemStackHandle = SafeVarHandle.ofOrNull(CraftItemStack.class, "handle", "handle", ItemStack.class);
 	}
 
 	@SuppressWarnings("deprecation")
@@ -436,11 +440,6 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 				.toJson(ArgumentRegistry.a(dispatcher, dispatcher.getRoot())), file, StandardCharsets.UTF_8);
 	}
 
-	@Override
-	public HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission) {
-		return new CustomHelpTopic(commandName, shortDescription, fullDescription, permission);
-	}
-
 	@Override
 	public org.bukkit.advancement.Advancement getAdvancement(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException {
 		return ArgumentMinecraftKeyRegistered.a(cmdCtx, key).bukkit;
@@ -562,9 +561,12 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 	public Object getEntitySelector(CommandContext<CommandListenerWrapper> cmdCtx, String str, ArgumentSubType subType) throws CommandSyntaxException {
 		EntitySelector argument = cmdCtx.getArgument(str, EntitySelector.class);
 		try {
-			entitySelectorCheckPermissions.set(argument, false);
-		} catch (IllegalAccessException e) {
-			// Shouldn't happen, CommandAPIHandler#getField makes it accessible
+			entitySelectorCheckPermissions.invokeExact(argument, false);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			// Field setters don't throw checked exceptions, but invokeExact is declared to throw Throwable
+			throw new IllegalStateException(e);
 		}
 
 		return switch (subType) {
@@ -579,6 +581,12 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 				} catch (CommandSyntaxException e) {
 					yield new ArrayList<org.bukkit.entity.Entity>();
 				}
+			case ENTITYSELECTOR_MANY_ENTITIES_LAZY:
+				try {
+					yield new LazyEntityList<Entity, org.bukkit.entity.Entity>(argument.getEntities(cmdCtx.getSource()), Entity::getBukkitEntity);
+				} catch (CommandSyntaxException e) {
+					yield List.<org.bukkit.entity.Entity>of();
+				}
 			case ENTITYSELECTOR_MANY_PLAYERS:
 				// ArgumentEntity.d -> EntitySelector.d
 				try {
@@ -674,9 +682,28 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 	}
 
 	@Override
-	public Predicate<org.bukkit.inventory.ItemStack> getItemStackPredicate(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException {
+	public ItemStackPredicate getItemStackPredicate(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException {
 		Predicate<ItemStack> predicate = ArgumentItemPredicate.a(cmdCtx, key);
-		return item -> predicate.test(CraftItemStack.asNMSCopy(item));
+		return item -> predicate.test(asNMSItemStack(item));
+	}
+
+	/**
+	 * Returns the NMS ItemStack that backs a Bukkit ItemStack. CraftItemStacks are
+	 * not copied, so this should only be used to read the returned ItemStack. Any
+	 * other ItemStack implementation is copied into a new NMS ItemStack
+	 * 
+	 * @param item the Bukkit ItemStack
+	 * @return an NMS ItemStack that represents the provided Bukkit ItemStack
+	 */
+	private static ItemStack asNMSItemStack(org.bukkit.inventory.ItemStack item) {
+		if (item instanceof CraftItemStack craftItemStack) {
+			ItemStack handle = craftItemStackHandle.get(craftItemStack);
+			// CraftItemStacks representing air don't have a handle
+			if (handle != null) {
+				return handle;
+			}
+		}
+		return CraftItemStack.asNMSCopy(item);
 	}
 
 	@Override
@@ -840,10 +867,6 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 			// however this may also be null, so delegate to the next most-meaningful sender.
 			sender = Bukkit.getConsoleSender();
 		}
-		Vec3D pos = clw.getPosition();
-		Vec2F rot = clw.i();
-		World world = getWorldForCSS(clw);
-		Location location = new Location(world, pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i);
 
 		Entity proxyEntity = clw.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
@@ -851,7 +874,10 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 			if (proxy == null) {
 				proxy = sender;
 			}
-			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, location, world));
+			// The location is only needed by native senders, so it's only looked up here
+			Vec3D pos = clw.getPosition();
+			Vec2F rot = clw.i();
+			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, getWorldForCSS(clw), pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i));
 		} else {
 			return wrapCommandSender(sender);
 		}
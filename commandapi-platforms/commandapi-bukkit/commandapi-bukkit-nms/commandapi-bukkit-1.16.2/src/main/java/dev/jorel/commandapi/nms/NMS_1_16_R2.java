@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -49,7 +50,6 @@ import org.bukkit.craftbukkit.v1_16_R2.command.BukkitCommandWrapper;
 import org.bukkit.craftbukkit.v1_16_R2.command.VanillaCommandWrapper;
 import org.bukkit.craftbukkit.v1_16_R2.enchantments.CraftEnchantment;
 import org.bukkit.craftbukkit.v1_16_R2.entity.CraftEntity;
-import org.bukkit.craftbukkit.v1_16_R2.help.CustomHelpTopic;
 import org.bukkit.craftbukkit.v1_16_R2.help.SimpleHelpMap;
 import org.bukkit.craftbukkit.v1_16_R2.inventory.CraftItemStack;
 import org.bukkit.craftbukkit.v1_16_R2.potion.CraftPotionEffectType;
@@ -89,6 +89,8 @@ import dev.jorel.commandapi.wrappers.ComplexRecipeImpl;
 import dev.jorel.commandapi.wrappers.FloatRange;
 import dev.jorel.commandapi.wrappers.FunctionWrapper;
 import dev.jorel.commandapi.wrappers.IntegerRange;
+import dev.jorel.commandapi.wrappers.ItemStackPredicate;
+import dev.jorel.commandapi.wrappers.LazyEntityList;
 import dev.jorel.commandapi.wrappers.Location2D;
 import dev.jorel.commandapi.wrappers.MathOperation;
 import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
@@ -185,10 +187,11 @@ import net.minecraft.server.v1_16_R2.Vec3D;
 @RequireField(in = CraftSound.class, name = "minecraftKey", ofType = String.class)
 @RequireField(in = CustomFunctionManager.class, name = "h", ofType = CommandDispatcher.class)
 @RequireField(in = DataPackResources.class, name = "b", ofType = IReloadableResourceManager.class)
+@RequireField(in = CraftItemStack.class, name = "handle", ofType = ItemStack.class)
 public class NMS_1_16_R2 extends NMSWrapper_1_16_R2 {
 
 	private static final SafeVarHandle<SimpleHelpMap, Map<String, HelpTopic>> helpMapTopics;
-	private static final Field entitySelectorCheckPermissions;
+	private static final MethodHandle entitySelectorCheckPermissions;
 	private static final SafeVarHandle<ParticleParamBlock, IBlockData> particleParamBlockData;
 	private static final SafeVarHandle<ParticleParamItem, ItemStack> particleParamItemStack;
 	private static final SafeVarHandle<ParticleParamRedstone, Float> particleParamRedstoneSize;
@@ -196,12 +199,13 @@ public class NMS_1_16_R2 extends NMSWrapper_1_16_R2 {
 	private static final SafeVarHandle<CraftSound, String> craftSoundMinecraftKey;
 	private static final Field customFunctionManagerBrigadierDispatcher;
 	private static final SafeVarHandle<DataPackResources, IReloadableResourceManager> dataPackResources;
+	private static final SafeVarHandle<CraftItemStack, ItemStack> craftItemStackHandle;
 
 	// Compute all var handles all in one go so we don't do this during main server
 	// runtime
 	static {
-		// For some reason, MethodHandles fails for this field, but Field works okay
-		entitySelectorCheckPermissions = CommandAPIHandler.getField(EntitySelector.class, "checkPermissions", "checkPermissions");
+		// VarHandles can't set final fields, but a setter MethodHandle from a Field can
+		entitySelectorCheckPermissions = CommandAPIHandler.getFieldSetter(EntitySelector.class, "checkPermissions", "checkPermissions");
 		helpMapTopics = SafeVarHandle.ofOrNull(SimpleHelpMap.class, "helpTopics", "helpTopics", Map.class);
 		particleParamBlockData = SafeVarHandle.ofOrNull(ParticleParamBlock.class, "c", "c", IBlockData.class);
 		particleParamItemStack = SafeVarHandle.ofOrNull(ParticleParamItem.class, "c", "c", ItemStack.class);
@@ -211,6 +215,7 @@ public class NMS_1_16_R2 extends NMSWrapper_1_16_R2 {
 		// For some reason, MethodHandles fails for this field, but Field works okay
 		customFunctionManagerBrigadierDispatcher = CommandAPIHandler.getField(CustomFunctionManager.class, "h", "h");
 		dataPackResources = SafeVarHandle.ofOrNull(DataPackResources.class, "b", "b", IReloadableResourceManager.class);
+		craftItemStackHandle = SafeVarHandle.ofOrNull(CraftItemStack.class, "handle", "handle", ItemStack.class);
 	}
 
 	@SuppressWarnings("deprecation")
@@ -453,11 +458,6 @@ public class NMS_1_16_R2 extends NMSWrapper_1_16_R2 {
 				.toJson(ArgumentRegistry.a(dispatcher, dispatcher.getRoot())), file, StandardCharsets.UTF_8);
 	}
 
-	@Override
-	public HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission) {
-		return new CustomHelpTopic(commandName, shortDescription, fullDescription, permission);
-	}
-
 	@Override
 	public org.bukkit.advancement.Advancement getAdvancement(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException {
 		return ArgumentMinecraftKeyRegistered.a(cmdCtx, key).bukkit;
@@ -583,9 +583,12 @@ public class NMS_1_16_R2 extends NMSWrapper_1_16_R2 {
 	public Object getEntitySelector(CommandContext<CommandListenerWrapper> cmdCtx, String str, ArgumentSubType subType) throws CommandSyntaxException {
 		EntitySelector argument = cmdCtx.getArgument(str, EntitySelector.class);
 		try {
-			entitySelectorCheckPermissions.set(argument, false);
-		} catch (IllegalAccessException e) {
-			// Shouldn't happen, CommandAPIHandler#getField makes it accessible
+			entitySelectorCheckPermissions.invokeExact(argument, false);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			// Field setters don't throw checked exceptions, but invokeExact is declared to throw Throwable
+			throw new IllegalStateException(e);
 		}
 
 		return switch (subType) {
@@ -600,6 +603,12 @@ public class NMS_1_16_R2 extends NMSWrapper_1_16_R2 {
 				} catch (CommandSyntaxException e) {
 					yield new ArrayList<org.bukkit.entity.Entity>();
 				}
+			case ENTITYSELECTOR_MANY_ENTITIES_LAZY:
+				try {
+					yield new LazyEntityList<Entity, org.bukkit.entity.Entity>(argument.getEntities(cmdCtx.getSource()), Entity::getBukkitEntity);
+				} catch (CommandSyntaxException e) {
+					yield List.<org.bukkit.entity.Entity>of();
+				}
 			case ENTITYSELECTOR_MANY_PLAYERS:
 				// ArgumentEntity.d -> EntitySelector.d
 				try {
@@ -694,9 +703,28 @@ public class NMS_1_16_R2 extends NMSWrapper_1_16_R2 {
 	}
 
 	@Override
-	public Predicate<org.bukkit.inventory.ItemStack> getItemStackPredicate(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException {
+	public ItemStackPredicate getItemStackPredicate(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException {
 		Predicate<ItemStack> predicate = ArgumentItemPredicate.a(cmdCtx, key);
-		return item -> predicate.test(CraftItemStack.asNMSCopy(item));
+		return item -> predicate.test(asNMSItemStack(item));
+	}
+
+	/**
+	 * Returns the NMS ItemStack that backs a Bukkit ItemStack. CraftItemStacks are
+	 * not copied, so this should only be used to read the returned ItemStack. Any
+	 * other ItemStack implementation is copied into a new NMS ItemStack
+	 * 
+	 * @param item the Bukkit ItemStack
+	 * @return an NMS ItemStack that represents the provided Bukkit ItemStack
+	 */
+	private static ItemStack asNMSItemStack(org.bukkit.inventory.ItemStack item) {
+		if (item instanceof CraftItemStack craftItemStack) {
+			ItemStack handle = craftItemStackHandle.get(craftItemStack);
+			// CraftItemStacks representing air don't have a handle
+			if (handle != null) {
+				return handle;
+			}
+		}
+		return CraftItemStack.asNMSCopy(item);
 	}
 
 	@Override
@@ -859,10 +887,6 @@ public class NMS_1_16_R2 extends NMSWrapper_1_16_R2 {
 			// however this may also be null, so delegate to the next most-meaningful sender.
 			sender = Bukkit.getConsoleSender();
 		}
-		Vec3D pos = clw.getPosition();
-		Vec2F rot = clw.i();
-		World world = getWorldForCSS(clw);
-		Location location = new Location(world, pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i);
 
 		Entity proxyEntity = clw.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
@@ -870,7 +894,10 @@ public class NMS_1_16_R2 extends NMSWrapper_1_16_R2 {
 			if (proxy == null) {
 				proxy = sender;
 			}
-			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, location, world));
+			// The location is only needed by native senders, so it's only looked up here
+			Vec3D pos = clw.getPosition();
+			Vec2F rot = clw.i();
+			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, getWorldForCSS(clw), pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i));
 		} else {
 			return wrapCommandSender(sender);
 		}
@@ -24,6 +24,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -69,7 +70,6 @@ import org.bukkit.craftbukkit.v1_16_R3.command.BukkitCommandWrapper;
 import org.bukkit.craftbukkit.v1_16_R3.command.VanillaCommandWrapper;
 import org.bukkit.craftbukkit.v1_16_R3.enchantments.CraftEnchantment;
 import org.bukkit.craftbukkit.v1_16_R3.entity.CraftEntity;
-import org.bukkit.craftbukkit.v1_16_R3.help.CustomHelpTopic;
 import org.bukkit.craftbukkit.v1_16_R3.help.SimpleHelpMap;
 import org.bukkit.craftbukkit.v1_16_R3.inventory.CraftItemStack;
 import org.bukkit.craftbukkit.v1_16_R3.potion.CraftPotionEffectType;
@@ -109,6 +109,8 @@ import dev.jorel.commandapi.wrappers.ComplexRecipeImpl;
 import dev.jorel.commandapi.wrappers.FloatRange;
 import dev.jorel.commandapi.wrappers.FunctionWrapper;
 import dev.jorel.commandapi.wrappers.IntegerRange;
+import dev.jorel.commandapi.wrappers.ItemStackPredicate;
+import dev.jorel.commandapi.wrappers.LazyEntityList;
 import dev.jorel.commandapi.wrappers.Location2D;
 import dev.jorel.commandapi.wrappers.MathOperation;
 import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
@@ -204,22 +206,24 @@ import net.minecraft.server.v1_16_R3.Vec3D;
 @RequireField(in = ArgumentPredicateItemStack.class, name = "c", ofType = NBTTagCompound.class)
 @RequireField(in = CustomFunctionManager.class, name = "h", ofType = CommandDispatcher.class)
 @RequireField(in = DataPackResources.class, name = "b", ofType = IReloadableResourceManager.class)
+@RequireField(in = CraftItemStack.class, name = "handle", ofType = ItemStack.class)
 public class NMS_1_16_4_R3 extends NMSWrapper_1_16_4_R3 {
 
 	private static final SafeVarHandle<SimpleHelpMap, Map<String, HelpTopic>> helpMapTopics;
-	private static final Field entitySelectorCheckPermissions;
+	private static final MethodHandle entitySelectorCheckPermissions;
 	private static final SafeVarHandle<ParticleParamBlock, IBlockData> particleParamBlockData;
 	private static final SafeVarHandle<ParticleParamItem, ItemStack> particleParamItemStack;
 	private static final SafeVarHandle<ParticleParamRedstone, Float> particleParamRedstoneSize;
 	private static final SafeVarHandle<ArgumentPredicateItemStack, NBTTagCompound> itemStackPredicateArgument;
 	private static final Field customFunctionManagerBrigadierDispatcher;
 	private static final SafeVarHandle<DataPackResources, IReloadableResourceManager> dataPackResources;
+	private static final SafeVarHandle<CraftItemStack, ItemStack> craftItemStackHandle;
 
 	// Compute all var handles all in one go so we don't do this during main server
 	// runtime
 	static {
-		// For some reason, MethodHandles fails for this field, but Field works okay
-		entitySelectorCheckPermissions = CommandAPIHandler.getField(EntitySelector.class, "checkPermissions", "checkPermissions");
+		// VarHandles can't set final fields, but a setter MethodHandle from a Field can
+		entitySelectorCheckPermissions = CommandAPIHandler.getFieldSetter(EntitySelector.class, "checkPermissions", "checkPermissions");
 		helpMapTopics = SafeVarHandle.ofOrNull(SimpleHelpMap.class, "helpTopics", "helpTopics", Map.class);
 		particleParamBlockData = SafeVarHandle.ofOrNull(ParticleParamBlock.class, "c", "c", IBlockData.class);
 		particleParamItemStack = SafeVarHandle.ofOrNull(ParticleParamItem.class, "c", "c", ItemStack.class);
@@ -228,6 +232,7 @@ public class NMS_1_16_4_R3 extends NMSWrapper_1_16_4_R3 {
 		// For some reason, MethodHandles fails for this field, but Field works okay
 		customFunctionManagerBrigadierDispatcher = CommandAPIHandler.getField(CustomFunctionManager.class, "h", "h");
 		dataPackResources = SafeVarHandle.ofOrNull(DataPackResources.class, "b", "b", IReloadableResourceManager.class);
+		craftItemStackHandle = SafeVarHandle.ofOrNull(CraftItemStack.class, "handle", "handle", ItemStack.class);
 	}
 
 	@SuppressWarnings("deprecation")
@@ -403,11 +408,6 @@ public class NMS_1_16_4_R3 extends NMSWrapper_1_16_4_R3 {
 				.toJson(ArgumentRegistry.a(dispatcher, dispatcher.getRoot())), file, StandardCharsets.UTF_8);
 	}
 
-	@Override
-	public HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission) {
-		return new CustomHelpTopic(commandName, shortDescription, fullDescription, permission);
-	}
-
 	@Override
 	public org.bukkit.advancement.Advancement getAdvancement(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException {
 		return ArgumentMinecraftKeyRegistered.a(cmdCtx, key).bukkit;
@@ -539,9 +539,12 @@ public class NMS_1_16_4_R3 extends NMSWrapper_1_16_4_R3 {
 	public Object getEntitySelector(CommandContext<CommandListenerWrapper> cmdCtx, String str, ArgumentSubType subType) throws CommandSyntaxException {
 		EntitySelector argument = cmdCtx.getArgument(str, EntitySelector.class);
 		try {
-			entitySelectorCheckPermissions.set(argument, false);
-		} catch (IllegalAccessException e) {
-			// Shouldn't happen, CommandAPIHandler#getField makes it accessible
+			entitySelectorCheckPermissions.invokeExact(argument, false);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			// Field setters don't throw checked exceptions, but invokeExact is declared to throw Throwable
+			throw new IllegalStateException(e);
 		}
 
 		return switch (subType) {
@@ -556,6 +559,12 @@ public class NMS_1_16_4_R3 extends NMSWrapper_1_16_4_R3 {
 				} catch (CommandSyntaxException e) {
 					yield new ArrayList<org.bukkit.entity.Entity>();
 				}
+			case ENTITYSELECTOR_MANY_ENTITIES_LAZY:
+				try {
+					yield new LazyEntityList<Entity, org.bukkit.entity.Entity>(argument.getEntities(cmdCtx.getSource()), Entity::getBukkitEntity);
+				} catch (CommandSyntaxException e) {
+					yield List.<org.bukkit.entity.Entity>of();
+				}
 			case ENTITYSELECTOR_MANY_PLAYERS:
 				// ArgumentEntity.d -> EntitySelector.d
 				try {
@@ -648,9 +657,28 @@ public class NMS_1_16_4_R3 extends NMSWrapper_1_16_4_R3 {
 	}
 
 	@Override
-	public Predicate<org.bukkit.inventory.ItemStack> getItemStackPredicate(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException {
+	public ItemStackPredicate getItemStackPredicate(CommandContext<CommandListenerWrapper> cmdCtx, String key) throws CommandSyntaxException {
 		Predicate<ItemStack> predicate = ArgumentItemPredicate.a(cmdCtx, key);
-		return item -> predicate.test(CraftItemStack.asNMSCopy(item));
+		return item -> predicate.test(asNMSItemStack(item));
+	}
+
+	/**
+	 * Returns the NMS ItemStack that backs a Bukkit ItemStack. CraftItemStacks are
+	 * not copied, so this should only be used to read the returned ItemStack. Any
+	 * other ItemStack implementation is copied into a new NMS ItemStack
+	 * 
+	 * @param item the Bukkit ItemStack
+	 * @return an NMS ItemStack that represents the provided Bukkit ItemStack
+	 */
+	private static ItemStack asNMSItemStack(org.bukkit.inventory.ItemStack item) {
+		if (item instanceof CraftItemStack craftItemStack) {
+			ItemStack handle = craftItemStackHandle.get(craftItemStack);
+			// CraftItemStacks representing air don't have a handle
+			if (handle != null) {
+				return handle;
+			}
+		}
+		return CraftItemStack.asNMSCopy(item);
 	}
 
 	@Override
@@ -813,10 +841,6 @@ public class NMS_1_16_4_R3 extends NMSWrapper_1_16_4_R3 {
 			// however this may also be null, so delegate to the next most-meaningful sender.
 			sender = Bukkit.getConsoleSender();
 		}
-		Vec3D pos = clw.getPosition();
-		Vec2F rot = clw.i();
-		World world = getWorldForCSS(clw);
-		Location location = new Location(world, pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i);
 
 		Entity proxyEntity = clw.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
@@ -824,7 +848,10 @@ public class NMS_1_16_4_R3 extends NMSWrapper_1_16_4_R3 {
 			if (proxy == null) {
 				proxy = sender;
 			}
-			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, location, world));
+			// The location is only needed by native senders, so it's only looked up here
+			Vec3D pos = clw.getPosition();
+			Vec2F rot = clw.i();
+			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, getWorldForCSS(clw), pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i));
 		} else {
 			return wrapCommandSender(sender);
 		}
@@ -24,7 +24,7 @@ import static dev.jorel.commandapi.preprocessor.Unimplemented.REASON.NAME_CHANGE
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.lang.invoke.MethodHandle;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -66,7 +66,6 @@ import org.bukkit.craftbukkit.v1_17_R1.block.data.CraftBlockData;
 import org.bukkit.craftbukkit.v1_17_R1.command.BukkitCommandWrapper;
 import org.bukkit.craftbukkit.v1_17_R1.command.VanillaCommandWrapper;
 import org.bukkit.craftbukkit.v1_17_R1.entity.CraftEntity;
-import org.bukkit.craftbukkit.v1_17_R1.help.CustomHelpTopic;
 import org.bukkit.craftbukkit.v1_17_R1.help.SimpleHelpMap;
 import org.bukkit.craftbukkit.v1_17_R1.inventory.CraftItemStack;
 import org.bukkit.enchantments.Enchantment;
@@ -152,19 +151,22 @@ import net.minecraft.world.phys.Vec3;
 @RequireField(in = SimpleHelpMap.class, name = "helpTopics", ofType = Map.class)
 @RequireField(in = EntitySelector.class, name = "usesSelector", ofType = boolean.class)
 @RequireField(in = ItemInput.class, name = "tag", ofType = CompoundTag.class)
+@RequireField(in = CraftItemStack.class, name = "handle", ofType = ItemStack.class)
 public abstract class NMS_1_17_Common extends NMS_Common {
 
 	private static final SafeVarHandle<SimpleHelpMap, Map<String, HelpTopic>> helpMapTopics;
-	private static final Field entitySelectorUsesSelector;
+	private static final MethodHandle entitySelectorUsesSelector;
 	private static final SafeVarHandle<ItemInput, CompoundTag> itemInput;
+	private static final SafeVarHandle<CraftItemStack, ItemStack> craftItemStackHandle;
 
 	// Compute all var handles all in one go so we don't do this during main server
 	// runtime
 	static {
 		helpMapTopics = SafeVarHandle.ofOrNull(SimpleHelpMap.class, "helpTopics", "helpTopics", Map.class);
-		// For some reason, MethodHandles fails for this field, but Field works okay
-		entitySelectorUsesSelector = CommandAPIHandler.getField(EntitySelector.class, "o", "usesSelector");
+		// VarHandles can't set final fields, but a setter MethodHandle from a Field can
+		entitySelectorUsesSelector = CommandAPIHandler.getFieldSetter(EntitySelector.class, "o", "usesSelector");
 		itemInput = SafeVarHandle.ofOrNull(ItemInput.class, "c", "tag", CompoundTag.class);
+		craftItemStackHandle = SafeVarHandle.ofOrNull(CraftItemStack.class, "handle", "handle", ItemStack.class);
 	}
 
 	private static NamespacedKey fromResourceLocation(ResourceLocation key) {
@@ -265,11 +267,6 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 					.toJson(ArgumentTypes.serializeNodeToJson(dispatcher, dispatcher.getRoot())), file, StandardCharsets.UTF_8);
 	}
 
-	@Override
-	public HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission) {
-		return new CustomHelpTopic(commandName, shortDescription, fullDescription, permission);
-	}
-
 	@Override
 	public Advancement getAdvancement(CommandContext<CommandSourceStack> cmdCtx, String key) throws CommandSyntaxException {
 		return ResourceLocationArgument.getAdvancement(cmdCtx, key).bukkit;
@@ -344,10 +341,15 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 		// entity selectors
 		// to be used by anyone that registers a command via the CommandAPI.
 		EntitySelector argument = cmdCtx.getArgument(str, EntitySelector.class);
-		try {
-			entitySelectorUsesSelector.set(argument, false);
-		} catch (IllegalAccessException e) {
-			// Shouldn't happen, CommandAPIHandler#getField makes it accessible
+		if (argument.usesSelector()) {
+			try {
+				entitySelectorUsesSelector.invokeExact(argument, false);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				// Field setters don't throw checked exceptions, but invokeExact is declared to throw Throwable
+				throw new IllegalStateException(e);
+			}
 		}
 
 		return switch (subType) {
@@ -361,6 +363,12 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 				} catch (CommandSyntaxException e) {
 					yield new ArrayList<org.bukkit.entity.Entity>();
 				}
+			case ENTITYSELECTOR_MANY_ENTITIES_LAZY:
+				try {
+					yield new LazyEntityList<Entity, org.bukkit.entity.Entity>(argument.findEntities(cmdCtx.getSource()), Entity::getBukkitEntity);
+				} catch (CommandSyntaxException e) {
+					yield List.<org.bukkit.entity.Entity>of();
+				}
 			case ENTITYSELECTOR_MANY_PLAYERS:
 				try {
 					List<Player> result = new ArrayList<>();
@@ -462,10 +470,29 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 	}
 
 	@Override
-	public Predicate<org.bukkit.inventory.ItemStack> getItemStackPredicate(CommandContext<CommandSourceStack> cmdCtx, String key) throws CommandSyntaxException {
+	public ItemStackPredicate getItemStackPredicate(CommandContext<CommandSourceStack> cmdCtx, String key) throws CommandSyntaxException {
 		// Not inside the lambda because getItemPredicate throws CommandSyntaxException
 		Predicate<ItemStack> predicate = ItemPredicateArgument.getItemPredicate(cmdCtx, key);
-		return item -> predicate.test(CraftItemStack.asNMSCopy(item));
+		return item -> predicate.test(asNMSItemStack(item));
+	}
+
+	/**
+	 * Returns the NMS ItemStack that backs a Bukkit ItemStack. CraftItemStacks are
+	 * not copied, so this should only be used to read the returned ItemStack. Any
+	 * other ItemStack implementation is copied into a new NMS ItemStack
+	 * 
+	 * @param item the Bukkit ItemStack
+	 * @return an NMS ItemStack that represents the provided Bukkit ItemStack
+	 */
+	private static ItemStack asNMSItemStack(org.bukkit.inventory.ItemStack item) {
+		if (item instanceof CraftItemStack craftItemStack) {
+			ItemStack handle = craftItemStackHandle.get(craftItemStack);
+			// CraftItemStacks representing air don't have a handle
+			if (handle != null) {
+				return handle;
+			}
+		}
+		return CraftItemStack.asNMSCopy(item);
 	}
 
 	@Override
@@ -593,10 +620,6 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 			// however this may also be null, so delegate to the next most-meaningful sender.
 			sender = Bukkit.getConsoleSender();
 		}
-		Vec3 pos = css.getPosition();
-		Vec2 rot = css.getRotation();
-		World world = getWorldForCSS(css);
-		Location location = new Location(world, pos.x(), pos.y(), pos.z(), rot.y, rot.x);
 
 		Entity proxyEntity = css.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
@@ -604,7 +627,10 @@ public abstract class NMS_1_17_Common extends NMS_Common {
 			if (proxy == null) {
 				proxy = sender;
 			}
-			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, location, world));
+			// The location is only needed by native senders, so it's only looked up here
+			Vec3 pos = css.getPosition();
+			Vec2 rot = css.getRotation();
+			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, getWorldForCSS(css), pos.x(), pos.y(), pos.z(), rot.y, rot.x));
 		} else {
 			return wrapCommandSender(sender);
 		}
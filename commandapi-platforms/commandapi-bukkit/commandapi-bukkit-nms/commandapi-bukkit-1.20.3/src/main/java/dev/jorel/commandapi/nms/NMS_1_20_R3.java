@@ -24,12 +24,16 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -65,12 +69,13 @@ import org.bukkit.craftbukkit.v1_20_R3.block.data.CraftBlockData;
 import org.bukkit.craftbukkit.v1_20_R3.command.BukkitCommandWrapper;
 import org.bukkit.craftbukkit.v1_20_R3.command.VanillaCommandWrapper;
 import org.bukkit.craftbukkit.v1_20_R3.entity.CraftEntity;
-import org.bukkit.craftbukkit.v1_20_R3.help.CustomHelpTopic;
+import org.bukkit.craftbukkit.v1_20_R3.entity.CraftPlayer;
 import org.bukkit.craftbukkit.v1_20_R3.help.SimpleHelpMap;
 import org.bukkit.craftbukkit.v1_20_R3.inventory.CraftItemStack;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerCommandSendEvent;
 import org.bukkit.help.HelpTopic;
 import org.bukkit.inventory.Recipe;
 import org.bukkit.potion.PotionEffectType;
@@ -81,17 +86,21 @@ import com.google.gson.GsonBuilder;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.Message;
 import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
 import com.mojang.logging.LogUtils;
 
 import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.CommandTreeProfile;
 import dev.jorel.commandapi.SafeVarHandle;
+import dev.jorel.commandapi.UsableCommandTree;
 import dev.jorel.commandapi.arguments.ArgumentSubType;
 import dev.jorel.commandapi.arguments.SuggestionProviders;
 import dev.jorel.commandapi.commandsenders.AbstractCommandSender;
@@ -104,6 +113,8 @@ import dev.jorel.commandapi.wrappers.ComplexRecipeImpl;
 import dev.jorel.commandapi.wrappers.FloatRange;
 import dev.jorel.commandapi.wrappers.FunctionWrapper;
 import dev.jorel.commandapi.wrappers.IntegerRange;
+import dev.jorel.commandapi.wrappers.ItemStackPredicate;
+import dev.jorel.commandapi.wrappers.LazyEntityList;
 import dev.jorel.commandapi.wrappers.Location2D;
 import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
 import dev.jorel.commandapi.wrappers.ParticleData;
@@ -154,6 +165,7 @@ import net.minecraft.core.particles.VibrationParticleOption;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.protocol.game.ClientboundCommandsPacket;
 import net.minecraft.network.chat.Component.Serializer;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
@@ -192,11 +204,13 @@ import net.minecraft.world.scores.ScoreHolder;
 @RequireField(in = EntitySelector.class, name = "usesSelector", ofType = boolean.class)
 @RequireField(in = ItemInput.class, name = "tag", ofType = CompoundTag.class)
 @RequireField(in = ServerFunctionLibrary.class, name = "dispatcher", ofType = CommandDispatcher.class)
+@RequireField(in = CraftItemStack.class, name = "handle", ofType = ItemStack.class)
 public class NMS_1_20_R3 extends NMS_Common {
 
 	private static final SafeVarHandle<SimpleHelpMap, Map<String, HelpTopic>> helpMapTopics;
-	private static final Field entitySelectorUsesSelector;
+	private static final MethodHandle entitySelectorUsesSelector;
 	private static final SafeVarHandle<ItemInput, CompoundTag> itemInput;
+	private static final SafeVarHandle<CraftItemStack, ItemStack> craftItemStackHandle;
 	private static final Field serverFunctionLibraryDispatcher;
 
 	// Derived from net.minecraft.commands.Commands;
@@ -213,9 +227,10 @@ public class NMS_1_20_R3 extends NMS_Common {
 		}
 
 		helpMapTopics = SafeVarHandle.ofOrNull(SimpleHelpMap.class, "helpTopics", "helpTopics", Map.class);
-		// For some reason, MethodHandles fails for this field, but Field works okay
-		entitySelectorUsesSelector = CommandAPIHandler.getField(EntitySelector.class, "p", "usesSelector");
+		// VarHandles can't set final fields, but a setter MethodHandle from a Field can
+		entitySelectorUsesSelector = CommandAPIHandler.getFieldSetter(EntitySelector.class, "p", "usesSelector");
 		itemInput = SafeVarHandle.ofOrNull(ItemInput.class, "c", "tag", CompoundTag.class);
+		craftItemStackHandle = SafeVarHandle.ofOrNull(CraftItemStack.class, "handle", "handle", ItemStack.class);
 		// For some reason, MethodHandles fails for this field, but Field works okay
 		serverFunctionLibraryDispatcher = CommandAPIHandler.getField(ServerFunctionLibrary.class, "g", "dispatcher");
 	}
@@ -307,12 +322,6 @@ public class NMS_1_20_R3 extends NMS_Common {
 				.toJson(ArgumentUtils.serializeNodeToJson(dispatcher, dispatcher.getRoot())));
 	}
 
-	@Override
-	public final HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription,
-			String permission) {
-		return new CustomHelpTopic(commandName, shortDescription, fullDescription, permission);
-	}
-
 	@Override
 	public Advancement getAdvancement(CommandContext<CommandSourceStack> cmdCtx, String key)
 			throws CommandSyntaxException {
@@ -397,10 +406,15 @@ public class NMS_1_20_R3 extends NMS_Common {
 		// trying to allow entity selectors to be used by anyone that registers a
 		// command via the CommandAPI.
 		EntitySelector argument = cmdCtx.getArgument(str, EntitySelector.class);
-		try {
-			entitySelectorUsesSelector.set(argument, false);
-		} catch (IllegalAccessException e) {
-			// Shouldn't happen, CommandAPIHandler#getField makes it accessible
+		if (argument.usesSelector()) {
+			try {
+				entitySelectorUsesSelector.invokeExact(argument, false);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				// Field setters don't throw checked exceptions, but invokeExact is declared to throw Throwable
+				throw new IllegalStateException(e);
+			}
 		}
 
 		return switch (subType) {
@@ -414,6 +428,12 @@ public class NMS_1_20_R3 extends NMS_Common {
 			} catch (CommandSyntaxException e) {
 				yield new ArrayList<org.bukkit.entity.Entity>();
 			}
+		case ENTITYSELECTOR_MANY_ENTITIES_LAZY:
+			try {
+				yield new LazyEntityList<Entity, org.bukkit.entity.Entity>(argument.findEntities(cmdCtx.getSource()), Entity::getBukkitEntity);
+			} catch (CommandSyntaxException e) {
+				yield List.<org.bukkit.entity.Entity>of();
+			}
 		case ENTITYSELECTOR_MANY_PLAYERS:
 			try {
 				List<Player> result = new ArrayList<>();
@@ -521,11 +541,30 @@ public class NMS_1_20_R3 extends NMS_Common {
 	}
 
 	@Override
-	public final Predicate<org.bukkit.inventory.ItemStack> getItemStackPredicate(
+	public final ItemStackPredicate getItemStackPredicate(
 			CommandContext<CommandSourceStack> cmdCtx, String key) throws CommandSyntaxException {
 		// Not inside the lambda because getItemPredicate throws CommandSyntaxException
 		Predicate<ItemStack> predicate = ItemPredicateArgument.getItemPredicate(cmdCtx, key);
-		return item -> predicate.test(CraftItemStack.asNMSCopy(item));
+		return item -> predicate.test(asNMSItemStack(item));
+	}
+
+	/**
+	 * Returns the NMS ItemStack that backs a Bukkit ItemStack. CraftItemStacks are
+	 * not copied, so this should only be used to read the returned ItemStack. Any
+	 * other ItemStack implementation is copied into a new NMS ItemStack
+	 * 
+	 * @param item the Bukkit ItemStack
+	 * @return an NMS ItemStack that represents the provided Bukkit ItemStack
+	 */
+	private static ItemStack asNMSItemStack(org.bukkit.inventory.ItemStack item) {
+		if (item instanceof CraftItemStack craftItemStack) {
+			ItemStack handle = craftItemStackHandle.get(craftItemStack);
+			// CraftItemStacks representing air don't have a handle
+			if (handle != null) {
+				return handle;
+			}
+		}
+		return CraftItemStack.asNMSCopy(item);
 	}
 
 	@Override
@@ -674,10 +713,6 @@ public class NMS_1_20_R3 extends NMS_Common {
 			// sender.
 			sender = Bukkit.getConsoleSender();
 		}
-		Vec3 pos = css.getPosition();
-		Vec2 rot = css.getRotation();
-		World world = getWorldForCSS(css);
-		Location location = new Location(world, pos.x(), pos.y(), pos.z(), rot.y, rot.x);
 
 		Entity proxyEntity = css.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
@@ -686,12 +721,72 @@ public class NMS_1_20_R3 extends NMS_Common {
 				proxy = sender;
 			}
 
-			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, location, world));
+			// The location is only needed by native senders, so it's only looked up here
+			Vec3 pos = css.getPosition();
+			Vec2 rot = css.getRotation();
+			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, getWorldForCSS(css), pos.x(), pos.y(), pos.z(), rot.y, rot.x));
 		} else {
 			return wrapCommandSender(sender);
 		}
 	}
 
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Override
+	protected void sendCommands(Collection<? extends Player> players, Map<Player, BitSet> profiles) {
+		if (!getConfiguration().shouldShareCommandTrees()) {
+			super.sendCommands(players, profiles);
+			return;
+		}
+
+		// Players who can use the same commands are sent the same tree, so each tree is only built once
+		RootCommandNode<CommandSourceStack> vanillaRoot = this.<MinecraftServer>getMinecraftServer().vanillaCommandDispatcher.getDispatcher().getRoot();
+		RootCommandNode<CommandSourceStack> dispatcherRoot = getResourcesDispatcher().getRoot();
+		Map<List<BitSet>, RootCommandNode<SharedSuggestionProvider>> trees = new HashMap<>();
+		Map<List<Object>, ClientboundCommandsPacket> packets = new HashMap<>();
+		for (Player player : players) {
+			ServerPlayer serverPlayer = ((CraftPlayer) player).getHandle();
+			CommandSourceStack source = serverPlayer.createCommandSourceStack();
+			// The vanilla tree is copied too, so it's part of the profile. The profile of the dispatcher's tree was
+			//  usually found when deciding whether to resend commands
+			BitSet dispatcherProfile = profiles.get(player);
+			if (dispatcherProfile == null) {
+				dispatcherProfile = CommandTreeProfile.of(dispatcherRoot, source);
+			}
+			List<BitSet> profile = List.of(CommandTreeProfile.of(vanillaRoot, source), dispatcherProfile);
+			RootCommandNode<SharedSuggestionProvider> tree = trees.computeIfAbsent(profile, p -> UsableCommandTree.copy(vanillaRoot, dispatcherRoot, source,
+				node -> org.spigotmc.SpigotConfig.sendNamespaced || !node.getName().contains(":"),
+				builder -> {
+					if (builder instanceof RequiredArgumentBuilder requiredBuilder && requiredBuilder.getSuggestionsProvider() != null) {
+						requiredBuilder.suggests(net.minecraft.commands.synchronization.SuggestionProviders.safelySwap(requiredBuilder.getSuggestionsProvider()));
+					}
+					return builder;
+				}));
+
+			// Plugins can still hide commands from individual players, like in Commands#sendCommands
+			Set<String> commandNames = new LinkedHashSet<>();
+			for (CommandNode<SharedSuggestionProvider> node : tree.getChildren()) {
+				commandNames.add(node.getName());
+			}
+			PlayerCommandSendEvent event = new PlayerCommandSendEvent(player, new LinkedHashSet<>(commandNames));
+			Bukkit.getPluginManager().callEvent(event);
+			commandNames.retainAll(event.getCommands());
+
+			ClientboundCommandsPacket packet = packets.computeIfAbsent(List.of(profile, commandNames), key -> {
+				if (commandNames.size() == tree.getChildren().size()) {
+					return new ClientboundCommandsPacket(tree);
+				}
+				RootCommandNode<SharedSuggestionProvider> visibleRoot = new RootCommandNode<>();
+				for (CommandNode<SharedSuggestionProvider> node : tree.getChildren()) {
+					if (commandNames.contains(node.getName())) {
+						visibleRoot.addChild(node);
+					}
+				}
+				return new ClientboundCommandsPacket(visibleRoot);
+			});
+			serverPlayer.connection.send(packet);
+		}
+	}
+
 	@Override
 	public final SimpleCommandMap getSimpleCommandMap() {
 		return ((CraftServer) Bukkit.getServer()).getCommandMap();
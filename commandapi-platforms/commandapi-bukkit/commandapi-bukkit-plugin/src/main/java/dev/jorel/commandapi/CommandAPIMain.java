@@ -53,8 +53,14 @@ public class CommandAPIMain extends JavaPlugin {
 			.useLatestNMSVersion(fileConfig.getBoolean("use-latest-nms-version"))
 			.missingExecutorImplementationMessage(fileConfig.getString("messages.missing-executor-implementation"))
 			.dispatcherFile(fileConfig.getBoolean("create-dispatcher-json") ? new File(getDataFolder(), "command_registration.json") : null)
+			.startupReportFile(fileConfig.getBoolean("create-startup-report-json") ? new File(getDataFolder(), "startup_report.json") : null)
 			.initializeNBTAPI(NBTContainer.class, NBTContainer::new)
-			.shouldHookPaperReload(fileConfig.getBoolean("hook-paper-reload"));
+			.shouldHookPaperReload(fileConfig.getBoolean("hook-paper-reload"))
+			.shouldShareCommandTrees(fileConfig.getBoolean("share-command-trees"))
+			.permissionCacheTimeout(fileConfig.getLong("permission-cache-timeout"))
+			.commandMetrics(fileConfig.getBoolean("command-metrics"))
+			.suggestionMetricsSampleRate(fileConfig.getInt("suggestion-metrics-sample-rate"))
+			.slowSuggestionThreshold(fileConfig.getLong("slow-suggestion-threshold"));
 
 		for (String pluginName : fileConfig.getStringList("skip-sender-proxy")) {
 			if (Bukkit.getPluginManager().getPlugin(pluginName) != null) {
@@ -83,6 +89,29 @@ public class CommandAPIMain extends JavaPlugin {
 		}
 
 		convertCommands(fileConfig);
+
+		if (fileConfig.getBoolean("command-metrics") || fileConfig.getInt("suggestion-metrics-sample-rate") > 0) {
+			registerStatsCommand();
+		}
+	}
+
+	private void registerStatsCommand() {
+		new CommandAPICommand("commandapi")
+			.withPermission("commandapi.stats")
+			.withSubcommand(new CommandAPICommand("stats")
+				.executes((sender, args) -> {
+					StringBuilder stats = new StringBuilder();
+					if (CommandAPI.getCommandMetrics().isEnabled()) {
+						stats.append(CommandAPI.getCommandMetrics().toText());
+					}
+					if (CommandAPI.getSuggestionMetrics().isEnabled()) {
+						stats.append(CommandAPI.getSuggestionMetrics().toText());
+					}
+					for (String line : stats.toString().split("\n")) {
+						sender.sendMessage(line);
+					}
+				}))
+			.register();
 	}
 
 	private void convertCommands(FileConfiguration fileConfig) {
@@ -0,0 +1,60 @@
+package dev.jorel.commandapi.benchmarks;
+
+import org.bukkit.Bukkit;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPIVersionHandler;
+import dev.jorel.commandapi.PaperImplementations;
+import dev.jorel.commandapi.SafeVarHandle;
+import dev.jorel.commandapi.test.CommandAPIServerMock;
+import dev.jorel.commandapi.test.MockPlatform;
+
+/**
+ * Starts a MockBukkit server with the CommandAPI loaded for each benchmark
+ * trial, in the same way as the tests' {@code TestBase}. Subclasses register
+ * the commands they need in {@link #registerCommands()}.
+ */
+public abstract class BenchmarkBase {
+
+	protected CommandAPIServerMock server;
+	protected BenchmarkPlugin plugin;
+	protected PlayerMock player;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		if (CommandAPIVersionHandler.IS_MOJANG_MAPPED) {
+			SafeVarHandle.USING_MOJANG_MAPPINGS = true;
+		}
+
+		server = MockBukkit.mock(new CommandAPIServerMock());
+		plugin = MockBukkit.loadWith(BenchmarkPlugin.class, BenchmarkPlugin.pluginYaml());
+		MockPlatform.setField(PaperImplementations.class, "isPaperPresent", MockPlatform.get().getPaper(), false);
+		player = server.addPlayer();
+
+		registerCommands();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		Bukkit.getScheduler().cancelTasks(plugin);
+		plugin.onDisable();
+		MockBukkit.unmock();
+		MockPlatform.unload();
+
+		server = null;
+		plugin = null;
+		player = null;
+	}
+
+	/**
+	 * Registers the commands used by this benchmark
+	 *
+	 * @throws Exception if the commands couldn't be registered
+	 */
+	protected abstract void registerCommands() throws Exception;
+
+}
@@ -0,0 +1,66 @@
+package dev.jorel.commandapi.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPIBukkitConfig;
+
+/**
+ * The plugin that loads the CommandAPI for benchmarks. Unlike the test plugin,
+ * this doesn't write the dispatcher file, since that would dominate the cost of
+ * registering commands. The {@code /convertme} command is used for benchmarking
+ * the {@link dev.jorel.commandapi.Converter}.
+ */
+public class BenchmarkPlugin extends JavaPlugin {
+
+	@Override
+	public void onLoad() {
+		CommandAPI.onLoad(new CommandAPIBukkitConfig(this)
+			.useLatestNMSVersion(true) // Doesn't matter because the tests implement CommandAPIVersionHandler
+			.silentLogs(true));
+	}
+
+	@Override
+	public void onEnable() {
+		CommandAPI.onEnable();
+	}
+
+	@Override
+	public void onDisable() {
+		CommandAPI.onDisable();
+	}
+
+	@Override
+	public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+		return label.equalsIgnoreCase("convertme");
+	}
+
+	// Additional constructors required for MockBukkit
+	public BenchmarkPlugin() {
+		super();
+	}
+
+	public BenchmarkPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+		super(loader, description, dataFolder, file);
+	}
+
+	public static InputStream pluginYaml() {
+		return new ByteArrayInputStream("""
+			name: CommandAPIBenchmarks
+			main: dev.jorel.commandapi.benchmarks.BenchmarkPlugin
+			version: 0.0.1
+			description: A mock Bukkit plugin for CommandAPI benchmarks
+			api-version: 1.13
+			commands:
+			  convertme:
+			""".getBytes());
+	}
+}
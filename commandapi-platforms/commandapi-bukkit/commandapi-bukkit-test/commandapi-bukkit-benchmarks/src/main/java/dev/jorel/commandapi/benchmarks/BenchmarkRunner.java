@@ -0,0 +1,138 @@
+package dev.jorel.commandapi.benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Runs the CommandAPI's JMH benchmarks with the GC profiler, and writes the
+ * results as JSON so that they can be used as a baseline for later runs. To
+ * build and run the benchmarks:
+ *
+ * <pre>
+ * mvn clean install -P Benchmarks -DskipTests
+ * java -jar commandapi-platforms/commandapi-bukkit/commandapi-bukkit-test/commandapi-bukkit-benchmarks/target/benchmarks.jar
+ * </pre>
+ *
+ * The following arguments are accepted:
+ * <ul>
+ * <li>{@code --output <file>} - where to write the results (default:
+ * {@code benchmark-results.json})</li>
+ * <li>{@code --baseline <file>} - the results of a previous run (for example,
+ * on another commit) to compare these results with</li>
+ * <li>Anything else is used as a regex for the benchmarks to run, for example
+ * {@code DispatchBenchmark}</li>
+ * </ul>
+ */
+public class BenchmarkRunner {
+
+	// Bytes allocated per operation, reported by the GC profiler
+	private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+	public static void main(String[] args) throws RunnerException, IOException {
+		String include = BenchmarkRunner.class.getPackageName() + ".*";
+		Path output = Path.of("benchmark-results.json");
+		Path baseline = null;
+
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--output" -> output = Path.of(args[++i]);
+				case "--baseline" -> baseline = Path.of(args[++i]);
+				default -> include = args[i];
+			}
+		}
+
+		Options options = new OptionsBuilder()
+			.include(include)
+			.addProfiler(GCProfiler.class)
+			// Selects the MockNMS implementation, see the tests' CommandAPIVersionHandler
+			.jvmArgsAppend("-DprofileId=Minecraft_1_20")
+			.resultFormat(ResultFormatType.JSON)
+			.result(output.toString())
+			.build();
+
+		Collection<RunResult> results = new Runner(options).run();
+
+		if (baseline != null) {
+			compare(readBaseline(baseline), results);
+		}
+	}
+
+	private record BaselineResult(double score, String unit, double allocatedBytes) {
+	}
+
+	private static Map<String, BaselineResult> readBaseline(Path baseline) throws IOException {
+		Map<String, BaselineResult> results = new HashMap<>();
+		try (Reader reader = Files.newBufferedReader(baseline)) {
+			for (JsonElement element : JsonParser.parseReader(reader).getAsJsonArray()) {
+				JsonObject result = element.getAsJsonObject();
+
+				Map<String, String> params = new TreeMap<>();
+				if (result.has("params")) {
+					for (Map.Entry<String, JsonElement> param : result.getAsJsonObject("params").entrySet()) {
+						params.put(param.getKey(), param.getValue().getAsString());
+					}
+				}
+
+				JsonObject primaryMetric = result.getAsJsonObject("primaryMetric");
+				JsonObject secondaryMetrics = result.getAsJsonObject("secondaryMetrics");
+				double allocatedBytes = secondaryMetrics != null && secondaryMetrics.has(ALLOCATION_METRIC)
+					? secondaryMetrics.getAsJsonObject(ALLOCATION_METRIC).get("score").getAsDouble()
+					: Double.NaN;
+
+				results.put(key(result.get("benchmark").getAsString(), params), new BaselineResult(
+					primaryMetric.get("score").getAsDouble(), primaryMetric.get("scoreUnit").getAsString(), allocatedBytes));
+			}
+		}
+		return results;
+	}
+
+	private static void compare(Map<String, BaselineResult> baseline, Collection<RunResult> results) {
+		System.out.println();
+		System.out.printf("%-90s %15s %15s %9s %15s %15s%n", "Benchmark", "Baseline", "Current", "Change", "Baseline B/op", "Current B/op");
+
+		for (RunResult runResult : results) {
+			Map<String, String> params = new TreeMap<>();
+			for (String paramKey : runResult.getParams().getParamsKeys()) {
+				params.put(paramKey, runResult.getParams().getParam(paramKey));
+			}
+			String key = key(runResult.getParams().getBenchmark(), params);
+
+			Result<?> primaryResult = runResult.getPrimaryResult();
+			Result<?> allocationResult = runResult.getSecondaryResults().get(ALLOCATION_METRIC);
+			double allocatedBytes = allocationResult == null ? Double.NaN : allocationResult.getScore();
+
+			BaselineResult baselineResult = baseline.get(key);
+			if (baselineResult == null || !baselineResult.unit().equals(primaryResult.getScoreUnit())) {
+				System.out.printf("%-90s %15s %15.3f %9s %15s %15.1f%n", key, "-", primaryResult.getScore(), "-", "-", allocatedBytes);
+			} else {
+				double change = (primaryResult.getScore() - baselineResult.score()) / baselineResult.score() * 100;
+				System.out.printf("%-90s %15.3f %15.3f %+8.1f%% %15.1f %15.1f%n", key, baselineResult.score(),
+					primaryResult.getScore(), change, baselineResult.allocatedBytes(), allocatedBytes);
+			}
+		}
+	}
+
+	private static String key(String benchmark, Map<String, String> params) {
+		return params.isEmpty() ? benchmark : benchmark + " " + params;
+	}
+
+}
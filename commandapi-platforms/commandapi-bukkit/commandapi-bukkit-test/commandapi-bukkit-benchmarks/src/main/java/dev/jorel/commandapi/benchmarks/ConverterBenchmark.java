@@ -0,0 +1,35 @@
+package dev.jorel.commandapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import dev.jorel.commandapi.Converter;
+import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
+
+/**
+ * Executing a plugin command that was converted using the {@link Converter},
+ * which runs the plugin's command through a proxied sender
+ */
+@State(Scope.Benchmark)
+public class ConverterBenchmark extends BenchmarkBase {
+
+	private NativeProxyCommandSender proxySender;
+
+	@Override
+	protected void registerCommands() {
+		Converter.convert(plugin, "convertme");
+		proxySender = new NativeProxyCommandSender(player, player, player.getLocation(), player.getWorld());
+	}
+
+	@Benchmark
+	public int executeConverted() {
+		return server.dispatchBrigadierCommand(proxySender, "convertme");
+	}
+
+	@Benchmark
+	public int executeConvertedWithArguments() {
+		return server.dispatchBrigadierCommand(proxySender, "convertme some arguments here");
+	}
+
+}
@@ -0,0 +1,100 @@
+package dev.jorel.commandapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.Argument;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.ListArgumentBuilder;
+import dev.jorel.commandapi.arguments.MapArgumentBuilder;
+
+/**
+ * Parsing and executing commands, which includes converting Brigadier's
+ * parsed arguments into {@code CommandArguments}
+ */
+@State(Scope.Benchmark)
+public class DispatchBenchmark extends BenchmarkBase {
+
+	@Param({ "1", "2", "5", "10" })
+	public int argumentCount;
+
+	private String integersInput;
+	private String listInput;
+	private String mapInput;
+
+	// Stops the JIT from optimizing away the executors
+	public volatile Object lastArguments;
+
+	@Override
+	protected void registerCommands() {
+		List<Argument<?>> arguments = new ArrayList<>();
+		List<String> values = new ArrayList<>();
+		StringBuilder integers = new StringBuilder("integers");
+		StringBuilder list = new StringBuilder("list");
+		StringBuilder map = new StringBuilder("map");
+		for (int i = 0; i < argumentCount; i++) {
+			arguments.add(new IntegerArgument("value" + i));
+			values.add("value" + i);
+			integers.append(' ').append(i);
+			list.append(" value").append(i);
+			map.append(" key").append(i).append(":value").append(i);
+		}
+
+		new CommandAPICommand("integers")
+			.withArguments(arguments)
+			.executesPlayer((player, args) -> {
+				lastArguments = args;
+			})
+			.register();
+
+		new CommandAPICommand("list")
+			.withArguments(new ListArgumentBuilder<String>("values")
+				.withList(values)
+				.withStringMapper()
+				.buildGreedy())
+			.executesPlayer((player, args) -> {
+				lastArguments = args;
+			})
+			.register();
+
+		new CommandAPICommand("map")
+			.withArguments(new MapArgumentBuilder<String, String>("map")
+				.withKeyMapper(s -> s)
+				.withValueMapper(s -> s)
+				.withoutKeyList()
+				.withoutValueList()
+				.build())
+			.executesPlayer((player, args) -> {
+				lastArguments = args;
+			})
+			.register();
+
+		this.integersInput = integers.toString();
+		this.listInput = list.toString();
+		this.mapInput = map.toString();
+	}
+
+	@Benchmark
+	public boolean dispatchIntegers() throws CommandSyntaxException {
+		return server.dispatchThrowableCommand(player, integersInput);
+	}
+
+	@Benchmark
+	public boolean dispatchList() throws CommandSyntaxException {
+		return server.dispatchThrowableCommand(player, listInput);
+	}
+
+	@Benchmark
+	public boolean dispatchMap() throws CommandSyntaxException {
+		return server.dispatchThrowableCommand(player, mapInput);
+	}
+
+}
@@ -0,0 +1,308 @@
+package dev.jorel.commandapi.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.Brigadier;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.GreedyStringArgument;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.MultiLiteralArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+
+/**
+ * Simulates many players typing commands at the same time. Each simulated
+ * player replays a script of commands one keystroke at a time. For every
+ * keystroke, the partially typed command is parsed and suggestions are
+ * requested (as the client does while a player types), and once a command has
+ * been fully typed it is executed. Every operation runs on the calling thread,
+ * in the same way the server runs them on its main thread.
+ * <p>
+ * Once the simulation finishes, the p50/p99/max latency and the average number
+ * of bytes allocated are reported for each kind of operation, along with the
+ * time spent per simulated tick. To run the simulation:
+ *
+ * <pre>
+ * mvn clean install -P Benchmarks -DskipTests
+ * java -DprofileId=Minecraft_1_20 -cp commandapi-platforms/commandapi-bukkit/commandapi-bukkit-test/commandapi-bukkit-benchmarks/target/benchmarks.jar dev.jorel.commandapi.benchmarks.LoadTest
+ * </pre>
+ *
+ * The following arguments are accepted:
+ * <ul>
+ * <li>{@code --players <count>} - the number of simulated players (default:
+ * 500)</li>
+ * <li>{@code --ticks <count>} - the number of ticks to measure (default:
+ * 400)</li>
+ * <li>{@code --warmup <count>} - the number of ticks to run before measuring
+ * (default: 200)</li>
+ * <li>{@code --interval <ticks>} - the number of ticks between each player's
+ * keystrokes (default: 2, about 10 keystrokes per second)</li>
+ * <li>{@code --script <file>} - a file containing the commands each player
+ * types, one per line, without a leading {@code /}. Blank lines and lines
+ * starting with {@code #} are ignored. By default, a script using the
+ * commands registered by this class is used.</li>
+ * </ul>
+ * Half of the simulated players are given the {@code loadtest.admin}
+ * permission, so that commands with and without permission are both checked.
+ */
+public class LoadTest extends BenchmarkBase {
+
+	private static final List<String> DEFAULT_SCRIPT = List.of(
+		"warp warp42",
+		"pay Player7 250",
+		"kit starter",
+		"msg Player3 are you coming to spawn?",
+		"admin broadcast Restarting in 5 minutes"
+	);
+
+	private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN =
+		ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean allocationBean
+			&& allocationBean.isThreadAllocatedMemorySupported() ? allocationBean : null;
+
+	// The latencies of one kind of operation
+	private static class Operation {
+		private final String name;
+		private long[] nanos = new long[1024];
+		private int count = 0;
+		private long allocatedBytes = 0;
+
+		private Operation(String name) {
+			this.name = name;
+		}
+
+		private void record(long nanos, long allocatedBytes) {
+			if (count == this.nanos.length) {
+				this.nanos = Arrays.copyOf(this.nanos, count * 2);
+			}
+			this.nanos[count++] = nanos;
+			this.allocatedBytes += allocatedBytes;
+		}
+
+		private void clear() {
+			count = 0;
+			allocatedBytes = 0;
+		}
+	}
+
+	private int playerCount = 500;
+	private int measuredTicks = 400;
+	private int warmupTicks = 200;
+	private int interval = 2;
+	private List<String> script = DEFAULT_SCRIPT;
+
+	private final Operation parse = new Operation("parse");
+	private final Operation suggest = new Operation("suggest");
+	private final Operation execute = new Operation("execute");
+	private final Operation tick = new Operation("tick");
+
+	public static void main(String[] args) throws Exception {
+		LoadTest loadTest = new LoadTest();
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--players" -> loadTest.playerCount = Integer.parseInt(args[++i]);
+				case "--ticks" -> loadTest.measuredTicks = Integer.parseInt(args[++i]);
+				case "--warmup" -> loadTest.warmupTicks = Integer.parseInt(args[++i]);
+				case "--interval" -> loadTest.interval = Integer.parseInt(args[++i]);
+				case "--script" -> loadTest.script = readScript(Path.of(args[++i]));
+				default -> throw new IllegalArgumentException("Unknown argument " + args[i]);
+			}
+		}
+		if (loadTest.playerCount < 1) {
+			throw new IllegalArgumentException("--players must be at least 1, but was " + loadTest.playerCount);
+		}
+		if (loadTest.measuredTicks < 1) {
+			throw new IllegalArgumentException("--ticks must be at least 1, but was " + loadTest.measuredTicks);
+		}
+		if (loadTest.warmupTicks < 0) {
+			throw new IllegalArgumentException("--warmup must be at least 0, but was " + loadTest.warmupTicks);
+		}
+		if (loadTest.interval < 1) {
+			// Each player types once every interval ticks, so this is used as a divisor
+			throw new IllegalArgumentException("--interval must be at least 1, but was " + loadTest.interval);
+		}
+
+		loadTest.setUp();
+		try {
+			loadTest.run();
+		} finally {
+			loadTest.tearDown();
+		}
+	}
+
+	private static List<String> readScript(Path file) throws IOException {
+		List<String> script = new ArrayList<>();
+		for (String line : Files.readAllLines(file)) {
+			line = line.strip();
+			if (!line.isEmpty() && !line.startsWith("#")) {
+				script.add(line.startsWith("/") ? line.substring(1) : line);
+			}
+		}
+		if (script.isEmpty()) {
+			throw new IllegalArgumentException("The script " + file + " doesn't contain any commands");
+		}
+		return script;
+	}
+
+	@Override
+	protected void registerCommands() {
+		String[] warps = new String[200];
+		for (int i = 0; i < warps.length; i++) {
+			warps[i] = "warp" + i;
+		}
+
+		new CommandAPICommand("warp")
+			.withArguments(new StringArgument("warp").replaceSuggestions(ArgumentSuggestions.strings(warps)))
+			.executesPlayer((player, args) -> {})
+			.register();
+
+		// Suggestions which are generated for every request
+		new CommandAPICommand("pay")
+			.withArguments(new StringArgument("player").replaceSuggestions(ArgumentSuggestions.strings(info ->
+				Bukkit.getOnlinePlayers().stream().map(Player::getName).toArray(String[]::new))))
+			.withArguments(new IntegerArgument("amount", 1))
+			.executesPlayer((player, args) -> {})
+			.register();
+
+		new CommandAPICommand("kit")
+			.withArguments(new MultiLiteralArgument("kit", "starter", "tools", "food", "armor"))
+			.executesPlayer((player, args) -> {})
+			.register();
+
+		new CommandAPICommand("msg")
+			.withArguments(new StringArgument("player"))
+			.withArguments(new GreedyStringArgument("message"))
+			.executesPlayer((player, args) -> {})
+			.register();
+
+		new CommandAPICommand("admin")
+			.withPermission("loadtest.admin")
+			.withSubcommand(new CommandAPICommand("broadcast")
+				.withArguments(new GreedyStringArgument("message"))
+				.executesPlayer((player, args) -> {}))
+			.withSubcommand(new CommandAPICommand("kick")
+				.withArguments(new StringArgument("player"))
+				.executesPlayer((player, args) -> {}))
+			.register();
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void run() throws InterruptedException, ExecutionException {
+		// The player created by BenchmarkBase is the first simulated player
+		List<PlayerMock> players = new ArrayList<>();
+		players.add(player);
+		while (players.size() < playerCount) {
+			players.add(server.addPlayer());
+		}
+		for (int i = 0; i < players.size(); i += 2) {
+			players.get(i).addAttachment(plugin, "loadtest.admin", true);
+		}
+
+		// Every keystroke of every command in the script. Only the last keystroke of
+		// each command executes it.
+		List<String> steps = new ArrayList<>();
+		List<Boolean> executes = new ArrayList<>();
+		for (String command : script) {
+			for (int length = 1; length <= command.length(); length++) {
+				steps.add(command.substring(0, length));
+				executes.add(length == command.length());
+			}
+		}
+
+		CommandDispatcher dispatcher = Brigadier.getCommandDispatcher();
+		Object[] sources = new Object[players.size()];
+		for (int i = 0; i < sources.length; i++) {
+			sources[i] = Brigadier.getBrigadierSourceFromCommandSender(players.get(i));
+		}
+
+		for (int currentTick = 0; currentTick < warmupTicks + measuredTicks; currentTick++) {
+			if (currentTick == warmupTicks) {
+				parse.clear();
+				suggest.clear();
+				execute.clear();
+				tick.clear();
+			}
+
+			final long tickStartNanos = System.nanoTime();
+			final long tickStartAllocatedBytes = getAllocatedBytes();
+			for (int i = 0; i < sources.length; i++) {
+				// Players are spread out so they don't all type on the same tick
+				if ((currentTick + i) % interval != 0) {
+					continue;
+				}
+				int step = ((currentTick + i) / interval + i) % steps.size();
+				String input = steps.get(step);
+
+				long startNanos = System.nanoTime();
+				long startAllocatedBytes = getAllocatedBytes();
+				ParseResults parseResults = dispatcher.parse(input, sources[i]);
+				parse.record(System.nanoTime() - startNanos, getAllocatedBytes() - startAllocatedBytes);
+
+				startNanos = System.nanoTime();
+				startAllocatedBytes = getAllocatedBytes();
+				dispatcher.getCompletionSuggestions(parseResults).get();
+				suggest.record(System.nanoTime() - startNanos, getAllocatedBytes() - startAllocatedBytes);
+
+				if (executes.get(step)) {
+					startNanos = System.nanoTime();
+					startAllocatedBytes = getAllocatedBytes();
+					try {
+						dispatcher.execute(dispatcher.parse(input, sources[i]));
+					} catch (CommandSyntaxException ignored) {
+						// Players without permission, or scripts with invalid commands
+					}
+					execute.record(System.nanoTime() - startNanos, getAllocatedBytes() - startAllocatedBytes);
+				}
+			}
+			tick.record(System.nanoTime() - tickStartNanos, getAllocatedBytes() - tickStartAllocatedBytes);
+		}
+
+		System.out.printf("%d players, %d keystrokes per command script, one keystroke every %d ticks%n",
+			players.size(), steps.size(), interval);
+		System.out.printf("%-10s %10s %12s %12s %12s %14s%n", "Operation", "Count", "p50 (us)", "p99 (us)", "max (us)", "Bytes/op");
+		for (Operation operation : List.of(parse, suggest, execute, tick)) {
+			report(operation);
+		}
+
+		long[] tickNanos = Arrays.copyOf(tick.nanos, tick.count);
+		Arrays.sort(tickNanos);
+		System.out.printf("p99 tick time is %.1f%% of the 50ms tick budget%n", percentile(tickNanos, 0.99) / 50_000_000.0 * 100);
+	}
+
+	private static void report(Operation operation) {
+		if (operation.count == 0) {
+			System.out.printf("%-10s %10d%n", operation.name, 0);
+			return;
+		}
+
+		long[] nanos = Arrays.copyOf(operation.nanos, operation.count);
+		Arrays.sort(nanos);
+		System.out.printf("%-10s %10d %12.1f %12.1f %12.1f %14s%n", operation.name, operation.count,
+			percentile(nanos, 0.50) / 1000.0, percentile(nanos, 0.99) / 1000.0, nanos[nanos.length - 1] / 1000.0,
+			ALLOCATION_BEAN == null ? "-" : String.valueOf(operation.allocatedBytes / operation.count));
+	}
+
+	private static long percentile(long[] sortedValues, double percentile) {
+		int index = (int) Math.ceil(percentile * sortedValues.length) - 1;
+		return sortedValues[Math.max(0, Math.min(index, sortedValues.length - 1))];
+	}
+
+	private static long getAllocatedBytes() {
+		return ALLOCATION_BEAN == null ? 0 : ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+}
@@ -0,0 +1,51 @@
+package dev.jorel.commandapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.MultiLiteralArgument;
+
+/**
+ * Registering a command with two MultiLiteralArguments, which is expanded into
+ * {@code literalCount * literalCount} commands. The command is unregistered
+ * after each invocation.
+ */
+@State(Scope.Benchmark)
+public class MultiLiteralBenchmark extends BenchmarkBase {
+
+	@Param({ "2", "10", "30" })
+	public int literalCount;
+
+	private String[] literals;
+
+	@Override
+	protected void registerCommands() {
+		literals = new String[literalCount];
+		for (int i = 0; i < literalCount; i++) {
+			literals[i] = "literal" + i;
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void unregisterCommands() {
+		CommandAPI.unregister("multiliteral");
+	}
+
+	@Benchmark
+	public void registerMultiLiterals() {
+		new CommandAPICommand("multiliteral")
+			.withArguments(new MultiLiteralArgument("first", literals))
+			.withArguments(new MultiLiteralArgument("second", literals))
+			.withArguments(new IntegerArgument("value"))
+			.executesPlayer((player, args) -> {})
+			.register();
+	}
+
+}
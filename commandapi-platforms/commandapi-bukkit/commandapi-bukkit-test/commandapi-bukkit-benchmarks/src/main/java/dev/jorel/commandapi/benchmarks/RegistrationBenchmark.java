@@ -0,0 +1,73 @@
+package dev.jorel.commandapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.Argument;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+
+/**
+ * Registering many commands. Commands are unregistered after each invocation,
+ * so every invocation registers the same commands into the same dispatcher.
+ */
+@State(Scope.Benchmark)
+public class RegistrationBenchmark extends BenchmarkBase {
+
+	@Param({ "10", "100", "1000" })
+	public int commandCount;
+
+	private List<String> commandNames;
+
+	// Arguments shared by every registered command, like a plugin that reuses the same arguments for many commands
+	private Argument<Integer> sharedInteger;
+	private Argument<String> sharedString;
+
+	@Override
+	protected void registerCommands() {
+		commandNames = new ArrayList<>();
+		for (int i = 0; i < commandCount; i++) {
+			commandNames.add("command" + i);
+		}
+
+		sharedInteger = new IntegerArgument("integer");
+		sharedString = new StringArgument("string").replaceSuggestions(ArgumentSuggestions.strings("a", "b", "c"));
+	}
+
+	@TearDown(Level.Invocation)
+	public void unregisterCommands() {
+		CommandAPI.unregisterAll(commandNames);
+	}
+
+	@Benchmark
+	public void registerCommands() {
+		for (String commandName : commandNames) {
+			new CommandAPICommand(commandName)
+				.withArguments(new IntegerArgument("integer"))
+				.withArguments(new StringArgument("string").replaceSuggestions(ArgumentSuggestions.strings("a", "b", "c")))
+				.executesPlayer((player, args) -> {})
+				.register();
+		}
+	}
+
+	@Benchmark
+	public void registerCommandsWithSharedArguments() {
+		for (String commandName : commandNames) {
+			new CommandAPICommand(commandName)
+				.withArguments(sharedInteger, sharedString)
+				.executesPlayer((player, args) -> {})
+				.register();
+		}
+	}
+
+}
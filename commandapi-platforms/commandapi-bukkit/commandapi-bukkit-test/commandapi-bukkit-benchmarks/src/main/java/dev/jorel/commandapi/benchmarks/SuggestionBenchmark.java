@@ -0,0 +1,65 @@
+package dev.jorel.commandapi.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+
+/**
+ * Tab-completing arguments with large sets of suggestions, including
+ * suggestions that depend on previous arguments
+ */
+@State(Scope.Benchmark)
+public class SuggestionBenchmark extends BenchmarkBase {
+
+	@Param({ "10", "1000", "10000" })
+	public int suggestionCount;
+
+	@Override
+	protected void registerCommands() {
+		String[] suggestions = new String[suggestionCount];
+		for (int i = 0; i < suggestionCount; i++) {
+			suggestions[i] = "suggestion" + i;
+		}
+
+		new CommandAPICommand("suggest")
+			.withArguments(new StringArgument("value").replaceSuggestions(ArgumentSuggestions.strings(suggestions)))
+			.executesPlayer((player, args) -> {})
+			.register();
+
+		// Previous arguments have to be parsed before these suggestions can be generated
+		new CommandAPICommand("suggestprevious")
+			.withArguments(new IntegerArgument("first"))
+			.withArguments(new IntegerArgument("second"))
+			.withArguments(new StringArgument("value").replaceSuggestions(ArgumentSuggestions.strings(info -> {
+				int count = (int) info.previousArgs().get("first") + (int) info.previousArgs().get("second");
+				return count < suggestions.length ? Arrays.copyOf(suggestions, count) : suggestions;
+			})))
+			.executesPlayer((player, args) -> {})
+			.register();
+	}
+
+	@Benchmark
+	public List<String> suggestAll() {
+		return server.getSuggestions(player, "suggest ");
+	}
+
+	@Benchmark
+	public List<String> suggestFiltered() {
+		return server.getSuggestions(player, "suggest suggestion1");
+	}
+
+	@Benchmark
+	public List<String> suggestWithPreviousArguments() {
+		return server.getSuggestions(player, "suggestprevious " + suggestionCount + " 0 ");
+	}
+
+}
@@ -0,0 +1,114 @@
+package dev.jorel.commandapi.test.dsltests
+
+import com.mojang.brigadier.suggestion.SuggestionsBuilder
+import dev.jorel.commandapi.SuggestionInfo
+import dev.jorel.commandapi.executors.CommandArguments
+import dev.jorel.commandapi.kotlindsl.CommandAPICoroutines
+import dev.jorel.commandapi.kotlindsl.commandAPICommand
+import dev.jorel.commandapi.kotlindsl.playerExecutorSuspend
+import dev.jorel.commandapi.kotlindsl.stringArgument
+import dev.jorel.commandapi.kotlindsl.suggestionsSuspend
+import dev.jorel.commandapi.test.Mut
+import dev.jorel.commandapi.test.TestBase
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import net.kyori.adventure.text.Component
+import org.bukkit.command.CommandSender
+import org.bukkit.event.player.PlayerQuitEvent
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.util.concurrent.TimeUnit
+
+class CoroutineTests : TestBase() {
+
+	@BeforeEach
+	override fun setUp() {
+		super.setUp()
+	}
+
+	@AfterEach
+	override fun tearDown() {
+		CommandAPICoroutines.cancelAll()
+		super.tearDown()
+	}
+
+	@Test
+	fun testSuspendingExecutor() {
+		val results: Mut<String> = Mut.of()
+		val finished = CompletableDeferred<Unit>()
+
+		commandAPICommand("test") {
+			stringArgument("string")
+			playerExecutorSuspend { _, args ->
+				delay(10)
+				results.set(args["string"] as String)
+				finished.complete(Unit)
+			}
+		}
+
+		val player = server.addPlayer()
+
+		assertTrue(server.dispatchCommand(player, "test hello"))
+		runBlocking { withTimeout(5000) { finished.await() } }
+
+		assertEquals("hello", results.get())
+		assertNoMoreResults(results)
+	}
+
+	@Test
+	fun testSuspendingExecutorCancelledWhenPlayerQuits() {
+		val started = CompletableDeferred<Unit>()
+		val cancelled = CompletableDeferred<Unit>()
+
+		commandAPICommand("test") {
+			playerExecutorSuspend { _, _ ->
+				try {
+					started.complete(Unit)
+					awaitCancellation()
+				} finally {
+					cancelled.complete(Unit)
+				}
+			}
+		}
+
+		val player = server.addPlayer()
+
+		assertTrue(server.dispatchCommand(player, "test"))
+		runBlocking { withTimeout(5000) { started.await() } }
+
+		// Registers the PlayerQuitEvent listener
+		server.scheduler.performOneTick()
+		server.pluginManager.callEvent(PlayerQuitEvent(player, Component.empty()))
+
+		runBlocking { withTimeout(5000) { cancelled.await() } }
+	}
+
+	@Test
+	fun testSuspendingSuggestionsSuperseded() {
+		val suggestions = suggestionsSuspend { info ->
+			if (info.currentArg() == "slow") {
+				awaitCancellation()
+			}
+			arrayOf("a", "b")
+		}
+
+		val player = server.addPlayer()
+		val emptyArgs = CommandArguments(arrayOf<Any>(), mapOf(), arrayOf<String>(), mapOf(), "/test ")
+
+		val slowSuggestions = suggestions.suggest(SuggestionInfo<CommandSender>(player, emptyArgs, "test slow", "slow"), SuggestionsBuilder("test slow", 5))
+		val fastSuggestions = suggestions.suggest(SuggestionInfo<CommandSender>(player, emptyArgs, "test ", ""), SuggestionsBuilder("test ", 5))
+
+		// The newer request finishes, and the older request is cancelled
+		assertEquals(listOf("a", "b"), fastSuggestions.get(5, TimeUnit.SECONDS).list.map { it.text })
+		assertThrows(Exception::class.java) { slowSuggestions.get(5, TimeUnit.SECONDS) }
+		assertTrue(slowSuggestions.isCompletedExceptionally)
+	}
+
+}
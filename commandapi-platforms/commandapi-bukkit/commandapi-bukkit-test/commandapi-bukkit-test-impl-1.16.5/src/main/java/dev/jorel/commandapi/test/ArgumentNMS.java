@@ -37,6 +37,7 @@ import dev.jorel.commandapi.arguments.SuggestionProviders;
 import dev.jorel.commandapi.wrappers.FloatRange;
 import dev.jorel.commandapi.wrappers.FunctionWrapper;
 import dev.jorel.commandapi.wrappers.IntegerRange;
+import dev.jorel.commandapi.wrappers.ItemStackPredicate;
 import dev.jorel.commandapi.wrappers.Location2D;
 import dev.jorel.commandapi.wrappers.MathOperation;
 import dev.jorel.commandapi.wrappers.ParticleData;
@@ -356,7 +357,7 @@ public abstract class ArgumentNMS extends MockPlatform<CommandListenerWrapper> {
 	}
 
 	@Override
-	public Predicate<ItemStack> getItemStackPredicate(CommandContext cmdCtx, String key)
+	public ItemStackPredicate getItemStackPredicate(CommandContext cmdCtx, String key)
 		throws CommandSyntaxException {
 		return baseNMS.getItemStackPredicate(cmdCtx, key);
 	}
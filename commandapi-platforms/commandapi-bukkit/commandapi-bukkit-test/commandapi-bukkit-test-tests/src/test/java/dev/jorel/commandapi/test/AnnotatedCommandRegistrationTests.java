@@ -0,0 +1,145 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.AnnotatedCommand;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+
+/**
+ * Tests for registering commands generated by the annotation processor using
+ * {@link CommandAPI#registerCommand(Class)}
+ */
+public class AnnotatedCommandRegistrationTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	// The generated commands which have been created by the ServiceLoader, and registered, in order
+	private static final List<AnnotatedCommand> createdCommands = new ArrayList<>();
+	private static final List<AnnotatedCommand> registeredCommands = new ArrayList<>();
+	private static final Mut<String> results = Mut.of();
+
+	@BeforeEach
+	public void setUp() {
+		super.setUp();
+		createdCommands.clear();
+		registeredCommands.clear();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	// These classes are listed in META-INF/services/dev.jorel.commandapi.AnnotatedCommand, like the classes the
+	//  annotation processor generates for classes with an @Command annotation
+	public static class IndexedCommand {
+		public static class Command implements AnnotatedCommand {
+			public Command() {
+				createdCommands.add(this);
+			}
+
+			@Override
+			public Class<?> getCommandClass() {
+				return IndexedCommand.class;
+			}
+
+			@Override
+			public void registerCommand() {
+				registeredCommands.add(this);
+				new CommandAPICommand("indexed")
+					.executesPlayer((player, args) -> {
+						results.set("indexed");
+					})
+					.register();
+			}
+		}
+	}
+
+	public static class OtherIndexedCommand {
+		public static class Command implements AnnotatedCommand {
+			public Command() {
+				createdCommands.add(this);
+			}
+
+			@Override
+			public Class<?> getCommandClass() {
+				return OtherIndexedCommand.class;
+			}
+
+			@Override
+			public void registerCommand() {
+				registeredCommands.add(this);
+				new CommandAPICommand("otherindexed")
+					.executesPlayer((player, args) -> {
+						results.set("otherindexed");
+					})
+					.register();
+			}
+		}
+	}
+
+	// Generated by an older annotation processor, which didn't list the commands it generated
+	public static class UnindexedCommand {
+		public static class Command {
+			public static void register() {
+				new CommandAPICommand("unindexed")
+					.executesPlayer((player, args) -> {
+						results.set("unindexed");
+					})
+					.register();
+			}
+		}
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testRegisterIndexedCommands() {
+		CommandAPI.registerCommand(IndexedCommand.class);
+		CommandAPI.registerCommand(OtherIndexedCommand.class);
+
+		PlayerMock player = server.addPlayer();
+		assertStoresResult(player, "indexed", results, "indexed");
+		assertStoresResult(player, "otherindexed", results, "otherindexed");
+
+		// The index is only read once, so each listed command is only created once
+		assertEquals(2, createdCommands.size());
+		assertEquals(2, registeredCommands.size());
+		assertSame(IndexedCommand.class, registeredCommands.get(0).getCommandClass());
+		assertSame(OtherIndexedCommand.class, registeredCommands.get(1).getCommandClass());
+
+		// Registering a command again uses the same generated command
+		CommandAPI.unregister("indexed");
+		CommandAPI.registerCommand(IndexedCommand.class);
+		assertEquals(2, createdCommands.size());
+		assertSame(registeredCommands.get(0), registeredCommands.get(2));
+		assertStoresResult(player, "indexed", results, "indexed");
+
+		assertNoMoreResults(results);
+	}
+
+	@Test
+	void testRegisterUnindexedCommand() {
+		CommandAPI.registerCommand(UnindexedCommand.class);
+
+		PlayerMock player = server.addPlayer();
+		assertStoresResult(player, "unindexed", results, "unindexed");
+
+		assertNoMoreResults(results);
+	}
+
+}
@@ -1,16 +1,24 @@
 package dev.jorel.commandapi.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.entity.Player;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.mojang.brigadier.Message;
+
+import dev.jorel.commandapi.BukkitTooltip;
+import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.StringTooltip;
+import dev.jorel.commandapi.Tooltip;
 import dev.jorel.commandapi.arguments.ArgumentSuggestions;
 import dev.jorel.commandapi.arguments.MathOperationArgument;
 import dev.jorel.commandapi.arguments.StringArgument;
@@ -137,4 +145,81 @@ public class ArgumentSuggestionTests extends TestBase {
 			server.getSuggestionsWithTooltips(player, "test ")
 		);
 	}
+
+	@Test
+	void testLazyTooltipsOnlyCreatedForShownSuggestions() {
+		List<String> createdTooltips = new ArrayList<>();
+
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("arg")
+				.replaceSuggestions(ArgumentSuggestions.stringsWithTooltips(
+					StringTooltip.ofLazyMessage("cat", () -> {
+						createdTooltips.add("cat");
+						return Tooltip.messageFromString("a cat");
+					}),
+					StringTooltip.ofLazyMessage("apple", () -> {
+						createdTooltips.add("apple");
+						return Tooltip.messageFromString("an apple");
+					}),
+					StringTooltip.ofLazyMessage("wolf", () -> {
+						createdTooltips.add("wolf");
+						return Tooltip.messageFromString("a wolf");
+					})
+				)))
+			.executes((sender, args) -> {
+			})
+			.register();
+
+		Player player = server.addPlayer("APlayer");
+
+		// /test c
+		assertSuggestionListEquals(
+			List.of(mkSuggestion("cat", "a cat")),
+			server.getSuggestionsWithTooltips(player, "test c")
+		);
+		assertEquals(List.of("cat"), createdTooltips);
+
+		// Tooltips are only created once
+		assertSuggestionListEquals(
+			List.of(
+				mkSuggestion("apple", "an apple"),
+				mkSuggestion("cat", "a cat"),
+				mkSuggestion("wolf", "a wolf")
+			),
+			server.getSuggestionsWithTooltips(player, "test ")
+		);
+		assertEquals(List.of("cat", "apple", "wolf"), createdTooltips);
+	}
+
+	@Test
+	void testConvertedTooltipsAreNotShared() {
+		// Only lazy tooltips reuse converted messages, so each caller gets its own message
+		Message first = BukkitTooltip.messageFromBaseComponents(new TextComponent("a cat"));
+		Message second = BukkitTooltip.messageFromBaseComponents(new TextComponent("a cat"));
+		assertEquals(first.getString(), second.getString());
+		assertNotSame(first, second);
+	}
+
+	@Test
+	void testReplaceSuggestionsOptionalArgumentsShared() {
+		new CommandAPICommand("test")
+			.withOptionalArguments(new StringArgument("arg1").replaceSuggestions(ArgumentSuggestions.strings("cat", "apple")))
+			.withOptionalArguments(new StringArgument("arg2").replaceSuggestions(ArgumentSuggestions.strings(info ->
+				new String[] { info.previousArgs().getUnchecked("arg1") })))
+			.executes((sender, args) -> {
+			})
+			.register();
+		
+		Player player = server.addPlayer("APlayer");
+		
+		// /test
+		assertEquals(List.of("apple", "cat"), server.getSuggestions(player, "test "));
+		
+		// /test cat
+		assertEquals(List.of("cat"), server.getSuggestions(player, "test cat "));
+		
+		// Each argument has one suggestion provider and one requirement, which are
+		// shared between the /test arg1 and /test arg1 arg2 registration paths
+		assertEquals(Integer.valueOf(4), CommandAPI.getRetainedClosures().get("test"));
+	}
 }
@@ -0,0 +1,158 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.bukkit.ChatColor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+import dev.jorel.commandapi.executors.CommandArguments;
+
+/**
+ * Tests for asynchronous command executors
+ */
+class CommandAsyncExecutorTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	// Whether the executor should act like it has been shut down
+	private boolean rejectTasks = false;
+
+	@BeforeEach
+	public void setUp() {
+		// Run asynchronous executors immediately, so tests don't have to wait for them
+		Main.asyncExecutor = task -> {
+			if (rejectTasks) {
+				throw new RejectedExecutionException("Executor has been shut down");
+			}
+			task.run();
+		};
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+		Main.asyncExecutor = null;
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void executionTestWithAsyncExecutor() {
+		Mut<CommandArguments> asyncResults = Mut.of();
+		Mut<String> syncResults = Mut.of();
+
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("value"))
+			.withArguments(new IntegerArgument("amount"))
+			.executesPlayerAsync((player, args) -> {
+				asyncResults.set(args);
+				return CommandAPI.runSync(player, () -> syncResults.set(args.getUnchecked("value")));
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+
+		// /test hello 5
+		assertTrue(server.dispatchCommand(player, "test hello 5"));
+		CommandArguments args = asyncResults.get();
+		assertEquals("hello", args.get("value"));
+		assertEquals(5, args.get("amount"));
+		assertEquals("/test hello 5", args.fullInput());
+
+		// The synchronous part only runs on the next tick
+		assertNoMoreResults(syncResults);
+		server.getScheduler().performOneTick();
+		assertEquals("hello", syncResults.get());
+
+		assertNoMoreResults(asyncResults);
+		assertNoMoreResults(syncResults);
+	}
+
+	@Test
+	void executionTestWithAsyncExecutorFailure() {
+		new CommandAPICommand("test")
+			.withArguments(new IntegerArgument("value"))
+			.executesAsync((sender, args) -> {
+				if ((int) args.get("value") < 0) {
+					throw CommandAPI.failWithString("Thrown failure");
+				}
+				return CompletableFuture.failedFuture(CommandAPI.failWithString("Future failure"));
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+
+		// Failures are sent as messages, since the command has already succeeded //
+
+		// /test -1
+		assertTrue(server.dispatchCommand(player, "test -1"));
+		server.getScheduler().performOneTick();
+		assertEquals(ChatColor.RED + "Thrown failure", player.nextMessage());
+
+		// /test 1
+		assertTrue(server.dispatchCommand(player, "test 1"));
+		server.getScheduler().performOneTick();
+		assertEquals(ChatColor.RED + "Future failure", player.nextMessage());
+
+		assertNull(player.nextMessage());
+	}
+
+	@Test
+	void executionTestWithAsyncExecutorUnhandledException() {
+		new CommandAPICommand("test")
+			.executesAsync((sender, args) -> {
+				throw new IllegalStateException("Database unavailable");
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+
+		// /test
+		assertTrue(server.dispatchCommand(player, "test"));
+		server.getScheduler().performOneTick();
+		assertEquals(ChatColor.RED + "An unexpected error occurred trying to execute that command", player.nextMessage());
+		assertNull(player.nextMessage());
+	}
+
+	@Test
+	void executionTestWithRejectedAsyncExecutor() {
+		Mut<CommandArguments> asyncResults = Mut.of();
+
+		new CommandAPICommand("test")
+			.executesAsync((sender, args) -> {
+				asyncResults.set(args);
+				return null;
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		rejectTasks = true;
+
+		// The command fails with a message instead of throwing the RejectedExecutionException
+		// /test
+		assertDoesNotThrow(() -> server.dispatchCommand(player, "test"));
+		assertEquals(ChatColor.RED + "This command can't be run right now, please try again later", player.nextMessage());
+		assertNull(player.nextMessage());
+
+		assertNoMoreResults(asyncResults);
+	}
+
+}
@@ -0,0 +1,192 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.RegisteredCommand;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+
+/**
+ * Tests for registering, looking up and executing commands on several threads
+ * at once
+ */
+class CommandConcurrencyTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	private static final int THREADS = 8;
+	private static final int COMMANDS_PER_THREAD = 50;
+
+	private ExecutorService threads;
+
+	@BeforeEach
+	public void setUp() {
+		super.setUp();
+		threads = Executors.newFixedThreadPool(THREADS * 2);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		threads.shutdownNow();
+		super.tearDown();
+	}
+
+	// A class with a field to look up using CommandAPIHandler.getField
+	@SuppressWarnings("unused")
+	private static class FieldHolder {
+		private int field;
+	}
+
+	// Runs every task at the same time, then rethrows any exception thrown by a task
+	private void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Void>> futures = new ArrayList<>();
+		for (Callable<Void> task : tasks) {
+			futures.add(threads.submit(() -> {
+				start.await();
+				return task.call();
+			}));
+		}
+		start.countDown();
+		for (Future<Void> future : futures) {
+			future.get(60, TimeUnit.SECONDS);
+		}
+	}
+
+	// Repeatedly reads the CommandAPI's registration state until told to stop
+	private Callable<Void> lookupTask(AtomicBoolean running) {
+		return () -> {
+			Field expectedField = CommandAPIHandler.getField(FieldHolder.class, "field");
+			do {
+				for (RegisteredCommand command : CommandAPI.getRegisteredCommands()) {
+					assertNotNull(command.commandName());
+				}
+				CommandAPI.getRetainedClosures().forEach((name, closures) -> assertNotNull(name));
+				CommandAPIHandler.getInstance().lookupPreviewable(List.of("cmd0_0", "message"));
+				assertSame(expectedField, CommandAPIHandler.getField(FieldHolder.class, "field"));
+			} while (running.get());
+			return null;
+		};
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void registrationWithConcurrentLookups() throws Exception {
+		AtomicInteger executions = new AtomicInteger();
+		AtomicBoolean registering = new AtomicBoolean(true);
+		AtomicInteger finishedRegistering = new AtomicInteger();
+
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int thread = 0; thread < THREADS; thread++) {
+			final int threadNumber = thread;
+			tasks.add(() -> {
+				try {
+					for (int i = 0; i < COMMANDS_PER_THREAD; i++) {
+						new CommandAPICommand("cmd" + threadNumber + "_" + i)
+							.withPermission("permission.cmd" + threadNumber + "_" + i)
+							.withAliases("alias" + threadNumber + "_" + i)
+							.withArguments(new StringArgument("string"), new IntegerArgument("int"))
+							.executes((sender, args) -> {
+								executions.incrementAndGet();
+							})
+							.register();
+					}
+				} finally {
+					if (finishedRegistering.incrementAndGet() == THREADS) {
+						registering.set(false);
+					}
+				}
+				return null;
+			});
+			tasks.add(lookupTask(registering));
+		}
+		runConcurrently(tasks);
+
+		// No registrations should have been lost
+		Set<String> registeredNames = new HashSet<>();
+		for (RegisteredCommand command : CommandAPI.getRegisteredCommands()) {
+			registeredNames.add(command.commandName());
+		}
+		for (int thread = 0; thread < THREADS; thread++) {
+			for (int i = 0; i < COMMANDS_PER_THREAD; i++) {
+				String name = "cmd" + thread + "_" + i;
+				assertTrue(registeredNames.contains(name), "Command " + name + " was not registered");
+				assertTrue(CommandAPI.getRetainedClosures().containsKey(name), "Command " + name + " has no retained closures");
+			}
+		}
+		assertEquals(THREADS * COMMANDS_PER_THREAD, CommandAPI.getRegisteredCommands().size());
+
+		// Every command should be executable
+		for (int thread = 0; thread < THREADS; thread++) {
+			for (int i = 0; i < COMMANDS_PER_THREAD; i++) {
+				server.dispatchBrigadierCommand(server.getConsoleSender(), "cmd" + thread + "_" + i + " hello 5");
+				server.dispatchBrigadierCommand(server.getConsoleSender(), "alias" + thread + "_" + i + " hello 5");
+			}
+		}
+		assertEquals(THREADS * COMMANDS_PER_THREAD * 2, executions.get());
+	}
+
+	@Test
+	void executionWithConcurrentLookups() throws Exception {
+		AtomicInteger executions = new AtomicInteger();
+		AtomicBoolean executing = new AtomicBoolean(true);
+		AtomicInteger finishedExecuting = new AtomicInteger();
+
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("string"), new IntegerArgument("int"))
+			.executes((sender, args) -> {
+				assertEquals("hello", args.get("string"));
+				executions.addAndGet((int) args.get("int"));
+			})
+			.register();
+
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int thread = 0; thread < THREADS; thread++) {
+			tasks.add(() -> {
+				try {
+					for (int i = 0; i < 500; i++) {
+						server.dispatchBrigadierCommand(server.getConsoleSender(), "test hello 1");
+					}
+				} finally {
+					if (finishedExecuting.incrementAndGet() == THREADS) {
+						executing.set(false);
+					}
+				}
+				return null;
+			});
+			tasks.add(lookupTask(executing));
+		}
+		runConcurrently(tasks);
+
+		assertEquals(THREADS * 500, executions.get());
+	}
+}
@@ -2,6 +2,8 @@ package dev.jorel.commandapi.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import be.seeseemelk.mockbukkit.MockBukkit;
 import be.seeseemelk.mockbukkit.entity.PlayerMock;
 import dev.jorel.commandapi.Converter;
+import dev.jorel.commandapi.arguments.StringArgument;
 import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
 
 /**
@@ -47,4 +50,78 @@ class CommandConvertedTests extends TestBase {
 
 		assertEquals("hello", player.nextMessage());
 	}
+
+	@Test
+	void testPluginCommandWithArguments() {
+		JavaPlugin plugin = MockBukkit.loadWith(CommandConvertedTestsPlugin.class, CommandConvertedTestsPlugin.pluginYaml());
+
+		Converter.convert(plugin, "mycommand");
+
+		PlayerMock player = server.addPlayer();
+		NativeProxyCommandSender nativeProxyMockedPlayer = new NativeProxyCommandSender(player, player, player.getLocation(), player.getWorld());
+		server.dispatchBrigadierCommand(nativeProxyMockedPlayer, "mycommand");
+		server.dispatchBrigadierCommand(nativeProxyMockedPlayer, "mycommand some arguments");
+
+		assertEquals("hello", player.nextMessage());
+		assertEquals("hello some arguments", player.nextMessage());
+	}
+
+	@Test
+	void testCommandMapCommand() {
+		MockBukkit.loadWith(CommandConvertedTestsPlugin.class, CommandConvertedTestsPlugin.pluginYaml());
+
+		// Converting by name runs the command found in the CommandMap
+		Converter.convert("mycommand");
+
+		PlayerMock player = server.addPlayer();
+		NativeProxyCommandSender nativeProxyMockedPlayer = new NativeProxyCommandSender(player, player, player.getLocation(), player.getWorld());
+		server.dispatchBrigadierCommand(nativeProxyMockedPlayer, "mycommand");
+		server.dispatchBrigadierCommand(nativeProxyMockedPlayer, "mycommand some arguments");
+		server.dispatchBrigadierCommand(nativeProxyMockedPlayer, "mycommand more arguments");
+
+		assertEquals("hello", player.nextMessage());
+		assertEquals("hello some arguments", player.nextMessage());
+		assertEquals("hello more arguments", player.nextMessage());
+	}
+
+	@Test
+	void testPluginCommandWithSpecificArguments() {
+		JavaPlugin plugin = MockBukkit.loadWith(CommandConvertedTestsPlugin.class, CommandConvertedTestsPlugin.pluginYaml());
+
+		// The command can be run with no arguments or with all of them
+		Converter.convert(plugin, "mycommand", new StringArgument("arg"));
+
+		PlayerMock player = server.addPlayer();
+		NativeProxyCommandSender nativeProxyMockedPlayer = new NativeProxyCommandSender(player, player, player.getLocation(), player.getWorld());
+		server.dispatchBrigadierCommand(nativeProxyMockedPlayer, "mycommand");
+		server.dispatchBrigadierCommand(nativeProxyMockedPlayer, "mycommand argument");
+
+		assertEquals("hello", player.nextMessage());
+		assertEquals("hello argument", player.nextMessage());
+	}
+
+	@Test
+	void testReplacedCommandMapCommand() {
+		MockBukkit.loadWith(CommandConvertedTestsPlugin.class, CommandConvertedTestsPlugin.pluginYaml());
+
+		Converter.convert("mycommand");
+
+		PlayerMock player = server.addPlayer();
+		NativeProxyCommandSender nativeProxyMockedPlayer = new NativeProxyCommandSender(player, player, player.getLocation(), player.getWorld());
+		server.dispatchBrigadierCommand(nativeProxyMockedPlayer, "mycommand");
+		assertEquals("hello", player.nextMessage());
+
+		// A plugin replaces the command at runtime, without enabling or disabling a plugin
+		server.getCommandMap().getKnownCommands().put("mycommand", new Command("mycommand") {
+			@Override
+			public boolean execute(CommandSender sender, String commandLabel, String[] args) {
+				sender.sendMessage("replaced");
+				return true;
+			}
+		});
+
+		server.dispatchBrigadierCommand(nativeProxyMockedPlayer, "mycommand");
+		assertEquals("replaced", player.nextMessage());
+	}
+
 }
@@ -28,7 +28,7 @@ public class CommandConvertedTestsPlugin extends JavaPlugin {
 	@Override
 	public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
 		if (label.equalsIgnoreCase("mycommand")) {
-			sender.sendMessage("hello");
+			sender.sendMessage(args.length == 0 ? "hello" : "hello " + String.join(" ", args));
 			return true;
 		}
 		return false;
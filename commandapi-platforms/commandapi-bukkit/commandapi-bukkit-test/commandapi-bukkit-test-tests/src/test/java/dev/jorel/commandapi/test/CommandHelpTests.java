@@ -2,6 +2,7 @@ package dev.jorel.commandapi.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.arguments.IntegerArgument;
 import dev.jorel.commandapi.arguments.StringArgument;
@@ -61,6 +63,29 @@ class CommandHelpTests extends TestBase {
 			&6Usage: &f/test"""), server.getHelpMap().getHelpTopic("/test").getFullText(player));
 	}
 	
+	@Test
+	void testRegisterCommandWithOptionalArguments() {
+		new CommandAPICommand("test")
+			.withHelp("short description", "full description")
+			.withArguments(new StringArgument("required"))
+			.withOptionalArguments(new StringArgument("optional1").combineWith(new StringArgument("combined")))
+			.withOptionalArguments(new StringArgument("optional2"))
+			.executes((sender, args) -> {
+			})
+			.register();
+
+		disablePaperImplementations();
+		server.getScheduler().performOneTick();
+		Player player = server.addPlayer("APlayer");
+
+		// Optional arguments are registered as one command, so there's only one usage
+		assertEquals(1, CommandAPI.getRegisteredCommands().size());
+		assertEquals(ChatColor.translateAlternateColorCodes('&', """
+			short description
+			&6Description: &ffull description
+			&6Usage: &f/test <required> [<optional1> <combined>] [<optional2>]"""), server.getHelpMap().getHelpTopic("/test").getFullText(player));
+	}
+
 	@Test
 	void testRegisterCommandWithShortDescription() {
 		new CommandAPICommand("test")
@@ -164,6 +189,38 @@ class CommandHelpTests extends TestBase {
 			&6Aliases: &fothertest, othercommand"""), server.getHelpMap().getHelpTopic("/test").getFullText(player));
 	}
 	
+	@Test
+	void testRegisterCommandWithHelpAliasTopics() {
+		new CommandAPICommand("test")
+			.withHelp("short description", "full description")
+			.withAliases("othertest", "othercommand")
+			.executes((sender, args) -> {
+			})
+			.register();
+
+		disablePaperImplementations();
+		server.getScheduler().performOneTick();
+		Player player = server.addPlayer("APlayer");
+
+		// Check the help topics were added for the aliases
+		assertNotNull(server.getHelpMap().getHelpTopic("/othertest"));
+		assertNotNull(server.getHelpMap().getHelpTopic("/othercommand"));
+
+		// Check the short description
+		assertEquals("short description", server.getHelpMap().getHelpTopic("/othertest").getShortText());
+
+		// Check the full description lists every other name for the command
+		assertEquals(ChatColor.translateAlternateColorCodes('&', """
+			short description
+			&6Description: &ffull description
+			&6Usage: &f/test
+			&6Aliases: &fothercommand, test"""), server.getHelpMap().getHelpTopic("/othertest").getFullText(player));
+
+		// The full description is generated once and then reused
+		assertSame(server.getHelpMap().getHelpTopic("/othertest").getFullText(player),
+			server.getHelpMap().getHelpTopic("/othertest").getFullText(player));
+	}
+
 	@Test
 	void testRegisterCommandWithMultipleArguments() {
 		new CommandAPICommand("test")
@@ -0,0 +1,155 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.server.ServerLoadEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+
+/**
+ * Tests for commands registered with registerLazily
+ */
+class CommandLazyRegistrationTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	private void loadServer() {
+		disablePaperImplementations();
+		Bukkit.getPluginManager().callEvent(new ServerLoadEvent(ServerLoadEvent.LoadType.STARTUP));
+		server.getScheduler().performOneTick();
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testLazyCommandIsBuiltWhenUsed() {
+		Mut<Integer> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.withAliases("alias")
+			.withArguments(new IntegerArgument("value"))
+			.executesPlayer((player, args) -> {
+				results.set((int) args.get("value"));
+			})
+			.registerLazily();
+
+		// Placeholders are only added once the server has loaded
+		assertNull(MockPlatform.getInstance().getBrigadierDispatcher().getRoot().getChild("test"));
+		loadServer();
+		assertNotNull(MockPlatform.getInstance().getBrigadierDispatcher().getRoot().getChild("test"));
+		assertNotNull(MockPlatform.getInstance().getBrigadierDispatcher().getRoot().getChild("minecraft:test"));
+
+		// The command hasn't been built yet
+		assertEquals(0, CommandAPI.getRegisteredCommands().size());
+
+		PlayerMock player = server.addPlayer();
+		server.dispatchCommand(player, "test 5");
+		assertEquals(5, results.get());
+
+		// The command was built once, for every placeholder
+		assertEquals(1, CommandAPI.getRegisteredCommands().size());
+
+		server.dispatchCommand(player, "alias 6");
+		assertEquals(6, results.get());
+		server.dispatchCommand(player, "minecraft:test 7");
+		assertEquals(7, results.get());
+		assertEquals(1, CommandAPI.getRegisteredCommands().size());
+
+		assertNoMoreResults(results);
+	}
+
+	@Test
+	void testLazyCommandIsNotBuiltForPlayersWhoCantUseIt() {
+		loadServer();
+
+		// MockPlayer throws an UnimplementedOperationException for updateCommands
+		PlayerMock player = Mockito.spy(new PlayerMock(server, "player"));
+		Mockito.doNothing().when(player).updateCommands();
+		server.addPlayer(player);
+
+		new CommandAPICommand("test")
+			.withPermission("permission")
+			.withArguments(new IntegerArgument("value"))
+			.executesPlayer(P_EXEC)
+			.registerLazily();
+
+		// The player can't use the command, so sending them their commands doesn't build it
+		CommandAPI.updateRequirements(player);
+		assertEquals(0, CommandAPI.getRegisteredCommands().size());
+
+		player.addAttachment(super.plugin, "permission", true);
+		CommandAPI.updateRequirements(player);
+		assertEquals(1, CommandAPI.getRegisteredCommands().size());
+	}
+
+	@Test
+	void testLazyCommandHasHelpOnceBuilt() {
+		loadServer();
+
+		new CommandAPICommand("test")
+			.withHelp("short description", "full description")
+			.withArguments(new IntegerArgument("value"))
+			.executesPlayer(P_EXEC)
+			.registerLazily();
+
+		// Help topics are generated once the server has loaded, so this one is added when the command is built
+		assertNull(server.getHelpMap().getHelpTopic("/test"));
+
+		PlayerMock player = server.addPlayer();
+		server.dispatchCommand(player, "test 5");
+		assertNotNull(server.getHelpMap().getHelpTopic("/test"));
+		assertEquals("short description", server.getHelpMap().getHelpTopic("/test").getShortText());
+	}
+
+	@Test
+	void testLazyCommandWithExistingNameIsRegisteredNormally() {
+		Mut<String> results = Mut.of();
+		loadServer();
+
+		new CommandAPICommand("test")
+			.executesPlayer((player, args) -> {
+				results.set("normal");
+			})
+			.register();
+
+		new CommandAPICommand("test")
+			.withArguments(new IntegerArgument("value"))
+			.executesPlayer((player, args) -> {
+				results.set("lazy " + args.get("value"));
+			})
+			.registerLazily();
+
+		// Merging the commands would build the lazy command anyway, so it is built straight away
+		assertEquals(2, CommandAPI.getRegisteredCommands().size());
+
+		PlayerMock player = server.addPlayer();
+		assertStoresResult(player, "test", results, "normal");
+		assertStoresResult(player, "test 5", results, "lazy 5");
+
+		assertNoMoreResults(results);
+	}
+}
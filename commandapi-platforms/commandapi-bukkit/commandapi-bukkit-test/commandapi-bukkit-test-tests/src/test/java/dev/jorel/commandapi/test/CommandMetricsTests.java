@@ -0,0 +1,187 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandMetrics;
+import dev.jorel.commandapi.CommandMetrics.FailureCause;
+import dev.jorel.commandapi.CommandMetrics.PathMetrics;
+import dev.jorel.commandapi.arguments.CustomArgument;
+import dev.jorel.commandapi.arguments.CustomArgument.CustomArgumentException;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.LiteralArgument;
+
+/**
+ * Tests for recording metrics of commands
+ */
+class CommandMetricsTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		Main.commandMetrics = true;
+		// Run asynchronous executors immediately, so tests don't have to wait for them
+		Main.asyncExecutor = Runnable::run;
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+		Main.commandMetrics = false;
+		Main.asyncExecutor = null;
+	}
+
+	private PathMetrics getMetrics(String commandPath) {
+		Mut<PathMetrics> result = Mut.of();
+		CommandAPI.getCommandMetrics().export(metrics -> result.set(metrics.get(commandPath)));
+		return result.get();
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testMetricsAreRecordedForEachCause() {
+		Mut<Integer> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.withArguments(new LiteralArgument("set"))
+			.withArguments(new CustomArgument<Integer, Integer>(new IntegerArgument("value"), info -> {
+				if (info.currentInput() < 0) {
+					throw CustomArgumentException.fromString("Value must not be negative");
+				}
+				return info.currentInput();
+			}))
+			.executesPlayer((player, args) -> {
+				int value = (int) args.get("value");
+				if (value == 0) {
+					throw new IllegalStateException("Value is 0");
+				} else if (value > 10) {
+					throw CommandAPI.failWithString("Value is too large");
+				}
+				results.set(value);
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+
+		// /test set 5
+		assertStoresResult(player, "test set 5", results, 5);
+
+		// /test set -1
+		assertCommandFailsWith(player, "test set -1", "Value must not be negative");
+
+		// /test set 11
+		assertCommandFailsWith(player, "test set 11", "Value is too large");
+
+		// /test set 0
+		assertThrows(RuntimeException.class, () -> server.dispatchThrowableCommand(player, "test set 0"));
+
+		PathMetrics metrics = getMetrics("/test set <value>");
+		assertEquals(4, metrics.getInvocations());
+		assertEquals(1, metrics.getFailures(FailureCause.SYNTAX));
+		assertEquals(1, metrics.getFailures(FailureCause.WRAPPER_SYNTAX));
+		assertEquals(1, metrics.getFailures(FailureCause.UNHANDLED));
+		assertEquals(3, metrics.getFailures());
+
+		// Every run converts its arguments, but the executor only runs if they were converted
+		assertEquals(4, metrics.getArgumentsNanos().getCount());
+		assertEquals(3, metrics.getExecuteNanos().getCount());
+		assertTrue(metrics.getExecuteNanos().getValueAtPercentile(100) <= metrics.getExecuteNanos().getMaxNanos());
+
+		assertTrue(CommandAPI.getCommandMetrics().toText().startsWith("/test set <value>: 4 runs, 1 syntax / 1 command / 1 unhandled failures"));
+
+		assertNoMoreResults(results);
+	}
+
+	@Test
+	void testAsyncExecutorsAreRecordedWhenTheyComplete() {
+		Mut<CompletableFuture<Void>> futures = Mut.of();
+
+		new CommandAPICommand("test")
+			.executesPlayerAsync((player, args) -> {
+				CompletableFuture<Void> future = new CompletableFuture<>();
+				futures.set(future);
+				return future;
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		server.dispatchCommand(player, "test");
+		CompletableFuture<Void> future = futures.get();
+
+		// The executor hasn't finished yet
+		PathMetrics metrics = getMetrics("/test");
+		assertEquals(1, metrics.getInvocations());
+		assertEquals(0, metrics.getExecuteNanos().getCount());
+
+		future.complete(null);
+		assertEquals(1, metrics.getExecuteNanos().getCount());
+		assertEquals(0, metrics.getFailures());
+
+		// Failures are recorded when the future fails
+		server.dispatchCommand(player, "test");
+		futures.get().completeExceptionally(CommandAPI.failWithString("Failed"));
+		assertEquals(2, metrics.getExecuteNanos().getCount());
+		assertEquals(1, metrics.getFailures(FailureCause.WRAPPER_SYNTAX));
+
+		server.dispatchCommand(player, "test");
+		futures.get().completeExceptionally(new IllegalStateException("Failed"));
+		assertEquals(3, metrics.getExecuteNanos().getCount());
+		assertEquals(1, metrics.getFailures(FailureCause.UNHANDLED));
+
+		assertNoMoreResults(futures);
+	}
+
+	@Test
+	void testMetricsAreRemovedWhenUnregistered() {
+		new CommandAPICommand("test")
+			.executesPlayer(P_EXEC)
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		server.dispatchCommand(player, "test");
+		assertEquals(1, getMetrics("/test").getInvocations());
+
+		CommandAPI.unregister("test");
+		Mut<Map<String, PathMetrics>> result = Mut.of();
+		CommandAPI.getCommandMetrics().export(result::set);
+		assertTrue(result.get().isEmpty());
+	}
+
+	@Test
+	void testMetricsAreDisabledByDefault() {
+		super.tearDown();
+		Main.commandMetrics = false;
+		super.setUp();
+
+		new CommandAPICommand("test")
+			.executesPlayer(P_EXEC)
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		server.dispatchCommand(player, "test");
+
+		CommandMetrics commandMetrics = CommandAPI.getCommandMetrics();
+		assertFalse(commandMetrics.isEnabled());
+		assertNull(getMetrics("/test"));
+	}
+}
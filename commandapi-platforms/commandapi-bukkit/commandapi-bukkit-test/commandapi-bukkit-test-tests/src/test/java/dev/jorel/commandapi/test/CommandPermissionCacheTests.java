@@ -0,0 +1,87 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.PermissionCache;
+
+/**
+ * Tests for caching players' permissions
+ */
+class CommandPermissionCacheTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		Main.permissionCacheTimeout = 60_000;
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+		Main.permissionCacheTimeout = 0;
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void executionTestWithCachedPermission() {
+		Mut<Boolean> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.withPermission("permission.node")
+			.executesPlayer((player, args) -> {
+				results.set(true);
+			})
+			.register();
+
+		// Interrupt calls to updateCommands, because PlayerMock throws an UnimplementedOperationException
+		PlayerMock player = Mockito.spy(new PlayerMock(server, "player"));
+		Mockito.doNothing().when(player).updateCommands();
+		server.addPlayer(player);
+
+		PermissionCache permissionCache = CommandAPI.getPermissionCache();
+		assertTrue(permissionCache.isEnabled());
+
+		// Player doesn't have permission //
+
+		// /test
+		assertCommandFailsWith(player, "test", "Unknown or incomplete command, see below for error at position 0: <--[HERE]");
+		assertEquals(1, permissionCache.getMisses());
+
+		// Player has permission, but the old decision is cached //
+
+		player.addAttachment(super.plugin, "permission.node", true);
+
+		// /test
+		assertCommandFailsWith(player, "test", "Unknown or incomplete command, see below for error at position 0: <--[HERE]");
+		assertEquals(1, permissionCache.getMisses());
+		assertTrue(permissionCache.getHits() > 0);
+
+		// Updating requirements discards the cached decision //
+
+		CommandAPI.updateRequirements(player);
+
+		// /test
+		assertTrue(server.dispatchCommand(player, "test"));
+		assertTrue(results.get());
+		assertEquals(2, permissionCache.getMisses());
+
+		assertNoMoreResults(results);
+	}
+
+}
@@ -1,5 +1,6 @@
 package dev.jorel.commandapi.test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.AfterEach;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import be.seeseemelk.mockbukkit.entity.PlayerMock;
 import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandPermission;
 import dev.jorel.commandapi.arguments.StringArgument;
 
 /**
@@ -108,6 +110,49 @@ class CommandPermissionTests extends TestBase {
 		assertNoMoreResults(results1);
 		assertNoMoreResults(results2);
 	}
+
+	@Test
+	void executionTestWithoutOpDoesNotAffectOtherCommands() {
+		Mut<String> results = Mut.of();
+
+		new CommandAPICommand("notopcommand")
+			.withoutPermission(CommandPermission.OP)
+			.executesPlayer((player, args) -> {
+				results.set("notopcommand");
+			})
+			.register();
+
+		new CommandAPICommand("opcommand")
+			.withPermission(CommandPermission.OP)
+			.executesPlayer((player, args) -> {
+				results.set("opcommand");
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+
+		// Player isn't op //
+
+		// /notopcommand
+		assertTrue(server.dispatchCommand(player, "notopcommand"));
+		assertEquals("notopcommand", results.get());
+
+		// /opcommand
+		assertCommandFailsWith(player, "opcommand", "Unknown or incomplete command, see below for error at position 0: <--[HERE]");
+
+		// Player is op //
+
+		player.setOp(true);
+
+		// /notopcommand
+		assertCommandFailsWith(player, "notopcommand", "Unknown or incomplete command, see below for error at position 0: <--[HERE]");
+
+		// /opcommand
+		assertTrue(server.dispatchCommand(player, "opcommand"));
+		assertEquals("opcommand", results.get());
+
+		assertNoMoreResults(results);
+	}
 	
 	// Todo: Command trees, subcommands, literal arguments, multiple arguments on the same level etc.
 	// Possibly also to-do: check suggestions only show for what you have permission to see?
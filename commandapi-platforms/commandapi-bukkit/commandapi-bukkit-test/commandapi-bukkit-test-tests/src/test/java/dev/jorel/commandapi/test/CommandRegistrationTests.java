@@ -1,5 +1,8 @@
 package dev.jorel.commandapi.test;
 
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
 import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.CommandTree;
@@ -15,8 +18,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * Tests for the semantics of registering commands
@@ -707,4 +716,45 @@ class CommandRegistrationTests extends TestBase {
 			getDispatcherString()
 		);
 	}
+
+	@Test
+	void testAliasesShareArgumentNodes() {
+		Mut<String> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.withAliases("alias1", "alias2", "alias3", "alias4", "alias5")
+			.withArguments(new StringArgument("arg1"), new StringArgument("arg2"), new StringArgument("arg3"))
+			.executesPlayer((player, args) -> {
+				results.set(args.getUnchecked("arg3"));
+			})
+			.register();
+
+		RootCommandNode<Object> root = MockPlatform.getInstance().getBrigadierDispatcher().getRoot();
+		CommandNode<Object> arguments = root.getChild("test").getChild("arg1");
+		for (String alias : List.of("alias1", "alias2", "alias3", "alias4", "alias5")) {
+			assertSame(arguments, root.getChild(alias).getChild("arg1"));
+		}
+
+		// Each literal and argument node only exists once, rather than copying the 3 arguments for each alias
+		Set<CommandNode<Object>> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+		collectNodes(root, nodes);
+		assertEquals(6 + 3, nodes.size());
+
+		// Aliases still run the command
+		PlayerMock player = server.addPlayer();
+		server.dispatchCommand(player, "test a b c");
+		assertEquals("c", results.get());
+		server.dispatchCommand(player, "alias5 a b d");
+		assertEquals("d", results.get());
+
+		assertNoMoreResults(results);
+	}
+
+	private static void collectNodes(CommandNode<Object> node, Set<CommandNode<Object>> nodes) {
+		for (CommandNode<Object> child : node.getChildren()) {
+			if (nodes.add(child)) {
+				collectNodes(child, nodes);
+			}
+		}
+	}
 }
@@ -0,0 +1,172 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.server.ServerLoadEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandResendTracker;
+
+/**
+ * Tests for only resending the command tree to players when the commands they
+ * can see have changed
+ */
+class CommandResendTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	private PlayerMock player;
+
+	@BeforeEach
+	public void setUp() {
+		super.setUp();
+
+		// Enable server, so that commands registered later are resent to players
+		disablePaperImplementations();
+		Bukkit.getPluginManager().callEvent(new ServerLoadEvent(ServerLoadEvent.LoadType.STARTUP));
+		server.getScheduler().performOneTick();
+
+		// MockPlayer throws an UnimplementedOperationException for updateCommands. Like the server, the
+		//  PlayerCommandSendEvent is called whenever commands are sent
+		player = Mockito.spy(new PlayerMock(server, "player"));
+		Mockito.doAnswer(invocation -> {
+			sendCommandsFromServer();
+			return null;
+		}).when(player).updateCommands();
+		server.addPlayer(player);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	// Like the server does when sending commands to a player, for example when they respawn
+	private void sendCommandsFromServer() {
+		Bukkit.getPluginManager().callEvent(new PlayerCommandSendEvent(player, new HashSet<>()));
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testUpdateRequirementsOnlyResendsChangedCommands() {
+		AtomicBoolean allowed = new AtomicBoolean(false);
+		new CommandAPICommand("test")
+			.withRequirement(sender -> allowed.get())
+			.executesPlayer(P_EXEC)
+			.register();
+
+		CommandResendTracker tracker = CommandAPIBukkit.get().getCommandResendTracker();
+
+		// The CommandAPI doesn't know what the player could see before, so they are always sent commands the first time
+		Mockito.verify(player, Mockito.times(1)).updateCommands();
+
+		// Nothing has changed
+		CommandAPI.updateRequirements(player);
+		Mockito.verify(player, Mockito.times(1)).updateCommands();
+
+		// The player can now see the command
+		allowed.set(true);
+		CommandAPI.updateRequirements(player);
+		Mockito.verify(player, Mockito.times(2)).updateCommands();
+
+		CommandAPI.updateRequirements(player);
+		Mockito.verify(player, Mockito.times(2)).updateCommands();
+
+		assertEquals(2, tracker.getSent());
+		assertEquals(2, tracker.getSkipped());
+
+		// Forgetting the player means they are sent commands again
+		tracker.invalidate(player);
+		CommandAPI.updateRequirements(player);
+		Mockito.verify(player, Mockito.times(3)).updateCommands();
+	}
+
+	@Test
+	void testCommandsSentByTheServerAreNotSkipped() {
+		AtomicBoolean allowed = new AtomicBoolean(false);
+		new CommandAPICommand("test")
+			.withRequirement(sender -> allowed.get())
+			.executesPlayer(P_EXEC)
+			.register();
+		Mockito.verify(player, Mockito.times(1)).updateCommands();
+
+		// The server sends the player the command tree while they can see the command
+		allowed.set(true);
+		sendCommandsFromServer();
+
+		// The CommandAPI last sent the player a tree without the command, but the player's client has a tree with the
+		//  command, so this isn't skipped
+		allowed.set(false);
+		CommandAPI.updateRequirements(player);
+		Mockito.verify(player, Mockito.times(2)).updateCommands();
+
+		// Commands sent by the CommandAPI are still tracked
+		CommandAPI.updateRequirements(player);
+		Mockito.verify(player, Mockito.times(2)).updateCommands();
+	}
+
+	@Test
+	void testRegisteringInvisibleCommandsIsNotResent() {
+		new CommandAPICommand("visible")
+			.executesPlayer(P_EXEC)
+			.register();
+		Mockito.verify(player, Mockito.times(1)).updateCommands();
+
+		// The player can't see this command, so their command tree doesn't change
+		new CommandAPICommand("hidden")
+			.withPermission("permission.hidden")
+			.executesPlayer(P_EXEC)
+			.register();
+		Mockito.verify(player, Mockito.times(1)).updateCommands();
+
+		// Unless they are given permission
+		player.addAttachment(super.plugin, "permission.hidden", true);
+		CommandAPI.unregister("visible");
+		Mockito.verify(player, Mockito.times(2)).updateCommands();
+	}
+
+	@Test
+	void testOnlyCommandAPICommandsAreChecked() {
+		new CommandAPICommand("test")
+			.executesPlayer(P_EXEC)
+			.register();
+		Mockito.verify(player, Mockito.times(1)).updateCommands();
+
+		// A command that wasn't registered by the CommandAPI, for example a vanilla command
+		AtomicInteger checks = new AtomicInteger();
+		AtomicBoolean allowed = new AtomicBoolean(false);
+		MockPlatform<Object> platform = MockPlatform.getInstance();
+		platform.getResourcesDispatcher().register(LiteralArgumentBuilder.literal("other")
+			.requires(source -> {
+				checks.incrementAndGet();
+				return allowed.get();
+			})
+			.executes(ctx -> 1));
+
+		// Its requirement isn't checked when deciding whether to resend commands
+		allowed.set(true);
+		CommandAPI.updateRequirements(player);
+		Mockito.verify(player, Mockito.times(1)).updateCommands();
+		assertEquals(0, checks.get());
+	}
+}
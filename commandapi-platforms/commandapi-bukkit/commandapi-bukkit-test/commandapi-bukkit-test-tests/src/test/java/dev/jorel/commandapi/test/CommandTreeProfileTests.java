@@ -0,0 +1,97 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.BitSet;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandTreeProfile;
+import dev.jorel.commandapi.commandsenders.BukkitPlayer;
+
+/**
+ * Tests for fingerprinting which commands players can use
+ */
+class CommandTreeProfileTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	private BitSet profile(Player player) {
+		MockPlatform<Object> platform = MockPlatform.getInstance();
+		return CommandTreeProfile.of(platform.getBrigadierDispatcher().getRoot(), platform.getBrigadierSourceFromCommandSender(new BukkitPlayer(player)));
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testProfilesOfPlayersWithPermissions() {
+		new CommandAPICommand("everyone")
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		new CommandAPICommand("restricted")
+			.withPermission("permission.restricted")
+			.withSubcommand(new CommandAPICommand("sub")
+				.withPermission("permission.sub")
+				.executesPlayer((player, args) -> {
+				}))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		// Commands are registered before players join, because PlayerMock doesn't implement updateCommands
+		Player defaultPlayer1 = server.addPlayer("defaultPlayer1");
+		Player defaultPlayer2 = server.addPlayer("defaultPlayer2");
+		Player restrictedPlayer = server.addPlayer("restrictedPlayer");
+		restrictedPlayer.addAttachment(super.plugin, "permission.restricted", true);
+		Player subPlayer = server.addPlayer("subPlayer");
+		subPlayer.addAttachment(super.plugin, "permission.restricted", true);
+		subPlayer.addAttachment(super.plugin, "permission.sub", true);
+		Player onlySubPlayer = server.addPlayer("onlySubPlayer");
+		onlySubPlayer.addAttachment(super.plugin, "permission.sub", true);
+
+		// Players with the same permissions can use the same commands
+		assertEquals(profile(defaultPlayer1), profile(defaultPlayer2));
+		assertNotEquals(profile(defaultPlayer1), profile(restrictedPlayer));
+		assertNotEquals(profile(restrictedPlayer), profile(subPlayer));
+
+		// Permissions for nodes that can't be reached don't change the profile
+		assertEquals(profile(defaultPlayer1), profile(onlySubPlayer));
+	}
+
+	@Test
+	void testProfilesOfPlayersWithRequirements() {
+		new CommandAPICommand("test")
+			.withRequirement(sender -> sender.getName().startsWith("a"))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		Player player1 = server.addPlayer("aPlayer1");
+		Player player2 = server.addPlayer("aPlayer2");
+		Player player3 = server.addPlayer("bPlayer");
+
+		assertEquals(profile(player1), profile(player2));
+		assertNotEquals(profile(player1), profile(player3));
+	}
+}
@@ -3,7 +3,9 @@ package dev.jorel.commandapi.test;
 import be.seeseemelk.mockbukkit.entity.PlayerMock;
 import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPIBukkit;
+import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
 import dev.jorel.commandapi.arguments.StringArgument;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandMap;
@@ -192,6 +194,46 @@ class CommandUnregisterTests extends TestBase {
 		assertNoMoreResults(bukkitResults);
 	}
 
+	@Test
+	void testUnregisterAllRepeatedly() {
+		List<String> arenaCommands = List.of("arena1", "arena2", "arena3");
+		int registeredCommands = CommandAPI.getRegisteredCommands().size();
+		int retainedClosures = CommandAPI.getRetainedClosures().size();
+		int suggestionProviders = CommandAPIHandler.getInstance().getSharedSuggestionProviderCount();
+		int argumentRequirements = CommandAPIHandler.getInstance().getSharedArgumentRequirementCount();
+
+		// Nothing should be kept around after commands are unregistered, no matter how many times they are registered
+		for (int i = 0; i < 1000; i++) {
+			for (String arenaCommand : arenaCommands) {
+				new CommandAPICommand(arenaCommand)
+					.withPermission("arena." + arenaCommand)
+					.withArguments(new StringArgument("string").replaceSuggestions(ArgumentSuggestions.strings("a", "b")))
+					.executes((sender, args) -> {})
+					.register();
+			}
+			assertEquals(registeredCommands + 3, CommandAPI.getRegisteredCommands().size());
+			assertTrue(CommandAPIHandler.getInstance().getSharedSuggestionProviderCount() > suggestionProviders);
+			assertTrue(CommandAPIHandler.getInstance().getSharedArgumentRequirementCount() > argumentRequirements);
+
+			CommandAPI.unregisterAll(arenaCommands);
+
+			assertEquals(registeredCommands, CommandAPI.getRegisteredCommands().size());
+			assertEquals(retainedClosures, CommandAPI.getRetainedClosures().size());
+			assertEquals(suggestionProviders, CommandAPIHandler.getInstance().getSharedSuggestionProviderCount());
+			assertEquals(argumentRequirements, CommandAPIHandler.getInstance().getSharedArgumentRequirementCount());
+			assertFalse(CommandAPI.getStartupReport().getCommands().containsKey("arena1"));
+		}
+
+		// Only the original command is left in the tree
+		assertEquals(BRIG_TREE.FULL, getDispatcherString());
+		assertStoresResult(player, "test word", bukkitResults, "word");
+		assertCommandFailsWith(player, "arena1 word",
+			"Unknown or incomplete command, see below for error at position 0: <--[HERE]");
+
+		assertNoMoreResults(vanillaResults);
+		assertNoMoreResults(bukkitResults);
+	}
+
 	@Test
 	void testUnregisterNamespace() {
 		// unregisterNamespaces: false, unregisterBukkit: false
@@ -1,5 +1,6 @@
 package dev.jorel.commandapi.test;
 import java.io.File;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import org.bukkit.plugin.PluginDescriptionFile;
@@ -15,6 +16,11 @@ public class Main extends JavaPlugin {
 	
 	public static Class nbtContainerClass = null;
 	public static Function nbtContainerConstructor = null;
+	public static long permissionCacheTimeout = 0;
+	public static Executor asyncExecutor = null;
+	public static boolean startupReport = false;
+	public static boolean commandMetrics = false;
+	public static int suggestionMetricsSampleRate = 0;
 	
 	@Override
 	public void onLoad() {
@@ -24,7 +30,12 @@ public class Main extends JavaPlugin {
 		CommandAPIBukkitConfig config = new CommandAPIBukkitConfig(this)
 		.useLatestNMSVersion(true) // Doesn't matter because we implement CommandAPIVersionHandler here
 		.silentLogs(true)
-		.dispatcherFile(new File(getDataFolder(), "command_registration.json"));
+		.dispatcherFile(new File(getDataFolder(), "command_registration.json"))
+		.permissionCacheTimeout(permissionCacheTimeout)
+		.asyncExecutor(asyncExecutor)
+		.startupReport(startupReport)
+		.commandMetrics(commandMetrics)
+		.suggestionMetricsSampleRate(suggestionMetricsSampleRate);
 		
 		if (nbtContainerClass != null && nbtContainerConstructor != null) {
 			config = config.initializeNBTAPI(nbtContainerClass, nbtContainerConstructor);
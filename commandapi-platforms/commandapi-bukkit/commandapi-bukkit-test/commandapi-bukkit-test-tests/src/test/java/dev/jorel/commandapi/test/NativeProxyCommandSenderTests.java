@@ -0,0 +1,86 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
+
+/**
+ * Tests for the {@link NativeProxyCommandSender} class
+ */
+class NativeProxyCommandSenderTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testLocationFromCoordinates() {
+		Player player = server.addPlayer();
+		World world = player.getWorld();
+
+		NativeProxyCommandSender sender = new NativeProxyCommandSender(player, player, world, 1.5, 64, -3.25, 90, 45);
+
+		assertEquals(1.5, sender.getX());
+		assertEquals(64, sender.getY());
+		assertEquals(-3.25, sender.getZ());
+		assertEquals(90, sender.getYaw());
+		assertEquals(45, sender.getPitch());
+		assertSame(world, sender.getWorld());
+
+		// The location is created once, then reused
+		Location location = sender.getLocation();
+		assertEquals(new Location(world, 1.5, 64, -3.25, 90, 45), location);
+		assertSame(location, sender.getLocation());
+	}
+
+	@Test
+	void testCoordinatesFromLocation() {
+		Player player = server.addPlayer();
+		Location location = new Location(player.getWorld(), 10, 20, 30, 180, -90);
+
+		NativeProxyCommandSender sender = new NativeProxyCommandSender(player, player, location, player.getWorld());
+
+		assertEquals(10, sender.getX());
+		assertEquals(20, sender.getY());
+		assertEquals(30, sender.getZ());
+		assertEquals(180, sender.getYaw());
+		assertEquals(-90, sender.getPitch());
+		assertSame(location, sender.getLocation());
+	}
+
+	@Test
+	void testNullLocation() {
+		Player player = server.addPlayer();
+
+		// Existing callers may pass a null location, which is kept as null instead of becoming 0, 0, 0
+		NativeProxyCommandSender sender = new NativeProxyCommandSender(player, player, null, player.getWorld());
+
+		assertNull(sender.getLocation());
+		assertEquals(0, sender.getX());
+		assertEquals(0, sender.getY());
+		assertEquals(0, sender.getZ());
+	}
+}
@@ -6,6 +6,8 @@ import dev.jorel.commandapi.Brigadier;
 import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPIBukkit;
 import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.StartupReport;
+import dev.jorel.commandapi.arguments.MultiLiteralArgument;
 import dev.jorel.commandapi.arguments.StringArgument;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -22,6 +24,8 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,12 +40,14 @@ class OnEnableTests extends TestBase {
 
 	@BeforeEach
 	public void setUp() {
+		Main.startupReport = true;
 		super.setUp();
 	}
 
 	@AfterEach
 	public void tearDown() {
 		super.tearDown();
+		Main.startupReport = false;
 	}
 
 	/*********
@@ -54,6 +60,29 @@ class OnEnableTests extends TestBase {
 		assertDoesNotThrow(() -> server.getScheduler().performOneTick());
 	}
 
+	@Test
+	void testOnEnableStartupReport() {
+		new CommandAPICommand("test")
+			.withArguments(new MultiLiteralArgument("literal", "a", "b"))
+			.executesPlayer(P_EXEC)
+			.register();
+
+		disablePaperImplementations();
+		assertDoesNotThrow(() -> server.getScheduler().performOneTick());
+
+		StartupReport startupReport = CommandAPI.getStartupReport();
+		Map<String, StartupReport.Timing> phases = startupReport.getPhases();
+		for (String phase : List.of(StartupReport.REGISTER, StartupReport.EXPAND_MULTI_LITERALS,
+			StartupReport.FIX_PERMISSIONS, StartupReport.RELOAD_DATAPACKS, StartupReport.UPDATE_HELP)) {
+			assertTrue(phases.containsKey(phase), "Missing phase " + phase);
+		}
+
+		// Registering the expanded literals is nested inside registering the command, so it is only counted once
+		assertEquals(1, phases.get(StartupReport.REGISTER).count());
+		assertEquals(1, startupReport.getCommands().get("test").count());
+		assertTrue(startupReport.toJson().contains("\"test\": { \"count\": 1"));
+	}
+
 	@Test
 	void testOnEnableRegisterAndUnregisterCommand() {
 		// Enable server
@@ -69,6 +98,8 @@ class OnEnableTests extends TestBase {
 		// Interrupt normal calls to updateCommands, because MockPlayer throws an UnimplementedOperationException
 		Mockito.doNothing().when(updateCommandsPlayer).updateCommands();
 		server.addPlayer(updateCommandsPlayer);
+		// Commands are only resent if the player can see them change
+		updateCommandsPlayer.addAttachment(super.plugin, "permission", true);
 
 		// Get a CraftPlayer for running VanillaCommandWrapper commands
 		Player runCommandsPlayer = Mockito.mock(MockPlatform.getInstance().getCraftPlayerClass());
@@ -0,0 +1,144 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.Converter;
+import dev.jorel.commandapi.SuggestionMetrics;
+import dev.jorel.commandapi.SuggestionMetrics.ArgumentMetrics;
+import dev.jorel.commandapi.arguments.Argument;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+
+/**
+ * Tests for recording metrics of suggestions
+ */
+class SuggestionMetricsTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		Main.suggestionMetricsSampleRate = 1;
+		super.setUp();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+		Main.suggestionMetricsSampleRate = 0;
+	}
+
+	private ArgumentMetrics getMetrics(String argumentPath) {
+		Mut<ArgumentMetrics> result = Mut.of();
+		CommandAPI.getSuggestionMetrics().export(metrics -> result.set(metrics.get(argumentPath)));
+		return result.get();
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testSuggestionsAreMeasuredForEachArgument() {
+		new CommandAPICommand("test")
+			.withAliases("alias")
+			.withArguments(new StringArgument("fruit").replaceSuggestions((info, builder) -> {
+				// Suggests everything, even if it doesn't match what was typed
+				builder.suggest("apple");
+				builder.suggest("banana");
+				return builder.buildFuture();
+			}))
+			.withArguments(new IntegerArgument("amount").replaceSuggestions(ArgumentSuggestions.strings("1", "2", "10")))
+			.executesPlayer(P_EXEC)
+			.register();
+
+		PlayerMock player = server.addPlayer();
+
+		// /test b
+		server.getSuggestions(player, "test b");
+		ArgumentMetrics fruit = getMetrics("/test <fruit>");
+		assertEquals(1, fruit.getCalls());
+		assertEquals(0, fruit.getFailures());
+		assertEquals(2, fruit.getSuggestionsProduced());
+		assertEquals(1, fruit.getSuggestionsMatching());
+		assertEquals(1, fruit.getPreviousArgumentsNanos().getCount());
+
+		// /test banana 1
+		assertCommandSuggests(player, "test banana 1", "1", "10");
+		ArgumentMetrics amount = getMetrics("/test <fruit> <amount>");
+		assertEquals(1, amount.getCalls());
+		assertEquals(2, amount.getSuggestionsProduced());
+		assertEquals(2, amount.getSuggestionsMatching());
+
+		// Aliases are recorded as they were typed
+		server.getSuggestions(player, "alias a");
+		assertEquals(1, getMetrics("/alias <fruit>").getCalls());
+		assertEquals(1, getMetrics("/test <fruit>").getCalls());
+
+		assertTrue(CommandAPI.getSuggestionMetrics().toText().contains("/test <fruit>: 1 sampled, 0 failed, 2 suggested / 1 matching"));
+	}
+
+	@Test
+	void testSuggestionsAreNotMeasuredByDefault() {
+		super.tearDown();
+		Main.suggestionMetricsSampleRate = 0;
+		super.setUp();
+
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("fruit").replaceSuggestions(ArgumentSuggestions.strings("apple", "banana")))
+			.executesPlayer(P_EXEC)
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertCommandSuggests(player, "test b", "banana");
+
+		assertFalse(CommandAPI.getSuggestionMetrics().isEnabled());
+		assertNull(getMetrics("/test <fruit>"));
+	}
+
+	@Test
+	void testSuggestionsAreAttributedToTheCommandThatWasTyped() {
+		JavaPlugin plugin = MockBukkit.loadWith(CommandConvertedTestsPlugin.class, CommandConvertedTestsPlugin.pluginYaml());
+
+		// Both commands use the same argument, so they share its suggestion provider
+		Argument<String> fruit = new StringArgument("fruit").replaceSuggestions(ArgumentSuggestions.strings("apple", "banana"));
+		new CommandAPICommand("test")
+			.withAliases("alias")
+			.withArguments(fruit)
+			.executesPlayer(P_EXEC)
+			.register();
+		Converter.convert(plugin, "mycommand", fruit);
+
+		PlayerMock player = server.addPlayer();
+		assertCommandSuggests(player, "test b", "banana");
+		assertCommandSuggests(player, "mycommand b", "banana");
+		assertEquals(1, getMetrics("/test <fruit>").getCalls());
+		assertEquals(1, getMetrics("/mycommand <fruit>").getCalls());
+
+		// Converted commands are attributed to the plugin they were converted from, rather than the CommandAPI
+		SuggestionMetrics suggestionMetrics = CommandAPI.getSuggestionMetrics();
+		assertEquals("MyPlugin", suggestionMetrics.getOwningPlugin("mycommand"));
+		assertEquals("MyPlugin", suggestionMetrics.getOwningPlugin("myplugin:MyCommand"));
+		assertNull(suggestionMetrics.getOwningPlugin("test"));
+		assertNull(suggestionMetrics.getOwningPlugin("alias"));
+
+		CommandAPI.unregister("mycommand");
+		assertNull(suggestionMetrics.getOwningPlugin("mycommand"));
+	}
+
+}
@@ -0,0 +1,123 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.UsableCommandTree;
+import dev.jorel.commandapi.commandsenders.BukkitPlayer;
+
+/**
+ * Tests for copying the command tree that is sent to players who share a
+ * command tree
+ */
+class UsableCommandTreeTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	private CommandDispatcher<Object> vanillaDispatcher;
+	private CommandDispatcher<Object> dispatcher;
+
+	@BeforeEach
+	public void setUp() {
+		super.setUp();
+
+		MockPlatform<Object> platform = MockPlatform.getInstance();
+		dispatcher = platform.getBrigadierDispatcher();
+
+		// Like MinecraftServer#vanillaCommandDispatcher
+		vanillaDispatcher = new CommandDispatcher<>();
+		LiteralCommandNode<Object> teleport = vanillaDispatcher.register(LiteralArgumentBuilder.literal("teleport")
+			.then(RequiredArgumentBuilder.argument("target", StringArgumentType.word()).executes(ctx -> 1)));
+		vanillaDispatcher.register(LiteralArgumentBuilder.literal("tp").redirect(teleport));
+		vanillaDispatcher.register(LiteralArgumentBuilder.literal("execute")
+			.then(LiteralArgumentBuilder.literal("run").redirect(vanillaDispatcher.getRoot())));
+		vanillaDispatcher.register(LiteralArgumentBuilder.literal("stop").requires(source -> false).executes(ctx -> 1));
+
+		new CommandAPICommand("test")
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		// Like CraftServer#syncCommands, vanilla commands are added to the server's command tree as the same
+		//  node objects. tp is added before teleport, so its redirect target hasn't been copied yet
+		RootCommandNode<Object> vanillaRoot = vanillaDispatcher.getRoot();
+		dispatcher.getRoot().addChild(vanillaRoot.getChild("execute"));
+		dispatcher.getRoot().addChild(vanillaRoot.getChild("tp"));
+		dispatcher.getRoot().addChild(vanillaRoot.getChild("teleport"));
+		dispatcher.getRoot().addChild(vanillaRoot.getChild("stop"));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	private RootCommandNode<Object> copy(Player player) {
+		Object source = MockPlatform.getInstance().getBrigadierSourceFromCommandSender(new BukkitPlayer(player));
+		return UsableCommandTree.copy(vanillaDispatcher.getRoot(), dispatcher.getRoot(), source, node -> true, builder -> builder);
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testCopyOnlyContainsUsableCommands() {
+		Player player = server.addPlayer();
+		RootCommandNode<Object> tree = copy(player);
+
+		assertNotNull(tree.getChild("test"));
+		assertNotNull(tree.getChild("execute"));
+		assertNull(tree.getChild("stop"));
+
+		// Copies don't check requirements, since the client can't check them
+		assertTrue(tree.getChild("test").canUse(new Object()));
+	}
+
+	@Test
+	void testCopyKeepsRedirectsIntoVanillaCommands() {
+		Player player = server.addPlayer();
+		RootCommandNode<Object> tree = copy(player);
+
+		// execute run redirects to the root of the vanilla tree
+		CommandNode<Object> runTarget = tree.getChild("execute").getChild("run").getRedirect();
+		assertNotNull(runTarget);
+		assertTrue(runTarget instanceof RootCommandNode);
+		assertNotNull(runTarget.getChild("teleport"));
+
+		// tp redirects to teleport, even though tp is copied first
+		CommandNode<Object> tpTarget = tree.getChild("tp").getRedirect();
+		assertNotNull(tpTarget);
+		assertEquals("teleport", tpTarget.getName());
+		assertSame(runTarget.getChild("teleport"), tpTarget);
+
+		// The client can follow the redirects in the copied tree
+		CommandDispatcher<Object> copiedDispatcher = new CommandDispatcher<>(tree);
+		ParseResults<Object> results = copiedDispatcher.parse("execute run tp Player", new Object());
+		assertTrue(results.getExceptions().isEmpty());
+		assertFalse(results.getReader().canRead());
+		assertNotNull(results.getContext().getChild());
+	}
+
+}
@@ -1,6 +1,7 @@
 package dev.jorel.commandapi.test.arguments;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 import java.util.Collection;
 import java.util.List;
@@ -16,6 +17,7 @@ import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.arguments.EntitySelectorArgument;
 import dev.jorel.commandapi.test.Mut;
 import dev.jorel.commandapi.test.TestBase;
+import dev.jorel.commandapi.wrappers.LazyEntityList;
 
 /**
  * Tests for the {@link EntitySelectorArgument}
@@ -176,4 +178,34 @@ class ArgumentEntitySelectorTests extends TestBase {
 		assertNoMoreResults(results);
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	void executionTestWithEntitySelectorArgumentManyEntitiesLazy() {
+		Mut<Collection<Entity>> results = Mut.of();
+		
+		new CommandAPICommand("test")
+			.withArguments(new EntitySelectorArgument.ManyEntities("value").lazy(true))
+			.executesPlayer((player, args) -> {
+				results.set((Collection<Entity>) args.get(0));
+			})
+			.register();
+		
+		PlayerMock player = server.addPlayer("APlayer");
+		server.addPlayer("APlayer1");
+		server.addPlayer("APlayer2");
+		
+		// /test @a
+		server.dispatchCommand(player, "test @a");
+		Collection<Entity> result = results.get();
+		assertInstanceOf(LazyEntityList.class, result);
+		assertEquals(3, result.size());
+		assertEquals(List.of("APlayer", "APlayer1", "APlayer2"), result.stream().map(Entity::getName).toList());
+		
+		// /test APlayer
+		server.dispatchCommand(player, "test APlayer");
+		assertEquals(List.of("APlayer"), results.get().stream().map(Entity::getName).toList());
+
+		assertNoMoreResults(results);
+	}
+
 }
@@ -1,6 +1,7 @@
 package dev.jorel.commandapi.test.arguments;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.function.Predicate;
 
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,7 @@ import dev.jorel.commandapi.arguments.ItemStackPredicateArgument;
 import dev.jorel.commandapi.test.MockPlatform;
 import dev.jorel.commandapi.test.Mut;
 import dev.jorel.commandapi.test.TestBase;
+import dev.jorel.commandapi.wrappers.ItemStackPredicate;
 
 /**
  * Tests for the {@link ItemStackPredicateArgument}
@@ -79,6 +82,40 @@ class ArgumentItemStackPredicateTests extends TestBase {
 		assertNoMoreResults(results);
 	}
 
+	@Test
+	void executionTestWithItemStackPredicateArgumentInventory() {
+		Mut<ItemStackPredicate> results = Mut.of();
+
+		new CommandAPICommand("test")
+			.withArguments(new ItemStackPredicateArgument("predicate"))
+			.executesPlayer((player, args) -> {
+				results.set(args.getUnchecked(0));
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		PlayerInventory inventory = player.getInventory();
+		inventory.setItem(0, new ItemStack(Material.DIRT, 10));
+		inventory.setItem(1, new ItemStack(Material.STONE, 5));
+		inventory.setItem(2, new ItemStack(Material.DIRT, 20));
+
+		// /test dirt
+		server.dispatchCommand(player, "test dirt");
+		ItemStackPredicate predicate = results.get();
+		assertEquals(30, predicate.testAll(inventory));
+		assertEquals(15, predicate.testAll(inventory, 15));
+		assertEquals(30, predicate.testAll(inventory, 100));
+		assertTrue(predicate.testAny(inventory));
+
+		// /test diamond
+		server.dispatchCommand(player, "test diamond");
+		predicate = results.get();
+		assertEquals(0, predicate.testAll(inventory));
+		assertFalse(predicate.testAny(inventory));
+
+		assertNoMoreResults(results);
+	}
+
 	/********************
 	 * Suggestion tests *
 	 ********************/
@@ -2,10 +2,13 @@ package dev.jorel.commandapi.test.arguments;
 
 import be.seeseemelk.mockbukkit.entity.PlayerMock;
 import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.CommandTree;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
 import dev.jorel.commandapi.arguments.IntegerArgument;
 import dev.jorel.commandapi.arguments.ItemStackArgument;
 import dev.jorel.commandapi.arguments.MultiLiteralArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
 import dev.jorel.commandapi.test.Mut;
 import dev.jorel.commandapi.test.TestBase;
 import org.bukkit.Material;
@@ -499,4 +502,28 @@ public class ArgumentMultiLiteralTests extends TestBase {
 
 		assertEquals(List.of("literal", "literal1", "literal2"), server.getSuggestions(player, "test "));
 	}
+
+	@Test
+	void suggestionTestWithArgumentAfterMultiLiteralArgument() {
+		int suggestionProviders = CommandAPIHandler.getInstance().getSharedSuggestionProviderCount();
+
+		new CommandAPICommand("test")
+			.withArguments(
+				new MultiLiteralArgument("literals", "a", "b", "c"),
+				new StringArgument("string").replaceSuggestions(ArgumentSuggestions.strings(info ->
+					new String[] {info.previousArgs().get("literals") + "1", info.previousArgs().get("literals") + "2"}))
+			)
+			.executesPlayer(P_EXEC)
+			.register();
+
+		// Every literal shares the same suggestion provider
+		assertEquals(suggestionProviders + 1, CommandAPIHandler.getInstance().getSharedSuggestionProviderCount());
+
+		PlayerMock player = server.addPlayer();
+
+		// The previous arguments still contain the literal that was typed
+		assertEquals(List.of("a1", "a2"), server.getSuggestions(player, "test a "));
+		assertEquals(List.of("b1", "b2"), server.getSuggestions(player, "test b "));
+		assertEquals(List.of("c1", "c2"), server.getSuggestions(player, "test c "));
+	}
 }
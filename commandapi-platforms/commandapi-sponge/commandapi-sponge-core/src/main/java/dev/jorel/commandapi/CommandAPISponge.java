@@ -11,6 +11,9 @@ import dev.jorel.commandapi.arguments.MultiLiteralArgument;
 import dev.jorel.commandapi.arguments.SuggestionProviders;
 import dev.jorel.commandapi.commandsenders.AbstractCommandSender;
 import dev.jorel.commandapi.commandsenders.AbstractPlayer;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
 import org.spongepowered.api.command.manager.CommandManager;
 import org.spongepowered.api.entity.living.player.server.ServerPlayer;
 
@@ -133,6 +136,11 @@ public class CommandAPISponge extends CommandAPIPlatform<Argument<?>, Object, Ob
 		return null;
 	}
 
+	@Override
+	public void registerLazyCommandNodes(List<LiteralCommandNode<Object>> nodes) {
+		// TODO Auto-generated method stub
+	}
+
 	@Override
 	public AbstractCommandSender<?> getCommandSenderFromCommandSource(Object cs) {
 		// TODO Auto-generated method stub
@@ -150,6 +158,14 @@ public class CommandAPISponge extends CommandAPIPlatform<Argument<?>, Object, Ob
 		commandManager.updateCommandTreeForPlayer((ServerPlayer) player.getSource());
 	}
 
+	@Override
+	public void sendFailureMessage(Object sender, String message) {
+		// Sponge's players and command causes are Adventure audiences
+		if (sender instanceof Audience audience) {
+			audience.sendMessage(Component.text(message, NamedTextColor.RED));
+		}
+	}
+
 	@Override
 	public CommandAPICommand newConcreteCommandAPICommand(CommandMetaData<Object> meta) {
 		return new CommandAPICommand(meta);
@@ -23,6 +23,8 @@ import dev.jorel.commandapi.arguments.LiteralArgument;
 import dev.jorel.commandapi.arguments.MultiLiteralArgument;
 import dev.jorel.commandapi.arguments.SuggestionProviders;
 import dev.jorel.commandapi.commandsenders.*;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
 import org.apache.logging.log4j.LogManager;
 
 import java.io.File;
@@ -106,6 +108,7 @@ public class CommandAPIVelocity implements CommandAPIPlatform<Argument<?>, Comma
 	@Override
 	public void unregister(String commandName, boolean unregisterNamespaces) {
 		commandManager.unregister(commandName);
+		CommandAPIHandler.getInstance().removeRegisteredCommands(List.of(commandName));
 	}
 
 	@Override
@@ -219,6 +222,13 @@ public class CommandAPIVelocity implements CommandAPIPlatform<Argument<?>, Comma
 		return getBrigadierDispatcher().register(node);
 	}
 
+	@Override
+	public void registerLazyCommandNodes(List<LiteralCommandNode<CommandSource>> nodes) {
+		for (LiteralCommandNode<CommandSource> node : nodes) {
+			getBrigadierDispatcher().getRoot().addChild(node);
+		}
+	}
+
 	@Override
 	public void reloadDataPacks() {
 		// Nothing to do, Velocity does not have data packs
@@ -229,6 +239,11 @@ public class CommandAPIVelocity implements CommandAPIPlatform<Argument<?>, Comma
 		// TODO Auto-generated method stub
 	}
 
+	@Override
+	public void sendFailureMessage(CommandSource sender, String message) {
+		sender.sendMessage(Component.text(message, NamedTextColor.RED));
+	}
+
 	@Override
 	public Argument<String> newConcreteMultiLiteralArgument(String nodeName, String[] literals) {
 		return new MultiLiteralArgument(nodeName, literals);